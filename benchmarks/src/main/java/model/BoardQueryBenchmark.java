@@ -0,0 +1,81 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The queries the view and controller make after every move
+ * (getBoardSnapshot, getPackedBoard, isValidMove) and the end-of-game
+ * sweep collectRemainingStones, on mid-game positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardQueryBenchmark {
+
+    @Param({"6", "7"})
+    public int pitsPerSide;
+
+    private MancalaGame game;
+    private MidGamePositions positions;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BoardGeometry.of(pitsPerSide);
+        game = new MancalaGame(geometry);
+        positions = new MidGamePositions(geometry);
+        game.restore(positions.state(0));
+    }
+
+    @Benchmark
+    public int[] getBoardSnapshot() {
+        return game.getBoardSnapshot();
+    }
+
+    @Benchmark
+    public PackedBoard getPackedBoard() {
+        return game.getPackedBoard();
+    }
+
+    /**
+     * Asks about every pocket, as the view does when it enables pits.
+     */
+    @Benchmark
+    public int isValidMoveAllPockets() {
+        int valid = 0;
+        for (int pit = 0; pit < game.getTotalPockets(); pit++) {
+            if (game.isValidMove(pit)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int collectRemainingStones() {
+        game.restore(positions.state(index++));
+        game.collectRemainingStones();
+        return game.getScore(Player.PLAYER_A);
+    }
+}
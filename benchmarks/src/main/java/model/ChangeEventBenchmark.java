@@ -0,0 +1,73 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Listener notification with 0, 1 and 10 registered ChangeListeners or
+ * typed BoardChangeListeners, on its own and as part of a move. The
+ * listeners hand the event to a Blackhole so the calls cannot be
+ * optimized away.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChangeEventBenchmark {
+
+    @Param({"0", "1", "10"})
+    public int listeners;
+
+    @Param({"false", "true"})
+    public boolean typed;
+
+    private MancalaGame game;
+    private MidGamePositions positions;
+    private int index;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        game = new MancalaGame();
+        positions = new MidGamePositions(BoardGeometry.STANDARD);
+        for (int i = 0; i < listeners; i++) {
+            if (typed) {
+                game.addBoardChangeListener(blackhole::consume);
+            } else {
+                game.addChangeListener(blackhole::consume);
+            }
+        }
+        game.restore(positions.state(0));
+    }
+
+    @Benchmark
+    public void fireChangeEvent() {
+        game.fireChangeEvent(0b11, BoardChangeEvent.PLAYER_CHANGED);
+    }
+
+    @Benchmark
+    public int makeMoveCode() {
+        int i = index++;
+        game.restore(positions.state(i));
+        return game.makeMoveCode(positions.move(i));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MancalaGame.makeMove and makeMoveCode on mid-game positions.
+ *
+ * Every operation first restores one of the MidGamePositions, then plays
+ * its move; the restoreOnly benchmark measures that reset on its own so
+ * it can be subtracted. pitsPerSide 6 takes the standard board's fast
+ * paths, 7 the general ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MakeMoveBenchmark {
+
+    @Param({"6", "7"})
+    public int pitsPerSide;
+
+    private MancalaGame game;
+    private MidGamePositions positions;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BoardGeometry.of(pitsPerSide);
+        game = new MancalaGame(geometry);
+        positions = new MidGamePositions(geometry);
+    }
+
+    @Benchmark
+    public boolean restoreOnly() {
+        game.restore(positions.state(index++));
+        return game.isGameOver();
+    }
+
+    @Benchmark
+    public int makeMoveCode() {
+        int i = index++;
+        game.restore(positions.state(i));
+        return game.makeMoveCode(positions.move(i));
+    }
+
+    @Benchmark
+    public MoveResult makeMove() {
+        int i = index++;
+        game.restore(positions.state(i));
+        return game.makeMove(positions.move(i));
+    }
+}
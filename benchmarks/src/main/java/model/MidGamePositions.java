@@ -0,0 +1,82 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fixed set of realistic mid-game positions for the benchmarks.
+ *
+ * Each one is reached by playing 8 to 24 random legal moves from the
+ * 4-stone start, so the pits hold the uneven counts of a real game rather
+ * than the symmetric opening. The seed is fixed, so every run and every
+ * fork measures the same positions. Each position comes with one legal
+ * move for the side to move.
+ */
+final class MidGamePositions {
+
+    /** Number of positions; a power of two so cycling is a mask. */
+    static final int COUNT = 256;
+
+    private static final int MIN_PLIES = 8;
+    private static final int MAX_PLIES = 24;
+    private static final int STONES_PER_PIT = 4;
+    private static final long SEED = 0x5EED_0151L;
+
+    private final GameState[] states = new GameState[COUNT];
+    private final int[] moves = new int[COUNT];
+
+    /**
+     * @param geometry board the positions are played on
+     */
+    MidGamePositions(BoardGeometry geometry) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        MancalaGame game = new MancalaGame(geometry);
+        int[] legal = new int[geometry.getPitsPerSide()];
+        int found = 0;
+        while (found < COUNT) {
+            game.initialize(STONES_PER_PIT);
+            int plies = MIN_PLIES + random.nextInt(MAX_PLIES - MIN_PLIES + 1);
+            for (int ply = 0; ply < plies && !game.isGameOver(); ply++) {
+                game.makeMoveCode(pickMove(game, random, legal));
+            }
+            if (game.isGameOver()) {
+                continue;
+            }
+            states[found] = new GameState(game.getBoardSnapshot(), game.getCurrentPlayer(), false);
+            moves[found] = pickMove(game, random, legal);
+            found++;
+        }
+    }
+
+    private static int pickMove(MancalaGame game, SplittableRandom random, int[] legal) {
+        int first = game.getGeometry().firstPitOf(game.getCurrentPlayer());
+        int count = 0;
+        for (int pit = first; pit < first + game.getPitsPerSide(); pit++) {
+            if (game.isValidMove(pit)) {
+                legal[count++] = pit;
+            }
+        }
+        return legal[random.nextInt(count)];
+    }
+
+    /**
+     * @param i any int; taken modulo COUNT
+     * @return the i-th position
+     */
+    GameState state(int i) {
+        return states[i & (COUNT - 1)];
+    }
+
+    /**
+     * @param i any int; taken modulo COUNT
+     * @return a legal move in the i-th position
+     */
+    int move(int i) {
+        return moves[i & (COUNT - 1)];
+    }
+}
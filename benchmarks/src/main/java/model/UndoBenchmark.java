@@ -0,0 +1,71 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Move-and-undo cycles as the controller drives them: with an explicit
+ * saveState before the move, and with the snapshot makeMove takes on its
+ * own. Each cycle starts from a restored mid-game position so the
+ * per-turn undo limit never kicks in.
+ *
+ * Undo snapshots go to MancalaGame's UndoHistory. pitsPerSide 6 measures
+ * its packed path (two longs per snapshot); 8 is too large to pack, so it
+ * measures the flat int[] ring-buffer path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UndoBenchmark {
+
+    @Param({"6", "8"})
+    public int pitsPerSide;
+
+    private MancalaGame game;
+    private MidGamePositions positions;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BoardGeometry.of(pitsPerSide);
+        game = new MancalaGame(geometry);
+        positions = new MidGamePositions(geometry);
+    }
+
+    @Benchmark
+    public boolean saveStateMoveUndo() {
+        int i = index++;
+        game.restore(positions.state(i));
+        game.saveState();
+        game.makeMoveCode(positions.move(i));
+        return game.undo();
+    }
+
+    @Benchmark
+    public boolean moveUndo() {
+        int i = index++;
+        game.restore(positions.state(i));
+        game.makeMoveCode(positions.move(i));
+        return game.undo();
+    }
+}
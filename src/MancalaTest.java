@@ -5,21 +5,55 @@
  */
 
 import model.MancalaGame;
+import model.journal.FsyncPolicy;
+import model.journal.GameJournal;
 import view.MancalaView;
 import controller.MancalaController;
 
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Entry point for launching the Mancala game.
+ *
+ * Run with -Dmancala.journal=FILE to log the game to FILE and pick up an
+ * unfinished game from it after a crash.
  */
 public class MancalaTest {
     public static void main(String[] args) {
+        MancalaGame model = new MancalaGame();
+        GameJournal journal = openJournal(model, System.getProperty("mancala.journal"));
+        boolean recovered = journal != null && journal.getRecoveredRecords() > 0 && !model.isGameOver();
+
         SwingUtilities.invokeLater(() -> {
-            MancalaGame model = new MancalaGame();
             MancalaView view = new MancalaView();
             MancalaController controller = new MancalaController(model, view);
-            controller.start();
+            if (recovered) {
+                controller.resume();
+            } else {
+                controller.start();
+            }
         });
     }
+
+    private static GameJournal openJournal(MancalaGame model, String path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            GameJournal journal = GameJournal.open(Paths.get(path), model, FsyncPolicy.EVERY_BATCH);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close game journal: " + e.getMessage());
+                }
+            }));
+            return journal;
+        } catch (IOException e) {
+            System.err.println("Game journal disabled: " + e.getMessage());
+            return null;
+        }
+    }
 }
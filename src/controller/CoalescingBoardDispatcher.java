@@ -0,0 +1,122 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Sana Al Hamimidi
+ * Date: 2026-10-17
+ */
+
+package controller;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import model.BoardChangeEvent;
+import model.BoardChangeListener;
+
+/**
+ * Sits between a MancalaGame and a slow listener (the view) and merges
+ * every change made within one frame into a single BoardChangeEvent,
+ * delivered on the EDT. A bot or a replay playing dozens of moves per
+ * frame then costs one view update per frame instead of one per move.
+ *
+ * Changes may arrive on any thread. The merged event has the union of the
+ * changed pockets and flags and the state after the last change. A frame
+ * with a single change delivers that event unchanged, move trace and all;
+ * a merged event carries no trace, so the view shows it without animating.
+ */
+public class CoalescingBoardDispatcher implements BoardChangeListener {
+
+    /** Frame length used when none is given (about 60 frames per second). */
+    public static final int DEFAULT_FRAME_MILLIS = 16;
+
+    private final BoardChangeListener target;
+    private final Timer timer;
+
+    // Guarded by this.
+    private BoardChangeEvent last;
+    private int pendingPits;
+    private int pendingFlags;
+    private int pendingCount;
+    private long received;
+    private long delivered;
+
+    /**
+     * @param target listener to deliver merged events to, on the EDT
+     */
+    public CoalescingBoardDispatcher(BoardChangeListener target) {
+        this(target, DEFAULT_FRAME_MILLIS);
+    }
+
+    /**
+     * @param target      listener to deliver merged events to, on the EDT
+     * @param frameMillis longest a change waits before it is delivered
+     */
+    public CoalescingBoardDispatcher(BoardChangeListener target, int frameMillis) {
+        if (target == null) {
+            throw new IllegalArgumentException("target must not be null");
+        }
+        if (frameMillis < 0) {
+            throw new IllegalArgumentException("frameMillis must not be negative");
+        }
+        this.target = target;
+        this.timer = new Timer(frameMillis, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    @Override
+    public void boardChanged(BoardChangeEvent event) {
+        boolean first;
+        synchronized (this) {
+            received++;
+            first = pendingCount == 0;
+            pendingPits |= event.getChangedPits();
+            pendingFlags |= event.getFlags();
+            pendingCount++;
+            last = event;
+        }
+        if (first) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                timer.start();
+            } else {
+                SwingUtilities.invokeLater(timer::start);
+            }
+        }
+    }
+
+    /**
+     * Delivers any pending change now instead of at the end of the frame,
+     * e.g. before a modal dialog that should show the final board. Must be
+     * called on the EDT.
+     */
+    public void flush() {
+        BoardChangeEvent event;
+        synchronized (this) {
+            if (pendingCount == 0) {
+                return;
+            }
+            event = pendingCount == 1 ? last
+                    : new BoardChangeEvent(last.getSource(), pendingPits, pendingFlags,
+                            last.getCurrentPlayer(), last.isUndoAvailable(), last.isGameOver());
+            last = null;
+            pendingPits = 0;
+            pendingFlags = 0;
+            pendingCount = 0;
+            delivered++;
+        }
+        timer.stop();
+        target.boardChanged(event);
+    }
+
+    /**
+     * @return number of events received from the model.
+     */
+    public synchronized long getReceivedCount() {
+        return received;
+    }
+
+    /**
+     * @return number of merged events delivered to the target.
+     */
+    public synchronized long getDeliveredCount() {
+        return delivered;
+    }
+}
@@ -8,6 +8,7 @@ package controller;
 
 import javax.swing.*;
 
+import model.BoardChangeEvent;
 import model.MancalaGame;
 import model.MoveResult;
 import model.Player;
@@ -16,6 +17,7 @@ import view.MancalaView;
 import view.ModernBoardStyle;
 
 import java.awt.event.*;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Main controller for the Mancala game.
@@ -25,22 +27,28 @@ public class MancalaController {
     private MancalaView view;
     private UndoController undoController;
     private GameStateController stateController;
+    private CoalescingBoardDispatcher dispatcher;
+    private final IntUnaryOperator stonesAt;
     
     public MancalaController(MancalaGame model, MancalaView view) {
         this.model = model;
         this.view = view;
         this.undoController = new UndoController(model);
         this.stateController = new GameStateController(model);
+        this.stonesAt = model::getStonesAt;
 
         initializeController();
     }
     
     private void initializeController() {
+        view.setBoardGeometry(model.getGeometry());
         view.addPitClickListener(new PitClickListener());
         view.addUndoButtonListener(new UndoButtonListener());
         view.addStyleSelectionListener(new StyleSelectionListener());
         view.addInitialStonesListener(new InitialStonesListener());
-        model.addChangeListener(e -> refreshView());
+        dispatcher = new CoalescingBoardDispatcher(this::refreshView);
+        model.addBoardChangeListener(dispatcher);
+        model.setMoveTracing(true);
     }
     
     private class PitClickListener implements ActionListener {
@@ -141,7 +149,7 @@ public class MancalaController {
     
     private void handleGameOver() {
         model.collectRemainingStones();
-        refreshView();
+        dispatcher.flush();
         
         int[] scores = model.getMancalaScores();
         String winner;
@@ -175,8 +183,29 @@ public class MancalaController {
         view.updateUndoButton(false);
     }
 
+    /**
+     * Updates only what a (merged) change event says changed.
+     */
+    private void refreshView(BoardChangeEvent event) {
+        if (event.isNewGame()) {
+            refreshView();
+            return;
+        }
+        if (event.getMoveTrace() != null) {
+            view.playMove(event.getMoveTrace(), event.getChangedPits(), stonesAt);
+        } else if (event.getChangedPits() != 0) {
+            view.updatePits(event.getChangedPits(), stonesAt);
+        }
+        if (event.isPlayerChanged()) {
+            view.updateCurrentPlayer(event.getCurrentPlayer());
+        }
+        if (event.isUndoChanged()) {
+            view.updateUndoButton(event.isUndoAvailable());
+        }
+    }
+
     private void refreshView() {
-        view.updateBoard(model.getBoardState());
+        view.updatePits((1 << model.getTotalPockets()) - 1, stonesAt);
         view.updateCurrentPlayer(model.getCurrentPlayer());
         view.updateUndoButton(undoController.isUndoAvailable());
     }
@@ -184,4 +213,21 @@ public class MancalaController {
     public void start() {
         view.showStyleSelection();
     }
+
+    /**
+     * Shows a game already loaded into the model (e.g. recovered from a
+     * journal) and lets play continue from it.
+     */
+    public void resume() {
+        stateController.transitionTo(GameStateController.GameState.INITIAL_SETUP);
+        stateController.startGame();
+        if (model.getCurrentPlayer() == Player.PLAYER_B) {
+            stateController.nextTurn(false);
+        }
+
+        view.startGame();
+        refreshView();
+        String nextLabel = model.getCurrentPlayer() == Player.PLAYER_A ? "A" : "B";
+        view.showMessage("Recovered unfinished game. Player " + nextLabel + "'s turn.");
+    }
 }
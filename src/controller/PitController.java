@@ -33,7 +33,7 @@ public class PitController extends MouseAdapter {
     
     @Override
     public void mouseClicked(MouseEvent e) {
-        if (pitIndex == 6 || pitIndex == 13) {
+        if (model.getGeometry().isStore(pitIndex)) {
             return;
         }
         
@@ -54,7 +54,7 @@ public class PitController extends MouseAdapter {
     
     @Override
     public void mouseEntered(MouseEvent e) {
-        if (pitIndex != 6 && pitIndex != 13 && model.isValidMove(pitIndex)) {
+        if (!model.getGeometry().isStore(pitIndex) && model.isValidMove(pitIndex)) {
             pitView.showHoverEffect(true);
         }
     }
@@ -66,7 +66,7 @@ public class PitController extends MouseAdapter {
     
     @Override
     public void mousePressed(MouseEvent e) {
-        if (pitIndex != 6 && pitIndex != 13 && model.isValidMove(pitIndex)) {
+        if (!model.getGeometry().isStore(pitIndex) && model.isValidMove(pitIndex)) {
             pitView.showPressedEffect(true);
         }
     }
@@ -0,0 +1,162 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import javax.swing.event.ChangeEvent;
+
+/**
+ * ChangeEvent that says what changed: a bitmask of pockets (bit i for
+ * board index i), whether the player to move, undo availability or game
+ * over changed, and the values of those three afterwards.
+ *
+ * A cleared bit guarantees that pocket did not change; a set bit means it
+ * may have (a full lap of sowing can leave a pit where it started). A new
+ * game sets every bit and every flag. Events are immutable, and a burst can
+ * be combined by ORing the masks and flags and keeping the last state.
+ */
+public class BoardChangeEvent extends ChangeEvent {
+
+    /** The player to move changed. */
+    public static final int PLAYER_CHANGED = 1;
+
+    /** Whether undo is available changed. */
+    public static final int UNDO_CHANGED = 1 << 1;
+
+    /** The game ended, or an undo took it back out of its end. */
+    public static final int GAME_OVER_CHANGED = 1 << 2;
+
+    /** initialize started a new game. */
+    public static final int NEW_GAME = 1 << 3;
+
+    private final int changedPits;
+    private final int flags;
+    private final Player currentPlayer;
+    private final boolean undoAvailable;
+    private final boolean gameOver;
+    private final MoveTrace moveTrace;
+
+    /**
+     * @param source        game that changed
+     * @param changedPits   bit i set if pocket i may have changed
+     * @param flags         PLAYER_CHANGED, UNDO_CHANGED, GAME_OVER_CHANGED
+     *                      and NEW_GAME, ORed together
+     * @param currentPlayer player to move afterwards
+     * @param undoAvailable whether undo is available afterwards
+     * @param gameOver      whether the game is over afterwards
+     */
+    public BoardChangeEvent(Object source, int changedPits, int flags, Player currentPlayer,
+                            boolean undoAvailable, boolean gameOver) {
+        this(source, changedPits, flags, currentPlayer, undoAvailable, gameOver, null);
+    }
+
+    /**
+     * @param source        game that changed
+     * @param changedPits   bit i set if pocket i may have changed
+     * @param flags         PLAYER_CHANGED, UNDO_CHANGED, GAME_OVER_CHANGED
+     *                      and NEW_GAME, ORed together
+     * @param currentPlayer player to move afterwards
+     * @param undoAvailable whether undo is available afterwards
+     * @param gameOver      whether the game is over afterwards
+     * @param moveTrace     trace of the move that caused the change, or null
+     */
+    public BoardChangeEvent(Object source, int changedPits, int flags, Player currentPlayer,
+                            boolean undoAvailable, boolean gameOver, MoveTrace moveTrace) {
+        super(source);
+        this.changedPits = changedPits;
+        this.flags = flags;
+        this.currentPlayer = currentPlayer;
+        this.undoAvailable = undoAvailable;
+        this.gameOver = gameOver;
+        this.moveTrace = moveTrace;
+    }
+
+    /**
+     * @return bitmask of pockets that may have changed.
+     */
+    public int getChangedPits() {
+        return changedPits;
+    }
+
+    /**
+     * @param index board index
+     * @return true if that pocket may have changed
+     */
+    public boolean isPitChanged(int index) {
+        return index >= 0 && index < Integer.SIZE && (changedPits & (1 << index)) != 0;
+    }
+
+    /**
+     * @return the flags (PLAYER_CHANGED etc.) ORed together.
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return true if the player to move may have changed.
+     */
+    public boolean isPlayerChanged() {
+        return (flags & PLAYER_CHANGED) != 0;
+    }
+
+    /**
+     * @return true if undo availability may have changed.
+     */
+    public boolean isUndoChanged() {
+        return (flags & UNDO_CHANGED) != 0;
+    }
+
+    /**
+     * @return true if the game-over state may have changed.
+     */
+    public boolean isGameOverChanged() {
+        return (flags & GAME_OVER_CHANGED) != 0;
+    }
+
+    /**
+     * @return true if a new game was started.
+     */
+    public boolean isNewGame() {
+        return (flags & NEW_GAME) != 0;
+    }
+
+    /**
+     * @return player to move after the change.
+     */
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * @return whether undo is available after the change.
+     */
+    public boolean isUndoAvailable() {
+        return undoAvailable;
+    }
+
+    /**
+     * @return whether the game is over after the change.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * @return trace of the single move behind this event, or null if the
+     *         game is not tracing moves, the change was not a move, or
+     *         several changes were merged into this event
+     */
+    public MoveTrace getMoveTrace() {
+        return moveTrace;
+    }
+
+    @Override
+    public String toString() {
+        return "BoardChangeEvent[pits=" + Integer.toBinaryString(changedPits) + ", flags=" + flags
+                + ", player=" + currentPlayer + ", undo=" + undoAvailable + ", over=" + gameOver + "]";
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.EventListener;
+
+/**
+ * Typed alternative to ChangeListener: told what changed, so it never has
+ * to compare the whole board to find out.
+ */
+public interface BoardChangeListener extends EventListener {
+
+    /**
+     * Called after every initialize, legal move and successful undo, on
+     * the thread that changed the game.
+     *
+     * @param event what changed and the state afterwards
+     */
+    void boardChanged(BoardChangeEvent event);
+}
@@ -0,0 +1,284 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Describes the shape of a Mancala board: how many pits each side has and
+ * where the stores sit in the board array.
+ *
+ * The indexing convention is the same for every size n:
+ *
+ *   Player A: pits 0..n-1,      store n
+ *   Player B: pits n+1..2n,     store 2n+1
+ *
+ * so the standard board (n = 6) keeps its familiar 0..5 / 6 / 7..12 / 13
+ * layout. Instances are immutable and shared; use {@link #of(int)} to get
+ * one. Each geometry owns the SowingTable for its board.
+ */
+public final class BoardGeometry {
+
+    /** Smallest supported number of pits per side. */
+    public static final int MIN_PITS_PER_SIDE = 3;
+
+    /** Largest supported number of pits per side. */
+    public static final int MAX_PITS_PER_SIDE = 8;
+
+    /** Smallest supported number of starting stones per pit. */
+    public static final int MIN_STONES_PER_PIT = 1;
+
+    /** Largest supported number of starting stones per pit. */
+    public static final int MAX_STONES_PER_PIT = 10;
+
+    /** Shared instances, indexed by pits per side. */
+    private static final BoardGeometry[] INSTANCES = new BoardGeometry[MAX_PITS_PER_SIDE + 1];
+
+    static {
+        for (int n = MIN_PITS_PER_SIDE; n <= MAX_PITS_PER_SIDE; n++) {
+            INSTANCES[n] = new BoardGeometry(n);
+        }
+    }
+
+    /** The standard 6-pit board used by the assignment. */
+    public static final BoardGeometry STANDARD = INSTANCES[MancalaGame.PITS_PER_SIDE];
+
+    private final int pitsPerSide;
+    private final int totalPits;
+    private final int totalPockets;
+    private final int storeA;
+    private final int storeB;
+    private final SowingTable sowingTable;
+
+    /** Packed lane masks covering each player's pits, indexed by player ordinal. */
+    private final long[] sideMaskLow = new long[2];
+    private final long[] sideMaskHigh = new long[2];
+
+    private BoardGeometry(int pitsPerSide) {
+        this.pitsPerSide = pitsPerSide;
+        this.totalPits = pitsPerSide * 2;
+        this.totalPockets = totalPits + 2;
+        this.storeA = pitsPerSide;
+        this.storeB = totalPits + 1;
+        this.sowingTable = new SowingTable(pitsPerSide);
+
+        if (isPackable()) {
+            for (int i = 0; i < totalPockets; i++) {
+                if (isStore(i)) {
+                    continue;
+                }
+                int player = ownerOf(i).ordinal();
+                long lane = PackedBoard.LANE_MASK << PackedBoard.shiftOf(i);
+                if (i < PackedBoard.POCKETS_PER_WORD) {
+                    sideMaskLow[player] |= lane;
+                } else {
+                    sideMaskHigh[player] |= lane;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared geometry for a board with the given number of pits.
+     *
+     * @param pitsPerSide pits on each side (MIN_PITS_PER_SIDE..MAX_PITS_PER_SIDE)
+     * @return the geometry
+     * @throws IllegalArgumentException if the size is not supported
+     */
+    public static BoardGeometry of(int pitsPerSide) {
+        if (pitsPerSide < MIN_PITS_PER_SIDE || pitsPerSide > MAX_PITS_PER_SIDE) {
+            throw new IllegalArgumentException("pitsPerSide must be between "
+                    + MIN_PITS_PER_SIDE + " and " + MAX_PITS_PER_SIDE);
+        }
+        return INSTANCES[pitsPerSide];
+    }
+
+    /**
+     * @return number of pits on each side.
+     */
+    public int getPitsPerSide() {
+        return pitsPerSide;
+    }
+
+    /**
+     * @return number of pits on both sides.
+     */
+    public int getTotalPits() {
+        return totalPits;
+    }
+
+    /**
+     * @return number of pockets (pits + stores).
+     */
+    public int getTotalPockets() {
+        return totalPockets;
+    }
+
+    /**
+     * @return index of Player A's store.
+     */
+    public int getStoreA() {
+        return storeA;
+    }
+
+    /**
+     * @return index of Player B's store.
+     */
+    public int getStoreB() {
+        return storeB;
+    }
+
+    /**
+     * @return sowing tables for this board.
+     */
+    public SowingTable getSowingTable() {
+        return sowingTable;
+    }
+
+    /**
+     * @return true if this is the standard 6-pit board.
+     */
+    public boolean isStandard() {
+        return pitsPerSide == MancalaGame.PITS_PER_SIDE;
+    }
+
+    /**
+     * @return true if the board fits in a PackedBoard (and thus a Position).
+     */
+    public boolean isPackable() {
+        return PackedBoard.fits(totalPockets);
+    }
+
+    /**
+     * @param player player whose store to look up
+     * @return index of that player's store
+     */
+    public int storeOf(Player player) {
+        return player == Player.PLAYER_A ? storeA : storeB;
+    }
+
+    /**
+     * @param player player whose side to look up
+     * @return index of the first pit on that player's side
+     */
+    public int firstPitOf(Player player) {
+        return player == Player.PLAYER_A ? 0 : storeA + 1;
+    }
+
+    /**
+     * @param index pocket index
+     * @return true if the index is one of the two stores
+     */
+    public boolean isStore(int index) {
+        return index == storeA || index == storeB;
+    }
+
+    /**
+     * @param index  pocket index
+     * @param player player to check
+     * @return true if the index is one of that player's pits (not a store)
+     */
+    public boolean isOwnPit(int index, Player player) {
+        if (player == Player.PLAYER_A) {
+            return index >= 0 && index < storeA;
+        }
+        return index > storeA && index < storeB;
+    }
+
+    /**
+     * Label used on the board and in game records: A1..An for Player A's
+     * pits, B1..Bn for Player B's, and "A" / "B" for the stores.
+     *
+     * @param index pocket index
+     * @return the label, or "" if the index is out of range
+     */
+    public String labelOf(int index) {
+        if (index == storeA || index == storeB) {
+            return index == storeA ? "A" : "B";
+        }
+        if (index >= 0 && index < storeA) {
+            return "A" + (index + 1);
+        }
+        if (index > storeA && index < storeB) {
+            return "B" + (index - storeA);
+        }
+        return "";
+    }
+
+    /**
+     * Inverse of labelOf for pits (case-insensitive).
+     *
+     * @param label pit label such as "A3" or "b6"
+     * @return pocket index, or -1 if the label names no pit on this board
+     */
+    public int pitOfLabel(String label) {
+        if (label.length() != 2) {
+            return -1;
+        }
+        char side = Character.toUpperCase(label.charAt(0));
+        int number = label.charAt(1) - '0';
+        if (number < 1 || number > pitsPerSide) {
+            return -1;
+        }
+        if (side == 'A') {
+            return number - 1;
+        }
+        return side == 'B' ? storeA + number : -1;
+    }
+
+    /**
+     * @param index pocket index
+     * @return owner of the pit or store at that index
+     */
+    public Player ownerOf(int index) {
+        return index <= storeA ? Player.PLAYER_A : Player.PLAYER_B;
+    }
+
+    /**
+     * Opposite pits mirror each other across the board: i <-> totalPits - i
+     * (0 <-> 12, 1 <-> 11, ... on the standard board).
+     *
+     * @param pitIndex a pit index (not a store)
+     * @return the opposite pit index
+     */
+    public int oppositeOf(int pitIndex) {
+        return totalPits - pitIndex;
+    }
+
+    /**
+     * @param player player whose side to select
+     * @return packed low-word mask covering that player's pits
+     */
+    long sideMaskLow(Player player) {
+        return sideMaskLow[player.ordinal()];
+    }
+
+    /**
+     * @param player player whose side to select
+     * @return packed high-word mask covering that player's pits
+     */
+    long sideMaskHigh(Player player) {
+        return sideMaskHigh[player.ordinal()];
+    }
+
+    /**
+     * @return packed low-word mask covering every pit (both sides, no stores)
+     */
+    long pitMaskLow() {
+        return sideMaskLow[0] | sideMaskLow[1];
+    }
+
+    /**
+     * @return packed high-word mask covering every pit (both sides, no stores)
+     */
+    long pitMaskHigh() {
+        return sideMaskHigh[0] | sideMaskHigh[1];
+    }
+
+    @Override
+    public String toString() {
+        return "BoardGeometry[" + pitsPerSide + " pits per side]";
+    }
+}
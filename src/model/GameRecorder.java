@@ -0,0 +1,39 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Receives every state-changing call made on a MancalaGame, in order, so
+ * the game can be rebuilt exactly by replaying them (see
+ * model.journal.GameJournal).
+ *
+ * Only calls that changed the game are reported: rejected moves and
+ * refused undos are not. Methods run on the thread that called the game
+ * (normally the EDT) and must return quickly.
+ */
+public interface GameRecorder {
+
+    /**
+     * @param stonesPerPit argument of MancalaGame.initialize
+     */
+    void gameStarted(int stonesPerPit);
+
+    /**
+     * MancalaGame.saveState was called.
+     */
+    void stateSaved();
+
+    /**
+     * @param pitIndex pit of a legal move that was played
+     */
+    void movePlayed(int pitIndex);
+
+    /**
+     * MancalaGame.undo succeeded.
+     */
+    void moveUndone();
+}
@@ -7,7 +7,9 @@
 package model;
 
 /**
- * Immutable snapshot of the game state used for the undo feature.
+ * Immutable snapshot of the game state, used to capture and restore a whole
+ * position (see MancalaGame.restore). The undo feature keeps the same
+ * fields in the preallocated UndoHistory instead of one object per move.
  *
  * This stores only the parts of the state that must be exactly restored:
  * - board contents
@@ -16,31 +18,51 @@ package model;
  *
  * Undo counters and flags are handled separately by MancalaGame,
  * because performing an undo modifies those (e.g., undoCountThisTurn++).
+ *
+ * The board is stored packed into two longs (see PackedBoard), so taking and
+ * restoring a snapshot copies two values instead of cloning arrays. Boards
+ * too large to pack (8 pits per side) fall back to an array copy.
  */
 class GameState {
 
-    private final int[] boardSnapshot;
+    private final long boardLow;
+    private final long boardHigh;
+    private final int[] unpackedBoard;
     private final Player currentPlayerSnapshot;
     private final boolean gameOverSnapshot;
 
     /**
      * Creates a snapshot from the given game state.
      *
-     * @param board        the current board array (will be cloned)
+     * @param board        the current board array (will be packed)
      * @param currentPlayer the player whose turn it is
      * @param gameOver     whether the game is currently over
      */
     GameState(int[] board, Player currentPlayer, boolean gameOver) {
-        this.boardSnapshot = board.clone(); // deep copy
+        if (PackedBoard.fits(board.length)) {
+            this.boardLow = PackedBoard.packWord(board, 0);
+            this.boardHigh = PackedBoard.packWord(board, PackedBoard.POCKETS_PER_WORD);
+            this.unpackedBoard = null;
+        } else {
+            this.boardLow = 0L;
+            this.boardHigh = 0L;
+            this.unpackedBoard = board.clone();
+        }
         this.currentPlayerSnapshot = currentPlayer;
         this.gameOverSnapshot = gameOver;
     }
 
     /**
-     * @return a copy of the stored board array.
+     * Writes the stored board into an existing array.
+     *
+     * @param dest board array to overwrite
      */
-    int[] getBoard() {
-        return boardSnapshot.clone();
+    void restoreBoard(int[] dest) {
+        if (unpackedBoard != null) {
+            System.arraycopy(unpackedBoard, 0, dest, 0, dest.length);
+        } else {
+            PackedBoard.unpack(boardLow, boardHigh, dest);
+        }
     }
 
     /**
@@ -8,10 +8,8 @@ package model;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Deque;
 import java.util.List;
 
 /**
@@ -35,10 +33,15 @@ import java.util.List;
  *     store: 13
  *
  * We have 14 pockets total (12 pits + 2 stores).
+ *
+ * Other board sizes can be played by passing a BoardGeometry to the
+ * constructor; they follow the same convention (see BoardGeometry). The
+ * static constants below always describe the standard board, which also
+ * keeps its own specialized code paths.
  */
 public class MancalaGame {
 
-    /** Number of pits per side (fixed by the assignment). */
+    /** Number of pits per side on the standard board (fixed by the assignment). */
     public static final int PITS_PER_SIDE = 6;
 
     /** Total number of pits on both sides. */
@@ -53,8 +56,26 @@ public class MancalaGame {
     /** Index of Player B's store (Mancala). */
     public static final int STORE_B = 13;
 
-    /** Internal board array; length = TOTAL_POCKETS. */
-    private final int[] board = new int[TOTAL_POCKETS];
+    /** Shape of the board this game is played on. */
+    private final BoardGeometry geometry;
+
+    /** True for the standard 6-pit board, which uses constant-bound fast paths. */
+    private final boolean standard;
+
+    /** Pits per side, total pockets and store indexes, copied from the geometry. */
+    private final int pitsPerSide;
+    private final int totalPockets;
+    private final int storeA;
+    private final int storeB;
+
+    /** Sowing tables for this geometry. */
+    private final SowingTable sowingTable;
+
+    /** Internal board array; length = geometry.getTotalPockets(). */
+    private final int[] board;
+
+    /** How stones are distributed by makeMove (closed form by default). */
+    private SowingMode sowingMode = SowingMode.CLOSED_FORM;
 
     /** Player whose turn it currently is. */
     private Player currentPlayer = Player.PLAYER_A;
@@ -63,10 +84,11 @@ public class MancalaGame {
     private boolean gameOver = false;
 
     /**
-     * History stack of GameState snapshots used for undo.
+     * History stack of snapshots used for undo.
      * We only keep snapshots relevant to the current player's turn.
+     * Preallocated (see UndoHistory), so saving and undoing never allocate.
      */
-    private final Deque<GameState> history = new ArrayDeque<>();
+    private final UndoHistory history;
 
     /**
      * True when the controller already saved a snapshot before calling makeMove.
@@ -89,38 +111,91 @@ public class MancalaGame {
     /** Optional ChangeListeners – typical MVC pattern for notifying views. */
     private final List<ChangeListener> listeners = new ArrayList<>();
 
+    /**
+     * Only one ChangeEvent is needed per model since its only state is the
+     * source; it is created lazily the first time a listener is notified.
+     */
+    private ChangeEvent changeEvent = null;
+
+    /** Optional typed listeners, told which pockets and flags changed. */
+    private final List<BoardChangeListener> boardListeners = new ArrayList<>();
+
+    /** Whether legal moves build a MoveTrace for their change event. */
+    private boolean moveTracing = false;
+
+    /** Trace of the move being reported, handed to fireChangeEvent. */
+    private MoveTrace pendingTrace = null;
+
+    /** Board before an undo, to work out which pockets it changed. */
+    private final int[] undoScratch;
+
+    /** Optional recorder told about every state change (e.g. a journal). */
+    private GameRecorder recorder = null;
+
+    /**
+     * Creates a game on the standard 6-pit board.
+     */
+    public MancalaGame() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    /**
+     * Creates a game on a board of the given shape.
+     *
+     * @param geometry board shape to play on
+     */
+    public MancalaGame(BoardGeometry geometry) {
+        if (geometry == null) {
+            throw new IllegalArgumentException("geometry must not be null");
+        }
+        this.geometry = geometry;
+        this.standard = geometry.isStandard();
+        this.pitsPerSide = geometry.getPitsPerSide();
+        this.totalPockets = geometry.getTotalPockets();
+        this.storeA = geometry.getStoreA();
+        this.storeB = geometry.getStoreB();
+        this.sowingTable = geometry.getSowingTable();
+        this.board = new int[totalPockets];
+        this.history = new UndoHistory(MAX_UNDOS_PER_TURN + 1, totalPockets);
+        this.undoScratch = new int[totalPockets];
+    }
+
     // ---------------------- Public API ----------------------
 
     /**
      * Initializes the board with the given number of stones per pit.
      *
-     * According to the assignment, this must be either 3 or 4.
-     * All 12 pits are filled with that many stones; both stores start at 0.
+     * The assignment's GUI only offers 3 or 4; the model accepts anything
+     * from BoardGeometry.MIN_STONES_PER_PIT to MAX_STONES_PER_PIT (1..10).
+     * All pits are filled with that many stones; both stores start at 0.
      *
-     * @param stonesPerPit number of stones to place in each pit (3 or 4)
-     * @throws IllegalArgumentException if stonesPerPit is not 3 or 4
+     * @param stonesPerPit number of stones to place in each pit
+     * @throws IllegalArgumentException if stonesPerPit is out of range
      */
     public void initialize(int stonesPerPit) {
-        if (stonesPerPit < 3 || stonesPerPit > 4) {
-            throw new IllegalArgumentException("stonesPerPit must be 3 or 4");
+        if (stonesPerPit < BoardGeometry.MIN_STONES_PER_PIT
+                || stonesPerPit > BoardGeometry.MAX_STONES_PER_PIT) {
+            throw new IllegalArgumentException("stonesPerPit must be between "
+                    + BoardGeometry.MIN_STONES_PER_PIT + " and "
+                    + BoardGeometry.MAX_STONES_PER_PIT);
         }
 
         // Clear the board completely first.
         Arrays.fill(board, 0);
 
         // Fill Player A pits 0..5
-        for (int i = 0; i < PITS_PER_SIDE; i++) {
+        for (int i = 0; i < pitsPerSide; i++) {
             board[i] = stonesPerPit;
         }
 
         // Fill Player B pits 7..12
-        for (int i = STORE_A + 1; i < STORE_B; i++) {
+        for (int i = storeA + 1; i < storeB; i++) {
             board[i] = stonesPerPit;
         }
 
         // Stores must be 0
-        board[STORE_A] = 0;
-        board[STORE_B] = 0;
+        board[storeA] = 0;
+        board[storeB] = 0;
 
         // Reset game meta state
         currentPlayer = Player.PLAYER_A; // you can change to random if you want, but not required
@@ -131,7 +206,11 @@ public class MancalaGame {
         manualSnapshotQueued = false;
         undoAvailableFor = null;
 
-        fireChangeEvent();
+        if (recorder != null) {
+            recorder.gameStarted(stonesPerPit);
+        }
+        fireChangeEvent(allPockets(), BoardChangeEvent.NEW_GAME | BoardChangeEvent.PLAYER_CHANGED
+                | BoardChangeEvent.UNDO_CHANGED | BoardChangeEvent.GAME_OVER_CHANGED);
     }
 
     /**
@@ -153,64 +232,63 @@ public class MancalaGame {
      * @return a MoveResult describing what happened
      */
     public MoveResult makeMove(int pitIndex) {
+        return new MoveResult(makeMoveCode(pitIndex));
+    }
+
+    /**
+     * Allocation-free variant of makeMove. Performs exactly the same move but
+     * reports the outcome as a MoveCode instead of a MoveResult, and never
+     * builds a message string. Use MoveCode.describe if a message is needed.
+     *
+     * @param pitIndex index of the pit chosen by the current player
+     * @return the encoded outcome (see MoveCode)
+     */
+    public int makeMoveCode(int pitIndex) {
         // Cannot move if the game is already over.
         if (gameOver) {
-            return new MoveResult(false, false, false, true, null,
-                                  "Game is already over.");
+            return MoveCode.illegal(MoveCode.ERROR_GAME_OVER, true, null);
         }
 
         // Validate index range.
-        if (pitIndex < 0 || pitIndex >= TOTAL_POCKETS || isStore(pitIndex)) {
-            return new MoveResult(false, false, false, false, currentPlayer,
-                                  "Invalid pit index.");
+        if (pitIndex < 0 || pitIndex >= totalPockets || isStore(pitIndex)) {
+            return MoveCode.illegal(MoveCode.ERROR_INVALID_INDEX, false, currentPlayer);
         }
 
         // Validate that this pit belongs to the current player.
         if (!isOwnPit(pitIndex, currentPlayer)) {
-            return new MoveResult(false, false, false, false, currentPlayer,
-                                  "You must choose one of your own pits.");
+            return MoveCode.illegal(MoveCode.ERROR_NOT_OWN_PIT, false, currentPlayer);
         }
 
         // Validate that the pit is not empty.
         if (board[pitIndex] == 0) {
-            return new MoveResult(false, false, false, false, currentPlayer,
-                                  "Selected pit is empty.");
+            return MoveCode.illegal(MoveCode.ERROR_EMPTY_PIT, false, currentPlayer);
         }
 
         Player player = currentPlayer;
+        boolean couldUndo = canUndo();
         expireUndoIfDifferentPlayer(player);
 
         // BEFORE performing the move, push a snapshot for undo unless
         // the controller already saved the current state.
         if (!manualSnapshotQueued) {
-            history.push(new GameState(board, currentPlayer, gameOver));
+            history.push(board, currentPlayer, gameOver);
         } else {
             manualSnapshotQueued = false;
         }
 
-        // Core sowing logic.
-        int stonesInHand = board[pitIndex];
-        board[pitIndex] = 0; // we pick up all stones from this pit
-
-        int currentIndex = pitIndex;
+        // Core sowing logic: pick up all stones from this pit and sow them,
+        // skipping the opponent's store.
         int myStore = getStoreIndex(player);
-        int opponentStore = getStoreIndex(player.opposite());
-
-        while (stonesInHand > 0) {
-            currentIndex = (currentIndex + 1) % TOTAL_POCKETS;
-
-            // Skip the opponent's store.
-            if (currentIndex == opponentStore) {
-                continue;
-            }
-
-            board[currentIndex]++;
-            stonesInHand--;
-        }
+        int sownStones = board[pitIndex];
+        int currentIndex = sowingMode == SowingMode.CLOSED_FORM
+                ? sowingTable.sow(board, pitIndex)
+                : sowingTable.sowStepwise(board, pitIndex);
 
         // Determine if this was a free-turn move (last stone in own store).
         boolean freeTurn = (currentIndex == myStore);
-        boolean captureHappened = false;
+        int capturedStones = 0;
+        int capturedFrom = -1;
+        int changedPits = sowingMask(pitIndex, sownStones, currentIndex, player);
 
         // Capture rule: last stone lands in an empty pit on player's own side
         // (and that pit had 0 before placing this last stone).
@@ -224,16 +302,25 @@ public class MancalaGame {
                         board[oppositeIndex] = 0;
                         board[currentIndex] = 0;
                         board[myStore] += oppositeStones + 1;
-                        captureHappened = true;
+                        capturedStones = oppositeStones;
+                        capturedFrom = oppositeIndex;
+                        changedPits |= (1 << oppositeIndex) | (1 << myStore);
                     }
                 }
             }
         }
 
         // Check for game-end condition: if all pits on one side are empty.
-        if (isSideEmpty(Player.PLAYER_A) || isSideEmpty(Player.PLAYER_B)) {
+        int sweptA = 0;
+        int sweptB = 0;
+        if (isAnySideEmpty()) {
+            sweptA = board[storeA];
+            sweptB = board[storeB];
             collectRemainingStones();
+            sweptA = board[storeA] - sweptA;
+            sweptB = board[storeB] - sweptB;
             gameOver = true;
+            changedPits = allPockets();
         }
 
         // Determine next player:
@@ -256,11 +343,36 @@ public class MancalaGame {
         lastActionWasUndo = false;
         undoAvailableFor = player;
 
-        fireChangeEvent();
+        if (recorder != null) {
+            recorder.movePlayed(pitIndex);
+        }
+        if (moveTracing && !boardListeners.isEmpty()) {
+            pendingTrace = new MoveTrace(geometry, player, pitIndex, sownStones, currentIndex,
+                    capturedFrom, capturedStones, sweptA, sweptB, gameOver);
+        }
+        fireChangeEvent(changedPits, changeFlags(player, couldUndo, false));
 
-        return new MoveResult(true, freeTurn, captureHappened, gameOver,
-                              nextPlayer,
-                              buildMoveMessage(freeTurn, captureHappened));
+        return MoveCode.legal(freeTurn, capturedStones, gameOver, nextPlayer, currentIndex);
+    }
+
+    /**
+     * Selects how makeMove distributes stones. Both modes give identical
+     * results; STEPWISE is the original per-stone loop, kept as a reference.
+     *
+     * @param mode sowing implementation to use
+     */
+    public void setSowingMode(SowingMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+        this.sowingMode = mode;
+    }
+
+    /**
+     * @return the sowing implementation used by makeMove.
+     */
+    public SowingMode getSowingMode() {
+        return sowingMode;
     }
 
     /**
@@ -270,15 +382,18 @@ public class MancalaGame {
      */
     public void saveState() {
         expireUndoIfDifferentPlayer(currentPlayer);
-        history.push(new GameState(board, currentPlayer, gameOver));
+        history.push(board, currentPlayer, gameOver);
         manualSnapshotQueued = true;
+        if (recorder != null) {
+            recorder.stateSaved();
+        }
     }
 
     /**
      * Attempts to undo the last move made in the current player's turn.
      *
      * Rules enforced:
-     *  - Can only undo if there is a stored GameState in history.
+     *  - Can only undo if there is a stored snapshot in history.
      *  - Cannot undo twice in a row (no multiple undos in a row).
      *  - Maximum of 3 undos per turn for a player.
      *  - Undo is only for the moves of the current turn (history is cleared when turns change).
@@ -306,12 +421,12 @@ public class MancalaGame {
         }
 
         // Pop the previous game state and restore it.
-        GameState previous = history.pop();
-        int[] previousBoard = previous.getBoard();
-
-        System.arraycopy(previousBoard, 0, board, 0, board.length);
-        this.currentPlayer = previous.getCurrentPlayer();
-        this.gameOver = previous.isGameOver();
+        Player previousPlayer = currentPlayer;
+        boolean wasOver = gameOver;
+        System.arraycopy(board, 0, undoScratch, 0, totalPockets);
+        history.pop(board);
+        this.currentPlayer = history.poppedPlayer();
+        this.gameOver = history.poppedGameOver();
 
         // Update undo tracking.
         undoCountThisTurn++;
@@ -319,10 +434,37 @@ public class MancalaGame {
         manualSnapshotQueued = false;
         undoAvailableFor = null;
 
-        fireChangeEvent();
+        if (recorder != null) {
+            recorder.moveUndone();
+        }
+        int changedPits = 0;
+        for (int i = 0; i < totalPockets; i++) {
+            if (board[i] != undoScratch[i]) {
+                changedPits |= 1 << i;
+            }
+        }
+        fireChangeEvent(changedPits, changeFlags(previousPlayer, true, wasOver));
         return true;
     }
 
+    /**
+     * Puts the game into a captured state and clears the undo history and
+     * counters, without notifying listeners. Used by the benchmarks to
+     * reset a mid-game position between measured operations.
+     *
+     * @param state snapshot to restore
+     */
+    void restore(GameState state) {
+        state.restoreBoard(board);
+        currentPlayer = state.getCurrentPlayer();
+        gameOver = state.isGameOver();
+        history.clear();
+        undoCountThisTurn = 0;
+        lastActionWasUndo = false;
+        manualSnapshotQueued = false;
+        undoAvailableFor = null;
+    }
+
     /**
      * @return true if there is at least one snapshot available to undo.
      */
@@ -357,13 +499,13 @@ public class MancalaGame {
      * Returns the number of stones at the given pocket index.
      * This index may refer to a pit or a store.
      *
-     * @param index pocket index 0..13
+     * @param index pocket index 0..13 (0..getTotalPockets()-1 in general)
      * @return number of stones at that pocket
      * @throws IllegalArgumentException if index is out of range
      */
     public int getStonesAt(int index) {
-        if (index < 0 || index >= TOTAL_POCKETS) {
-            throw new IllegalArgumentException("Index must be between 0 and " + (TOTAL_POCKETS - 1));
+        if (index < 0 || index >= totalPockets) {
+            throw new IllegalArgumentException("Index must be between 0 and " + (totalPockets - 1));
         }
         return board[index];
     }
@@ -383,6 +525,18 @@ public class MancalaGame {
         return board.clone();
     }
 
+    /**
+     * Returns the board packed into two longs. Unlike getBoardSnapshot this
+     * does not clone the board array, and the result can be compared and
+     * hashed as a plain value.
+     *
+     * @return packed copy of the current board
+     * @throws IllegalArgumentException if the geometry is not packable
+     */
+    public PackedBoard getPackedBoard() {
+        return new PackedBoard(PackedBoard.packLow(board), PackedBoard.packHigh(board));
+    }
+
     /**
      * Alias used by some controllers/views.
      *
@@ -396,21 +550,28 @@ public class MancalaGame {
      * Convenience: @return the store index for the given player.
      */
     public int getStoreIndex(Player player) {
-        return player == Player.PLAYER_A ? STORE_A : STORE_B;
+        return player == Player.PLAYER_A ? storeA : storeB;
+    }
+
+    /**
+     * @return the shape of the board this game is played on.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
     }
 
     /**
-     * @return the number of pits per side (constant: 6).
+     * @return the number of pits per side (6 on the standard board).
      */
     public int getPitsPerSide() {
-        return PITS_PER_SIDE;
+        return pitsPerSide;
     }
 
     /**
-     * @return total number of pockets (pits + stores) on the board (constant: 14).
+     * @return total number of pockets (pits + stores) on the board (14 on the standard board).
      */
     public int getTotalPockets() {
-        return TOTAL_POCKETS;
+        return totalPockets;
     }
 
     /**
@@ -421,7 +582,7 @@ public class MancalaGame {
         if (gameOver) {
             return false;
         }
-        if (pitIndex < 0 || pitIndex >= TOTAL_POCKETS) {
+        if (pitIndex < 0 || pitIndex >= totalPockets) {
             return false;
         }
         if (isStore(pitIndex)) {
@@ -439,7 +600,7 @@ public class MancalaGame {
      * @return array with scores [playerA, playerB]
      */
     public int[] getMancalaScores() {
-        return new int[] { board[STORE_A], board[STORE_B] };
+        return new int[] { board[storeA], board[storeB] };
     }
 
     /**
@@ -452,8 +613,8 @@ public class MancalaGame {
         if (!gameOver) {
             return null;
         }
-        int scoreA = board[STORE_A];
-        int scoreB = board[STORE_B];
+        int scoreA = board[storeA];
+        int scoreB = board[storeB];
 
         if (scoreA > scoreB) {
             return Player.PLAYER_A;
@@ -488,13 +649,123 @@ public class MancalaGame {
     }
 
     /**
-     * Notifies all registered ChangeListeners that the model has changed.
+     * Adds a typed listener, notified after the same changes as
+     * ChangeListeners (and after them) with a BoardChangeEvent describing
+     * what changed. Events are only built while at least one is registered.
+     *
+     * @param listener the listener to add
+     */
+    public void addBoardChangeListener(BoardChangeListener listener) {
+        if (listener != null) {
+            boardListeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a previously added BoardChangeListener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeBoardChangeListener(BoardChangeListener listener) {
+        boardListeners.remove(listener);
+    }
+
+    /**
+     * Turns move traces on or off. While on, the BoardChangeEvent of every
+     * legal move carries a MoveTrace for animating it; while off (the
+     * default) none is built.
+     *
+     * @param enabled whether to trace moves
+     */
+    public void setMoveTracing(boolean enabled) {
+        this.moveTracing = enabled;
+    }
+
+    /**
+     * Sets the recorder told about every initialize, saveState, legal move
+     * and successful undo, or removes it when null.
+     *
+     * @param recorder recorder to use, or null for none
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Notifies all registered ChangeListeners that the model has changed,
+     * then the BoardChangeListeners with what changed. Package-private so
+     * the benchmarks can measure it on its own.
+     *
+     * @param changedPits bit i set if pocket i may have changed
+     * @param flags       BoardChangeEvent flags
+     */
+    void fireChangeEvent(int changedPits, int flags) {
+        for (int i = 0; i < listeners.size(); i++) {
+            if (changeEvent == null) {
+                changeEvent = new ChangeEvent(this);
+            }
+            listeners.get(i).stateChanged(changeEvent);
+        }
+        MoveTrace trace = pendingTrace;
+        pendingTrace = null;
+        if (boardListeners.isEmpty()) {
+            return;
+        }
+        BoardChangeEvent event = new BoardChangeEvent(this, changedPits, flags, currentPlayer,
+                canUndo(), gameOver, trace);
+        for (int i = 0; i < boardListeners.size(); i++) {
+            boardListeners.get(i).boardChanged(event);
+        }
+    }
+
+    /**
+     * @return BoardChangeEvent flags for what differs from the given
+     *         earlier state
      */
-    private void fireChangeEvent() {
-        ChangeEvent event = new ChangeEvent(this);
-        for (ChangeListener listener : listeners) {
-            listener.stateChanged(event);
+    private int changeFlags(Player previousPlayer, boolean couldUndo, boolean wasOver) {
+        int flags = 0;
+        if (currentPlayer != previousPlayer) {
+            flags |= BoardChangeEvent.PLAYER_CHANGED;
+        }
+        if (canUndo() != couldUndo) {
+            flags |= BoardChangeEvent.UNDO_CHANGED;
+        }
+        if (gameOver != wasOver) {
+            flags |= BoardChangeEvent.GAME_OVER_CHANGED;
+        }
+        return flags;
+    }
+
+    /**
+     * @return mask with a bit for every pocket.
+     */
+    private int allPockets() {
+        return (1 << totalPockets) - 1;
+    }
+
+    /**
+     * Pockets touched by sowing: the source and every pocket from the one
+     * after it to the landing pocket, except the opponent's store, which
+     * sowing skips. From a full lap on, that is everything but that store.
+     *
+     * @param pitIndex source pit
+     * @param stones   stones picked up
+     * @param landing  pocket the last stone landed in
+     * @param player   player who moved
+     * @return bitmask of changed pockets
+     */
+    private int sowingMask(int pitIndex, int stones, int landing, Player player) {
+        int all = allPockets();
+        int range;
+        if (stones >= totalPockets - 1) {
+            range = all;
+        } else if (landing > pitIndex) {
+            range = (1 << (landing + 1)) - (1 << (pitIndex + 1));
+        } else {
+            range = all & ~((1 << (pitIndex + 1)) - (1 << (landing + 1)));
         }
+        int opponentStore = getStoreIndex(player.opposite());
+        return (range | (1 << pitIndex)) & ~(1 << opponentStore);
     }
 
     /**
@@ -517,7 +788,7 @@ public class MancalaGame {
      * Returns true if the given index is a store (Mancala) index.
      */
     private boolean isStore(int index) {
-        return index == STORE_A || index == STORE_B;
+        return index == storeA || index == storeB;
     }
 
     /**
@@ -530,28 +801,43 @@ public class MancalaGame {
         }
         if (player == Player.PLAYER_A) {
             // Player A pits: 0..5
-            return pitIndex >= 0 && pitIndex < PITS_PER_SIDE;
+            return pitIndex >= 0 && pitIndex < pitsPerSide;
         } else {
             // Player B pits: 7..12
-            return pitIndex > STORE_A && pitIndex < STORE_B;
+            return pitIndex > storeA && pitIndex < storeB;
         }
     }
 
+    /**
+     * Game-end check run after every move. The standard board ORs its twelve
+     * pits with constant indexes; other sizes fall back to isSideEmpty.
+     *
+     * @return true if all pits on either side are empty
+     */
+    private boolean isAnySideEmpty() {
+        if (standard) {
+            int[] b = board;
+            return (b[0] | b[1] | b[2] | b[3] | b[4] | b[5]) == 0
+                    || (b[7] | b[8] | b[9] | b[10] | b[11] | b[12]) == 0;
+        }
+        return isSideEmpty(Player.PLAYER_A) || isSideEmpty(Player.PLAYER_B);
+    }
+
     /**
      * Checks whether all pits on the given player's side are empty.
      *
      * @param player the player to check
-     * @return true if that player's 6 pits all contain 0 stones
+     * @return true if that player's pits all contain 0 stones
      */
     private boolean isSideEmpty(Player player) {
         if (player == Player.PLAYER_A) {
-            for (int i = 0; i < PITS_PER_SIDE; i++) {
+            for (int i = 0; i < pitsPerSide; i++) {
                 if (board[i] != 0) {
                     return false;
                 }
             }
         } else {
-            for (int i = STORE_A + 1; i < STORE_B; i++) {
+            for (int i = storeA + 1; i < storeB; i++) {
                 if (board[i] != 0) {
                     return false;
                 }
@@ -575,21 +861,21 @@ public class MancalaGame {
         if (!sideAEmpty) {
             // Collect from Player A side (0..5) into STORE_A
             int sum = 0;
-            for (int i = 0; i < PITS_PER_SIDE; i++) {
+            for (int i = 0; i < pitsPerSide; i++) {
                 sum += board[i];
                 board[i] = 0;
             }
-            board[STORE_A] += sum;
+            board[storeA] += sum;
         }
 
         if (!sideBEmpty) {
             // Collect from Player B side (7..12) into STORE_B
             int sum = 0;
-            for (int i = STORE_A + 1; i < STORE_B; i++) {
+            for (int i = storeA + 1; i < storeB; i++) {
                 sum += board[i];
                 board[i] = 0;
             }
-            board[STORE_B] += sum;
+            board[storeB] += sum;
         }
     }
 
@@ -604,7 +890,7 @@ public class MancalaGame {
      *   4 <-> 8
      *   5 <-> 7
      *
-     * Formula: oppositeIndex = 12 - pitIndex
+     * Formula: oppositeIndex = 12 - pitIndex (TOTAL_PITS - pitIndex in general)
      *
      * @param pitIndex a pit index (0..5 or 7..12)
      * @return the opposite pit index, or -1 if pitIndex is invalid or a store
@@ -613,29 +899,6 @@ public class MancalaGame {
         if (isStore(pitIndex)) {
             return -1;
         }
-        return 12 - pitIndex;
-    }
-
-    /**
-     * Builds a small message string summarizing the move outcome.
-     *
-     * @param freeTurn        true if the player gets another turn
-     * @param captureHappened true if a capture occurred
-     * @return a short human-readable message
-     */
-    private String buildMoveMessage(boolean freeTurn, boolean captureHappened) {
-        if (gameOver) {
-            return "Game over.";
-        }
-        if (freeTurn && captureHappened) {
-            return "Capture and free turn!";
-        }
-        if (freeTurn) {
-            return "Free turn!";
-        }
-        if (captureHappened) {
-            return "Capture!";
-        }
-        return "Move completed.";
+        return geometry.oppositeOf(pitIndex);
     }
 }
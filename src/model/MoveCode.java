@@ -0,0 +1,201 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Bit-encoded move outcome used by the allocation-free move API
+ * (MancalaGame.makeMoveCode and Position.makeMove).
+ *
+ * Layout of the int code:
+ *   bit  0      move was legal and performed
+ *   bit  1      free turn (last stone in own store)
+ *   bit  2      capture happened
+ *   bit  3      game is over
+ *   bits 4..5   next player: 0 = none, 1 = Player A, 2 = Player B
+ *   bits 6..10  pocket where the last stone landed (legal moves only)
+ *   bits 11..13 reason an illegal move was rejected (see the ERROR_ constants)
+ *   bits 16..23 number of stones taken from the opposite pit by a capture
+ *
+ * MoveResult is a thin decoder over this code, and the human-readable
+ * message is only built when somebody asks for it.
+ */
+public final class MoveCode {
+
+    /** Set when the move was legal and has been performed. */
+    public static final int LEGAL = 1;
+
+    /** Set when the current player gets another turn. */
+    public static final int FREE_TURN = 1 << 1;
+
+    /** Set when a capture occurred. */
+    public static final int CAPTURE = 1 << 2;
+
+    /** Set when the game is over. */
+    public static final int GAME_OVER = 1 << 3;
+
+    /** No error: the move was legal. */
+    public static final int ERROR_NONE = 0;
+
+    /** Rejected because the game was already over. */
+    public static final int ERROR_GAME_OVER = 1;
+
+    /** Rejected because the index was out of range or a store. */
+    public static final int ERROR_INVALID_INDEX = 2;
+
+    /** Rejected because the pit belongs to the other player. */
+    public static final int ERROR_NOT_OWN_PIT = 3;
+
+    /** Rejected because the pit was empty. */
+    public static final int ERROR_EMPTY_PIT = 4;
+
+    private static final int NEXT_PLAYER_SHIFT = 4;
+    private static final int LANDING_SHIFT = 6;
+    private static final int LANDING_MASK = 0x1F;
+    private static final int ERROR_SHIFT = 11;
+    private static final int ERROR_MASK = 0x7;
+    private static final int CAPTURED_SHIFT = 16;
+    private static final int CAPTURED_MASK = 0xFF;
+
+    private MoveCode() {
+    }
+
+    // ---------------------- Encoding ----------------------
+
+    /**
+     * Encodes the outcome of a legal move.
+     *
+     * @param freeTurn       whether the player gets another turn
+     * @param capturedStones stones taken from the opposite pit (0 if no capture)
+     * @param gameOver       whether the move ended the game
+     * @param nextPlayer     whose turn is next (null if the game is over)
+     * @param landingPit     pocket where the last stone was sown
+     * @return the encoded outcome
+     */
+    public static int legal(boolean freeTurn, int capturedStones, boolean gameOver,
+                            Player nextPlayer, int landingPit) {
+        int code = LEGAL | encodePlayer(nextPlayer) | (landingPit << LANDING_SHIFT);
+        if (freeTurn) {
+            code |= FREE_TURN;
+        }
+        if (capturedStones > 0) {
+            code |= CAPTURE | (capturedStones << CAPTURED_SHIFT);
+        }
+        if (gameOver) {
+            code |= GAME_OVER;
+        }
+        return code;
+    }
+
+    /**
+     * Encodes a rejected move.
+     *
+     * @param error      one of the ERROR_ constants
+     * @param gameOver   whether the game is over
+     * @param nextPlayer whose turn it still is (null if the game is over)
+     * @return the encoded outcome
+     */
+    public static int illegal(int error, boolean gameOver, Player nextPlayer) {
+        int code = (error << ERROR_SHIFT) | encodePlayer(nextPlayer);
+        return gameOver ? code | GAME_OVER : code;
+    }
+
+    // ---------------------- Decoding ----------------------
+
+    public static boolean isLegal(int code) {
+        return (code & LEGAL) != 0;
+    }
+
+    public static boolean isFreeTurn(int code) {
+        return (code & FREE_TURN) != 0;
+    }
+
+    public static boolean isCapture(int code) {
+        return (code & CAPTURE) != 0;
+    }
+
+    public static boolean isGameOver(int code) {
+        return (code & GAME_OVER) != 0;
+    }
+
+    /**
+     * @return whose turn is next, or null if the game is over.
+     */
+    public static Player nextPlayer(int code) {
+        switch ((code >>> NEXT_PLAYER_SHIFT) & 0x3) {
+            case 1:
+                return Player.PLAYER_A;
+            case 2:
+                return Player.PLAYER_B;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return pocket where the last stone landed (only meaningful if legal).
+     */
+    public static int landingPit(int code) {
+        return (code >>> LANDING_SHIFT) & LANDING_MASK;
+    }
+
+    /**
+     * @return one of the ERROR_ constants.
+     */
+    public static int error(int code) {
+        return (code >>> ERROR_SHIFT) & ERROR_MASK;
+    }
+
+    /**
+     * @return stones taken from the opposite pit by a capture, or 0.
+     */
+    public static int capturedStones(int code) {
+        return (code >>> CAPTURED_SHIFT) & CAPTURED_MASK;
+    }
+
+    /**
+     * Builds the short status message for an outcome. This is the only place
+     * move messages are created, so callers that never display them never pay
+     * for the string.
+     *
+     * @param code encoded outcome
+     * @return a short human-readable message
+     */
+    public static String describe(int code) {
+        switch (error(code)) {
+            case ERROR_GAME_OVER:
+                return "Game is already over.";
+            case ERROR_INVALID_INDEX:
+                return "Invalid pit index.";
+            case ERROR_NOT_OWN_PIT:
+                return "You must choose one of your own pits.";
+            case ERROR_EMPTY_PIT:
+                return "Selected pit is empty.";
+            default:
+                break;
+        }
+        if (isGameOver(code)) {
+            return "Game over.";
+        }
+        if (isFreeTurn(code) && isCapture(code)) {
+            return "Capture and free turn!";
+        }
+        if (isFreeTurn(code)) {
+            return "Free turn!";
+        }
+        if (isCapture(code)) {
+            return "Capture!";
+        }
+        return "Move completed.";
+    }
+
+    private static int encodePlayer(Player player) {
+        if (player == null) {
+            return 0;
+        }
+        return (player == Player.PLAYER_A ? 1 : 2) << NEXT_PLAYER_SHIFT;
+    }
+}
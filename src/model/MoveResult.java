@@ -16,6 +16,9 @@ package model;
  *  - whether the game is over
  *  - who the next player is
  *  - a short message useful for status labels
+ *
+ * Results produced by MancalaGame.makeMove wrap a MoveCode; in that case the
+ * message is only built the first time getMessage() is called.
  */
 public class MoveResult {
 
@@ -24,7 +27,8 @@ public class MoveResult {
     private final boolean captureHappened;
     private final boolean gameOver;
     private final Player nextPlayer;
-    private final String message;
+    private final int code;
+    private String message;
 
     /**
      * Creates a MoveResult.
@@ -48,6 +52,21 @@ public class MoveResult {
         this.gameOver = gameOver;
         this.nextPlayer = nextPlayer;
         this.message = message;
+        this.code = -1;
+    }
+
+    /**
+     * Creates a MoveResult that decodes the given MoveCode.
+     *
+     * @param code encoded outcome returned by MancalaGame.makeMoveCode
+     */
+    public MoveResult(int code) {
+        this.moveLegal = MoveCode.isLegal(code);
+        this.freeTurn = MoveCode.isFreeTurn(code);
+        this.captureHappened = MoveCode.isCapture(code);
+        this.gameOver = MoveCode.isGameOver(code);
+        this.nextPlayer = MoveCode.nextPlayer(code);
+        this.code = code;
     }
 
     public boolean isMoveLegal() {
@@ -71,6 +90,9 @@ public class MoveResult {
     }
 
     public String getMessage() {
+        if (message == null && code != -1) {
+            message = MoveCode.describe(code);
+        }
         return message;
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * What one legal move did, in the order it happened, for animating it:
+ * the stones picked up, the pockets they were sown into, any capture and
+ * the sweep of remaining stones when the move ended the game.
+ *
+ * Only the source, the stone count and the results are stored; the k-th
+ * pocket sown is looked up in the board's SowingTable. MancalaGame only
+ * builds traces while setMoveTracing(true) is on, and hands them out with
+ * the BoardChangeEvent of the move.
+ */
+public final class MoveTrace {
+
+    private final BoardGeometry geometry;
+    private final Player mover;
+    private final int source;
+    private final int stones;
+    private final int landing;
+    private final int capturedFrom;
+    private final int capturedStones;
+    private final int sweptA;
+    private final int sweptB;
+    private final boolean gameEnd;
+
+    /**
+     * @param geometry       board shape
+     * @param mover          player who moved
+     * @param source         pit the stones were picked up from
+     * @param stones         stones picked up
+     * @param landing        pocket the last stone landed in
+     * @param capturedFrom   opposite pit emptied by a capture, or -1
+     * @param capturedStones stones taken from capturedFrom (the landing
+     *                       stone also goes to the store)
+     * @param sweptA         stones swept into store A at game end
+     * @param sweptB         stones swept into store B at game end
+     * @param gameEnd        true if the move ended the game
+     */
+    MoveTrace(BoardGeometry geometry, Player mover, int source, int stones, int landing,
+              int capturedFrom, int capturedStones, int sweptA, int sweptB, boolean gameEnd) {
+        this.geometry = geometry;
+        this.mover = mover;
+        this.source = source;
+        this.stones = stones;
+        this.landing = landing;
+        this.capturedFrom = capturedFrom;
+        this.capturedStones = capturedStones;
+        this.sweptA = sweptA;
+        this.sweptB = sweptB;
+        this.gameEnd = gameEnd;
+    }
+
+    /**
+     * @return board shape the move was played on.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @return player who moved.
+     */
+    public Player getMover() {
+        return mover;
+    }
+
+    /**
+     * @return pit the stones were picked up from.
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * @return number of stones picked up and sown.
+     */
+    public int getStones() {
+        return stones;
+    }
+
+    /**
+     * @param k 0..getStones() - 1
+     * @return pocket that received the k-th stone
+     */
+    public int getSownPocket(int k) {
+        return geometry.getSowingTable().pocketAt(source, k);
+    }
+
+    /**
+     * @return pocket the last stone landed in.
+     */
+    public int getLanding() {
+        return landing;
+    }
+
+    /**
+     * @return true if the move captured.
+     */
+    public boolean isCapture() {
+        return capturedFrom >= 0;
+    }
+
+    /**
+     * @return opposite pit emptied by the capture, or -1 if none.
+     */
+    public int getCapturedFrom() {
+        return capturedFrom;
+    }
+
+    /**
+     * @return stones taken from the opposite pit (0 if no capture).
+     */
+    public int getCapturedStones() {
+        return capturedStones;
+    }
+
+    /**
+     * @return mover's store, which receives captures.
+     */
+    public int getStore() {
+        return geometry.storeOf(mover);
+    }
+
+    /**
+     * @return true if the move ended the game.
+     */
+    public boolean isGameEnd() {
+        return gameEnd;
+    }
+
+    /**
+     * @param player side whose pits were swept
+     * @return stones swept into that player's store when the game ended
+     */
+    public int getSwept(Player player) {
+        return player == Player.PLAYER_A ? sweptA : sweptB;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveTrace[" + mover + " " + geometry.labelOf(source) + " x" + stones + " -> "
+                + geometry.labelOf(landing) + (isCapture() ? ", captures " + capturedStones : "") + "]";
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Immutable board encoding that packs every pocket count into two longs.
+ *
+ * Each pocket gets an 8-bit lane:
+ *   low word:  pockets 0..7
+ *   high word: pockets 8..15
+ *
+ * The standard 14-pocket board fits with two lanes to spare, and a lane can
+ * hold up to 255 stones, which is more than the number of stones in play on
+ * any supported board. Because the whole board is two primitive values,
+ * snapshots, equality checks and hashing are plain value copies instead of
+ * array clones.
+ *
+ * The static helpers work on the raw words so that hot loops (bots,
+ * simulations, undo history) can keep boards in long fields without
+ * allocating a PackedBoard at all.
+ */
+public final class PackedBoard {
+
+    /** Number of bits used to store one pocket count. */
+    public static final int BITS_PER_POCKET = 8;
+
+    /** Number of pockets stored in each long word. */
+    public static final int POCKETS_PER_WORD = Long.SIZE / BITS_PER_POCKET;
+
+    /** Largest number of pockets that fit in a packed board. */
+    public static final int MAX_POCKETS = POCKETS_PER_WORD * 2;
+
+    /** Largest stone count a single pocket can hold. */
+    public static final int MAX_STONES_PER_POCKET = (1 << BITS_PER_POCKET) - 1;
+
+    /** Mask selecting one lane once it has been shifted down. */
+    static final long LANE_MASK = MAX_STONES_PER_POCKET;
+
+    private final long low;
+    private final long high;
+
+    /**
+     * Creates a packed board from its raw words.
+     *
+     * @param low  lanes for pockets 0..7
+     * @param high lanes for pockets 8..15
+     */
+    public PackedBoard(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Packs the given board array.
+     *
+     * @param board pocket counts, at most MAX_POCKETS entries of 0..255
+     * @return the packed board
+     * @throws IllegalArgumentException if the board does not fit
+     */
+    public static PackedBoard of(int[] board) {
+        return new PackedBoard(packLow(board), packHigh(board));
+    }
+
+    /**
+     * @param board pocket counts to pack
+     * @return the low word (pockets 0..7) of the packed board
+     * @throws IllegalArgumentException if the board does not fit
+     */
+    public static long packLow(int[] board) {
+        checkFits(board);
+        return packWord(board, 0);
+    }
+
+    /**
+     * @param board pocket counts to pack
+     * @return the high word (pockets 8..15) of the packed board
+     * @throws IllegalArgumentException if the board does not fit
+     */
+    public static long packHigh(int[] board) {
+        checkFits(board);
+        return packWord(board, POCKETS_PER_WORD);
+    }
+
+    /**
+     * Reads a single pocket from raw packed words.
+     *
+     * @param low   low word
+     * @param high  high word
+     * @param index pocket index 0..15
+     * @return number of stones in that pocket
+     */
+    public static int stonesAt(long low, long high, int index) {
+        long word = index < POCKETS_PER_WORD ? low : high;
+        return (int) ((word >>> shiftOf(index)) & LANE_MASK);
+    }
+
+    /**
+     * Unpacks raw words into an existing array, filling dest.length pockets.
+     *
+     * @param low  low word
+     * @param high high word
+     * @param dest array receiving the pocket counts
+     */
+    public static void unpack(long low, long high, int[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = stonesAt(low, high, i);
+        }
+    }
+
+    /**
+     * @param pockets number of pockets on the board
+     * @return true if a board of that size can be packed
+     */
+    public static boolean fits(int pockets) {
+        return pockets <= MAX_POCKETS;
+    }
+
+    /**
+     * @param index pocket index
+     * @return bit offset of the pocket's lane inside its word
+     */
+    static int shiftOf(int index) {
+        return (index & (POCKETS_PER_WORD - 1)) * BITS_PER_POCKET;
+    }
+
+    /**
+     * @return the low word (pockets 0..7).
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * @return the high word (pockets 8..15).
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * @param index pocket index 0..15
+     * @return number of stones in that pocket
+     */
+    public int stonesAt(int index) {
+        return stonesAt(low, high, index);
+    }
+
+    /**
+     * Copies the pocket counts into an existing array without allocating.
+     *
+     * @param dest array receiving dest.length pocket counts
+     */
+    public void copyInto(int[] dest) {
+        unpack(low, high, dest);
+    }
+
+    /**
+     * @param pockets number of pockets to unpack
+     * @return a new array holding the first {@code pockets} pocket counts
+     */
+    public int[] toArray(int pockets) {
+        int[] board = new int[pockets];
+        unpack(low, high, board);
+        return board;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PackedBoard)) {
+            return false;
+        }
+        PackedBoard that = (PackedBoard) other;
+        return low == that.low && high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+
+    @Override
+    public String toString() {
+        return "PackedBoard[low=0x" + Long.toHexString(low)
+                + ", high=0x" + Long.toHexString(high) + "]";
+    }
+
+    /**
+     * Validates that the array fits into two words.
+     */
+    private static void checkFits(int[] board) {
+        if (!fits(board.length)) {
+            throw new IllegalArgumentException(
+                    "Board must have at most " + MAX_POCKETS + " pockets");
+        }
+        for (int count : board) {
+            if (count < 0 || count > MAX_STONES_PER_POCKET) {
+                throw new IllegalArgumentException(
+                        "Pocket counts must be between 0 and " + MAX_STONES_PER_POCKET);
+            }
+        }
+    }
+
+    /**
+     * Packs up to eight pockets starting at {@code from} into one word,
+     * without validation. Only for callers whose boards are known to fit,
+     * such as MancalaGame's own undo snapshots.
+     */
+    static long packWord(int[] board, int from) {
+        long word = 0L;
+        int to = Math.min(board.length, from + POCKETS_PER_WORD);
+        for (int i = from; i < to; i++) {
+            word |= ((long) board[i]) << shiftOf(i);
+        }
+        return word;
+    }
+}
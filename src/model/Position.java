@@ -0,0 +1,574 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Lightweight, mutable sibling of MancalaGame for bots and simulations.
+ *
+ * A Position holds only what the rules need - the packed board, the side to
+ * move and the game over flag - in primitive fields. It has no undo history,
+ * no listeners and no messages, so copying one position into another is a
+ * handful of field writes and playing a move allocates nothing.
+ *
+ * Each position also carries its Zobrist key (see Zobrist), updated
+ * incrementally as moves are played.
+ *
+ * The rules and board indexing are exactly the same as in MancalaGame:
+ *   Player A: pits 0..5, store 6
+ *   Player B: pits 7..12, store 13
+ * (or the equivalent layout for another packable BoardGeometry).
+ */
+public final class Position {
+
+    /** Undo record fields (see makeMoveWithUndo). */
+    private static final long UNDO_CODE_MASK = 0xFFFFFFFFL;
+    private static final int UNDO_PIT_SHIFT = 32;
+    private static final int UNDO_STONES_SHIFT = 40;
+    private static final long UNDO_PLAYER_B = 1L << 48;
+
+    /** Shape of the board; must be packable. */
+    private final BoardGeometry geometry;
+
+    /** Values copied from the geometry for the hot paths. */
+    private final int totalPockets;
+    private final int storeA;
+    private final int storeB;
+    private final SowingTable sowingTable;
+    private final long pitMaskLow;
+    private final long pitMaskHigh;
+
+    /** Packed lanes for pockets 0..7. */
+    private long low;
+
+    /** Packed lanes for pockets 8..15. */
+    private long high;
+
+    /** Player whose turn it is. */
+    private Player sideToMove = Player.PLAYER_A;
+
+    /** True if the game is over and no more moves are allowed. */
+    private boolean gameOver = false;
+
+    /** Zobrist key of the pits and side to move. */
+    private long hash = Zobrist.sideKey(Player.PLAYER_A);
+
+    /**
+     * Words as they were just before the last end-of-game sweep, so
+     * unmakeMove can take the sweep back. Only one sweep can be pending at
+     * a time because no move is possible after the game ends.
+     */
+    private long sweptLow;
+    private long sweptHigh;
+
+    /**
+     * Creates an empty standard position (all pockets 0, Player A to move).
+     */
+    public Position() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    /**
+     * Creates an empty position on the given board (all pockets 0, Player A
+     * to move).
+     *
+     * @param geometry board shape; must fit in a PackedBoard
+     * @throws IllegalArgumentException if the geometry is not packable
+     */
+    public Position(BoardGeometry geometry) {
+        if (!geometry.isPackable()) {
+            throw new IllegalArgumentException(geometry + " is too large for a packed position");
+        }
+        this.geometry = geometry;
+        this.totalPockets = geometry.getTotalPockets();
+        this.storeA = geometry.getStoreA();
+        this.storeB = geometry.getStoreB();
+        this.sowingTable = geometry.getSowingTable();
+        this.pitMaskLow = geometry.pitMaskLow();
+        this.pitMaskHigh = geometry.pitMaskHigh();
+    }
+
+    /**
+     * Creates a copy of another position.
+     *
+     * @param other position to copy
+     */
+    public Position(Position other) {
+        this(other.geometry);
+        copyFrom(other);
+    }
+
+    /**
+     * Creates a position matching the current state of a game.
+     *
+     * @param game game to copy the board and turn from
+     * @return a new position
+     * @throws IllegalArgumentException if the game's geometry is not packable
+     */
+    public static Position from(MancalaGame game) {
+        Position position = new Position(game.getGeometry());
+        position.load(game);
+        return position;
+    }
+
+    /**
+     * Overwrites this position with the current state of a game without
+     * allocating.
+     *
+     * @param game game to copy the board and turn from
+     * @throws IllegalArgumentException if the game uses another geometry
+     */
+    public void load(MancalaGame game) {
+        if (game.getGeometry() != geometry) {
+            throw new IllegalArgumentException("game uses a different board geometry");
+        }
+        long newLow = 0L;
+        long newHigh = 0L;
+        for (int i = 0; i < totalPockets; i++) {
+            long lane = ((long) game.getStonesAt(i)) << PackedBoard.shiftOf(i);
+            if (i < PackedBoard.POCKETS_PER_WORD) {
+                newLow |= lane;
+            } else {
+                newHigh |= lane;
+            }
+        }
+        set(newLow, newHigh, game.getCurrentPlayer(), game.isGameOver());
+    }
+
+    /**
+     * Overwrites this position from raw packed words.
+     *
+     * @param low        lanes for pockets 0..7
+     * @param high       lanes for pockets 8..15
+     * @param sideToMove player whose turn it is
+     * @param gameOver   whether the game is over
+     */
+    public void set(long low, long high, Player sideToMove, boolean gameOver) {
+        this.low = low;
+        this.high = high;
+        this.sideToMove = sideToMove;
+        this.gameOver = gameOver;
+        this.hash = Zobrist.hash(geometry, low, high, sideToMove);
+    }
+
+    /**
+     * Copies another position on the same board into this one.
+     *
+     * @param other position to copy
+     * @throws IllegalArgumentException if the other position uses another geometry
+     */
+    public void copyFrom(Position other) {
+        if (other.geometry != geometry) {
+            throw new IllegalArgumentException("position uses a different board geometry");
+        }
+        this.low = other.low;
+        this.high = other.high;
+        this.sideToMove = other.sideToMove;
+        this.gameOver = other.gameOver;
+        this.hash = other.hash;
+    }
+
+    // ---------------------- Queries ----------------------
+
+    /**
+     * @return shape of the board.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @param index pocket index 0..13 (0..getTotalPockets()-1 in general)
+     * @return number of stones at that pocket
+     */
+    public int stonesAt(int index) {
+        return PackedBoard.stonesAt(low, high, index);
+    }
+
+    /**
+     * @return total number of stones left in the pits (stores excluded).
+     */
+    public int getPitStones() {
+        return sumLanes(low & pitMaskLow) + sumLanes(high & pitMaskHigh);
+    }
+
+    /**
+     * @return packed lanes for pockets 0..7.
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * @return packed lanes for pockets 8..15.
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * @return Zobrist key of the pits and side to move (stores are not hashed).
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return the board as an immutable packed value.
+     */
+    public PackedBoard getBoard() {
+        return new PackedBoard(low, high);
+    }
+
+    /**
+     * @return player whose turn it is.
+     */
+    public Player getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * @return true if the game is over.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * @param player player whose store to query
+     * @return number of stones in that player's store
+     */
+    public int getScore(Player player) {
+        return stonesAt(storeOf(player));
+    }
+
+    /**
+     * Same rules as MancalaGame.isValidMove.
+     *
+     * @param pitIndex pit chosen by the side to move
+     * @return true if the move is legal
+     */
+    public boolean isValidMove(int pitIndex) {
+        if (gameOver) {
+            return false;
+        }
+        return isOwnPit(pitIndex, sideToMove) && stonesAt(pitIndex) > 0;
+    }
+
+    /**
+     * Store difference (side to move minus opponent) that playing a pit
+     * would leave, counting any capture and the end-of-game sweep, without
+     * changing this position. Equal to the mover's store difference after
+     * makeMove, which is how searches score their last ply in bulk.
+     *
+     * @param pitIndex a legal move for the side to move (not checked)
+     * @return mover's store minus opponent's store after the move
+     */
+    public int scoreAfter(int pitIndex) {
+        Player player = sideToMove;
+        int myStore = storeOf(player);
+        SowingTable table = sowingTable;
+        int stones = stonesAt(pitIndex);
+
+        // The same closed-form sowing as sow(), on local copies of the words.
+        long cleared = ~(PackedBoard.LANE_MASK << PackedBoard.shiftOf(pitIndex));
+        long newLow = pitIndex < PackedBoard.POCKETS_PER_WORD ? low & cleared : low;
+        long newHigh = pitIndex < PackedBoard.POCKETS_PER_WORD ? high : high & cleared;
+        int laps = table.lapsOf(stones);
+        int rem = table.remainderOf(stones);
+        newLow += laps * table.lapLow(player) + table.prefixLow(pitIndex, rem);
+        newHigh += laps * table.lapHigh(player) + table.prefixHigh(pitIndex, rem);
+        int landing = table.landingPit(pitIndex, stones);
+
+        Player opponent = player.opposite();
+        int mine = PackedBoard.stonesAt(newLow, newHigh, myStore);
+        int theirs = PackedBoard.stonesAt(newLow, newHigh, storeOf(opponent));
+        int myPits = sumLanes(newLow & geometry.sideMaskLow(player))
+                + sumLanes(newHigh & geometry.sideMaskHigh(player));
+        int theirPits = sumLanes(newLow & geometry.sideMaskLow(opponent))
+                + sumLanes(newHigh & geometry.sideMaskHigh(opponent));
+
+        if (landing != myStore && isOwnPit(landing, player)
+                && PackedBoard.stonesAt(newLow, newHigh, landing) == 1) {
+            int oppositeStones = PackedBoard.stonesAt(newLow, newHigh, geometry.oppositeOf(landing));
+            if (oppositeStones > 0) {
+                mine += oppositeStones + 1;
+                myPits--;
+                theirPits -= oppositeStones;
+            }
+        }
+        if (myPits == 0 || theirPits == 0) {
+            mine += myPits;
+            theirs += theirPits;
+        }
+        return mine - theirs;
+    }
+
+    // ---------------------- Moves ----------------------
+
+    /**
+     * Plays a move for the side to move, following the same sowing, capture,
+     * free turn and game end rules as MancalaGame.makeMove.
+     *
+     * If the move is illegal the position is left unchanged.
+     *
+     * @param pitIndex pit chosen by the side to move
+     * @return the encoded outcome (see MoveCode), equal to what
+     *         MancalaGame.makeMoveCode returns for the same state
+     */
+    public int makeMove(int pitIndex) {
+        if (gameOver) {
+            return MoveCode.illegal(MoveCode.ERROR_GAME_OVER, true, null);
+        }
+        if (pitIndex < 0 || pitIndex >= totalPockets || pitIndex == storeA || pitIndex == storeB) {
+            return MoveCode.illegal(MoveCode.ERROR_INVALID_INDEX, false, sideToMove);
+        }
+        if (!isOwnPit(pitIndex, sideToMove)) {
+            return MoveCode.illegal(MoveCode.ERROR_NOT_OWN_PIT, false, sideToMove);
+        }
+        if (stonesAt(pitIndex) == 0) {
+            return MoveCode.illegal(MoveCode.ERROR_EMPTY_PIT, false, sideToMove);
+        }
+
+        long oldLow = low;
+        long oldHigh = high;
+        Player player = sideToMove;
+        int myStore = storeOf(player);
+        int currentIndex = sow(pitIndex, player);
+
+        boolean freeTurn = (currentIndex == myStore);
+        int capturedStones = 0;
+
+        if (!freeTurn && isOwnPit(currentIndex, player) && stonesAt(currentIndex) == 1) {
+            int oppositeIndex = geometry.oppositeOf(currentIndex);
+            int oppositeStones = stonesAt(oppositeIndex);
+            if (oppositeStones > 0) {
+                setStones(oppositeIndex, 0);
+                setStones(currentIndex, 0);
+                addStones(myStore, oppositeStones + 1);
+                capturedStones = oppositeStones;
+            }
+        }
+
+        if (isSideEmpty(Player.PLAYER_A) || isSideEmpty(Player.PLAYER_B)) {
+            sweptLow = low;
+            sweptHigh = high;
+            collectRemainingStones();
+            gameOver = true;
+        } else if (!freeTurn) {
+            sideToMove = player.opposite();
+            hash ^= Zobrist.sideKey(Player.PLAYER_A) ^ Zobrist.sideKey(Player.PLAYER_B);
+        }
+
+        // Sowing, capture and sweep only touch some lanes; rehash just those.
+        hash = Zobrist.update(hash, oldLow, low, pitMaskLow, 0);
+        hash = Zobrist.update(hash, oldHigh, high, pitMaskHigh, PackedBoard.POCKETS_PER_WORD);
+        return MoveCode.legal(freeTurn, capturedStones, gameOver,
+                gameOver ? null : sideToMove, currentIndex);
+    }
+
+    /**
+     * Plays a move like makeMove and returns an undo record that
+     * unmakeMove can use to take it back.
+     *
+     * Layout of the record:
+     *   bits  0..31  the MoveCode of the move (so isLegal etc. work on (int) record)
+     *   bits 32..39  source pit
+     *   bits 40..47  stones picked up
+     *   bit  48      set if Player B moved
+     *
+     * @param pitIndex pit chosen by the side to move
+     * @return the undo record; if the move was illegal the position is
+     *         unchanged and the record only holds the MoveCode
+     */
+    public long makeMoveWithUndo(int pitIndex) {
+        Player mover = sideToMove;
+        int stones = gameOver || pitIndex < 0 || pitIndex >= totalPockets ? 0 : stonesAt(pitIndex);
+        int code = makeMove(pitIndex);
+        if (!MoveCode.isLegal(code)) {
+            return code;
+        }
+        return (code & UNDO_CODE_MASK)
+                | ((long) pitIndex << UNDO_PIT_SHIFT)
+                | ((long) stones << UNDO_STONES_SHIFT)
+                | (mover == Player.PLAYER_B ? UNDO_PLAYER_B : 0L);
+    }
+
+    /**
+     * Takes back the move that produced the given record, restoring the
+     * exact previous pits, stores, side to move, game over flag and hash.
+     *
+     * Records must be undone in reverse order on the position that made
+     * them, with no set, load or copyFrom in between.
+     *
+     * @param record value returned by makeMoveWithUndo for a legal move
+     * @throws IllegalArgumentException if the record is for an illegal move
+     */
+    public void unmakeMove(long record) {
+        int code = (int) record;
+        if (!MoveCode.isLegal(code)) {
+            throw new IllegalArgumentException("record is not for a legal move");
+        }
+        int pitIndex = (int) (record >>> UNDO_PIT_SHIFT) & 0xFF;
+        int stones = (int) (record >>> UNDO_STONES_SHIFT) & 0xFF;
+        Player mover = (record & UNDO_PLAYER_B) != 0 ? Player.PLAYER_B : Player.PLAYER_A;
+        long oldLow = low;
+        long oldHigh = high;
+
+        if (MoveCode.isGameOver(code)) {
+            low = sweptLow;
+            high = sweptHigh;
+            gameOver = false;
+        }
+
+        int captured = MoveCode.capturedStones(code);
+        if (captured > 0) {
+            int landing = MoveCode.landingPit(code);
+            setStones(landing, 1);
+            setStones(geometry.oppositeOf(landing), captured);
+            addStones(storeOf(mover), -(captured + 1));
+        }
+
+        SowingTable table = sowingTable;
+        int laps = table.lapsOf(stones);
+        int rem = table.remainderOf(stones);
+        low -= laps * table.lapLow(mover) + table.prefixLow(pitIndex, rem);
+        high -= laps * table.lapHigh(mover) + table.prefixHigh(pitIndex, rem);
+        setStones(pitIndex, stones);
+
+        if (sideToMove != mover) {
+            sideToMove = mover;
+            hash ^= Zobrist.sideKey(Player.PLAYER_A) ^ Zobrist.sideKey(Player.PLAYER_B);
+        }
+        hash = Zobrist.update(hash, oldLow, low, pitMaskLow, 0);
+        hash = Zobrist.update(hash, oldHigh, high, pitMaskHigh, PackedBoard.POCKETS_PER_WORD);
+    }
+
+    // ---------------------- Value semantics ----------------------
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Position)) {
+            return false;
+        }
+        Position that = (Position) other;
+        return geometry == that.geometry && low == that.low && high == that.high
+                && sideToMove == that.sideToMove && gameOver == that.gameOver;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(low);
+        result = 31 * result + Long.hashCode(high);
+        result = 31 * result + sideToMove.ordinal();
+        return 31 * result + (gameOver ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Position[");
+        for (int i = 0; i < totalPockets; i++) {
+            if (i > 0) {
+                sb.append(i == storeA || i == storeA + 1 ? " | " : " ");
+            }
+            sb.append(stonesAt(i));
+        }
+        sb.append(", toMove=").append(sideToMove);
+        if (gameOver) {
+            sb.append(", gameOver");
+        }
+        return sb.append(']').toString();
+    }
+
+    // ---------------------- Internal helpers ----------------------
+
+    private int storeOf(Player player) {
+        return player == Player.PLAYER_A ? storeA : storeB;
+    }
+
+    /**
+     * Adds up the eight lanes of a word with one multiply: the top lane of
+     * the product collects every lane. Exact because no board holds more
+     * than 255 stones.
+     */
+    private static int sumLanes(long word) {
+        return (int) ((word * 0x0101010101010101L) >>> (Long.SIZE - PackedBoard.BITS_PER_POCKET));
+    }
+
+    private boolean isOwnPit(int index, Player player) {
+        if (player == Player.PLAYER_A) {
+            return index >= 0 && index < storeA;
+        }
+        return index > storeA && index < storeB;
+    }
+
+    /**
+     * Closed-form sowing on the packed words: one addition per word for the
+     * full laps and one for the partial lap, using SowingTable increments.
+     * No lane can overflow because a board never holds more than 255 stones.
+     *
+     * @return pocket where the last stone landed
+     */
+    private int sow(int pitIndex, Player player) {
+        SowingTable table = sowingTable;
+        int stones = stonesAt(pitIndex);
+        setStones(pitIndex, 0);
+
+        int laps = table.lapsOf(stones);
+        int rem = table.remainderOf(stones);
+        low += laps * table.lapLow(player) + table.prefixLow(pitIndex, rem);
+        high += laps * table.lapHigh(player) + table.prefixHigh(pitIndex, rem);
+        return table.landingPit(pitIndex, stones);
+    }
+
+    private void setStones(int index, int count) {
+        long cleared = ~(PackedBoard.LANE_MASK << PackedBoard.shiftOf(index));
+        long lane = ((long) count) << PackedBoard.shiftOf(index);
+        if (index < PackedBoard.POCKETS_PER_WORD) {
+            low = (low & cleared) | lane;
+        } else {
+            high = (high & cleared) | lane;
+        }
+    }
+
+    private void addStones(int index, int count) {
+        long lane = ((long) count) << PackedBoard.shiftOf(index);
+        if (index < PackedBoard.POCKETS_PER_WORD) {
+            low += lane;
+        } else {
+            high += lane;
+        }
+    }
+
+    /**
+     * A side is empty when all of its lanes are zero, which is one mask test
+     * per word.
+     */
+    private boolean isSideEmpty(Player player) {
+        return (low & geometry.sideMaskLow(player)) == 0
+                && (high & geometry.sideMaskHigh(player)) == 0;
+    }
+
+    /**
+     * Same end-of-game sweep as MancalaGame.collectRemainingStones.
+     */
+    private void collectRemainingStones() {
+        collectSide(0, storeA);
+        collectSide(storeA + 1, storeB);
+    }
+
+    private void collectSide(int firstPit, int store) {
+        int sum = 0;
+        for (int i = firstPit; i < store; i++) {
+            sum += stonesAt(i);
+            setStones(i, 0);
+        }
+        addStones(store, sum);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Differential self-check of the fast rule paths against their references,
+ * to be re-run whenever either side changes:
+ *
+ *   sowing    SowingMode.CLOSED_FORM against the original STEPWISE loop,
+ *             through whole random games on every board size and through
+ *             SowingTable directly on random boards with many laps.
+ *   unmake    Position.makeMoveWithUndo/unmakeMove on random walks that
+ *             go back and forth, against full snapshots of the position
+ *             and against a Zobrist key recomputed from scratch, and
+ *             Position.scoreAfter against the position makeMove leaves.
+ *
+ * Usage: java model.RulesCheck [games] [seed]
+ *
+ * Prints one line per check and exits with 1 if any of them failed.
+ */
+public final class RulesCheck {
+
+    /** Random boards per pit size in the direct SowingTable check. */
+    private static final int BOARDS_PER_SIZE = 20_000;
+
+    /** Steps (a make or an unmake) per random walk in the unmake check. */
+    private static final int STEPS_PER_WALK = 400;
+
+    private RulesCheck() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 2) {
+            System.err.println("Usage: java model.RulesCheck [games] [seed]");
+            System.exit(1);
+        }
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 151L;
+
+        boolean ok = checkSowingGames(games, new SplittableRandom(seed));
+        ok &= checkSowingTable(new SplittableRandom(seed + 1));
+        ok &= checkUnmake(games, new SplittableRandom(seed + 2));
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean report(String check, long cases, String failure) {
+        System.out.printf("%-40s %,12d cases: %s%n", check, cases, failure == null ? "ok" : "MISMATCH, " + failure);
+        return failure == null;
+    }
+
+    private static BoardGeometry randomGeometry(SplittableRandom random) {
+        return BoardGeometry.of(BoardGeometry.MIN_PITS_PER_SIDE + random.nextInt(
+                BoardGeometry.MAX_PITS_PER_SIDE - BoardGeometry.MIN_PITS_PER_SIDE + 1));
+    }
+
+    private static int randomMove(SplittableRandom random, BoardGeometry geometry, Player player,
+                                  int[] stonesAt) {
+        int first = geometry.firstPitOf(player);
+        int pit;
+        do {
+            pit = first + random.nextInt(geometry.getPitsPerSide());
+        } while (stonesAt[pit] == 0);
+        return pit;
+    }
+
+    // ---------------------- Sowing ----------------------
+
+    /**
+     * Plays the same random games in both sowing modes and compares the
+     * outcome of every move and the board after it.
+     */
+    private static boolean checkSowingGames(int games, SplittableRandom random) {
+        long moves = 0;
+        for (int g = 0; g < games; g++) {
+            BoardGeometry geometry = randomGeometry(random);
+            int stones = BoardGeometry.MIN_STONES_PER_PIT + random.nextInt(
+                    BoardGeometry.MAX_STONES_PER_PIT - BoardGeometry.MIN_STONES_PER_PIT + 1);
+            MancalaGame closed = new MancalaGame(geometry);
+            MancalaGame stepwise = new MancalaGame(geometry);
+            stepwise.setSowingMode(SowingMode.STEPWISE);
+            closed.initialize(stones);
+            stepwise.initialize(stones);
+
+            while (!closed.isGameOver()) {
+                int[] board = closed.getBoardSnapshot();
+                int pit = randomMove(random, geometry, closed.getCurrentPlayer(), board);
+                int expected = stepwise.makeMoveCode(pit);
+                int actual = closed.makeMoveCode(pit);
+                moves++;
+                if (actual != expected || !Arrays.equals(closed.getBoardSnapshot(), stepwise.getBoardSnapshot())
+                        || closed.getCurrentPlayer() != stepwise.getCurrentPlayer()
+                        || closed.isGameOver() != stepwise.isGameOver()) {
+                    return report("sowing modes, whole games", moves, geometry + ", " + stones
+                            + " stones, pit " + pit + " from " + Arrays.toString(board)
+                            + ": closed form " + MoveCode.describe(actual) + " "
+                            + Arrays.toString(closed.getBoardSnapshot()) + ", stepwise "
+                            + MoveCode.describe(expected) + " " + Arrays.toString(stepwise.getBoardSnapshot()));
+                }
+            }
+        }
+        return report("sowing modes, whole games", moves, null);
+    }
+
+    /**
+     * Sows every pit of random boards, some holding several laps' worth
+     * of stones, with both SowingTable methods.
+     */
+    private static boolean checkSowingTable(SplittableRandom random) {
+        long cases = 0;
+        for (int pits = BoardGeometry.MIN_PITS_PER_SIDE; pits <= BoardGeometry.MAX_PITS_PER_SIDE; pits++) {
+            BoardGeometry geometry = BoardGeometry.of(pits);
+            SowingTable table = geometry.getSowingTable();
+            int[] board = new int[geometry.getTotalPockets()];
+            int[] closed = new int[board.length];
+            int[] stepwise = new int[board.length];
+            for (int b = 0; b < BOARDS_PER_SIZE; b++) {
+                // Up to about four laps, so whole-lap additions are exercised.
+                int most = 1 + random.nextInt(4 * table.getCycleLength() + 2);
+                for (int i = 0; i < board.length; i++) {
+                    board[i] = random.nextInt(most + 1);
+                }
+                for (int pit = 0; pit < board.length; pit++) {
+                    if (geometry.isStore(pit) || board[pit] == 0) {
+                        continue;
+                    }
+                    System.arraycopy(board, 0, closed, 0, board.length);
+                    System.arraycopy(board, 0, stepwise, 0, board.length);
+                    int landed = table.sow(closed, pit);
+                    int expected = table.sowStepwise(stepwise, pit);
+                    cases++;
+                    if (landed != expected || !Arrays.equals(closed, stepwise)) {
+                        return report("SowingTable.sow vs sowStepwise", cases, geometry + ", pit " + pit
+                                + " from " + Arrays.toString(board) + ": landed " + landed + " "
+                                + Arrays.toString(closed) + ", stepwise " + expected + " "
+                                + Arrays.toString(stepwise));
+                    }
+                }
+            }
+        }
+        return report("SowingTable.sow vs sowStepwise", cases, null);
+    }
+
+    // ---------------------- Make and unmake ----------------------
+
+    /**
+     * Walks random games forward and back with makeMoveWithUndo and
+     * unmakeMove. Before each make the position is snapshotted; after the
+     * matching unmake the words, hash, side to move and game over flag
+     * must equal the snapshot. After every step the incremental hash must
+     * equal Zobrist.hash of the position, and every make must leave the
+     * same position as a plain makeMove on a copy, with the store
+     * difference that scoreAfter predicted.
+     */
+    private static boolean checkUnmake(int walks, SplittableRandom random) {
+        long steps = 0;
+        int[] stones = new int[BoardGeometry.MAX_PITS_PER_SIDE * 2 + 2];
+        for (int w = 0; w < walks; w++) {
+            BoardGeometry geometry;
+            do {
+                geometry = randomGeometry(random);
+            } while (!geometry.isPackable());
+            MancalaGame game = new MancalaGame(geometry);
+            game.initialize(BoardGeometry.MIN_STONES_PER_PIT + random.nextInt(
+                    BoardGeometry.MAX_STONES_PER_PIT - BoardGeometry.MIN_STONES_PER_PIT + 1));
+            Position position = Position.from(game);
+            Position plain = new Position(geometry);
+            Position[] snapshots = new Position[STEPS_PER_WALK];
+            long[] records = new long[STEPS_PER_WALK];
+            int depth = 0;
+
+            for (int step = 0; step < STEPS_PER_WALK; step++) {
+                boolean forward = depth == 0 || (!position.isGameOver() && random.nextInt(3) != 0);
+                String failure;
+                if (forward && !position.isGameOver()) {
+                    if (snapshots[depth] == null) {
+                        snapshots[depth] = new Position(geometry);
+                    }
+                    snapshots[depth].copyFrom(position);
+                    for (int i = 0; i < geometry.getTotalPockets(); i++) {
+                        stones[i] = position.stonesAt(i);
+                    }
+                    int pit = randomMove(random, geometry, position.getSideToMove(), stones);
+                    records[depth++] = position.makeMoveWithUndo(pit);
+                    Position before = snapshots[depth - 1];
+                    Player mover = before.getSideToMove();
+                    plain.copyFrom(before);
+                    plain.makeMove(pit);
+                    int difference = plain.getScore(mover) - plain.getScore(mover.opposite());
+                    failure = !MoveCode.isLegal((int) records[depth - 1]) ? "legal move " + pit + " rejected"
+                            : !same(position, plain) ? "make " + pit + " differs from makeMove: " + position
+                            + " vs " + plain
+                            : before.scoreAfter(pit) != difference ? "scoreAfter(" + pit + ") of " + before
+                            + " is " + before.scoreAfter(pit) + ", makeMove leaves " + difference : null;
+                } else if (depth > 0) {
+                    position.unmakeMove(records[--depth]);
+                    failure = same(position, snapshots[depth]) ? null
+                            : "unmake did not restore " + snapshots[depth] + ", got " + position;
+                } else {
+                    break;
+                }
+                steps++;
+                if (failure == null && position.getHash()
+                        != Zobrist.hash(geometry, position.getLow(), position.getHigh(), position.getSideToMove())) {
+                    failure = "incremental hash differs from a full recompute at " + position;
+                }
+                if (failure != null) {
+                    return report("makeMoveWithUndo/unmakeMove", steps, geometry + ": " + failure);
+                }
+            }
+        }
+        return report("makeMoveWithUndo/unmakeMove", steps, null);
+    }
+
+    /**
+     * @return true if both positions have the same words, side to move,
+     *         game over flag and hash
+     */
+    private static boolean same(Position a, Position b) {
+        return a.equals(b) && a.getHash() == b.getHash();
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Selects how MancalaGame distributes the stones of a move.
+ *
+ * Both modes produce exactly the same board; STEPWISE is the original
+ * one-pocket-per-stone loop and is kept as a reference for checking the
+ * closed-form implementation.
+ */
+public enum SowingMode {
+    /** Full laps and the landing pit are computed from SowingTable (default). */
+    CLOSED_FORM,
+
+    /** Walks one pocket per stone, as the original implementation did. */
+    STEPWISE
+}
@@ -0,0 +1,250 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Precomputed sowing tables that let a move be applied in closed form.
+ *
+ * Sowing from a pit visits the other pockets in a fixed cycle that skips the
+ * opponent's store. On a 14-pocket board that cycle has 13 entries, so a pit
+ * holding n stones gives every pocket on the cycle n / 13 full laps, and the
+ * first n % 13 pockets of the cycle one extra stone. The last stone lands on
+ * entry (n - 1) % 13 of the cycle.
+ *
+ * For every pit (a pit determines its owner, so per-pit tables are also
+ * per-player) this class stores:
+ *   - the order in which pockets are visited
+ *   - the packed lane increments for one full lap and for each partial lap,
+ *     so a Position can sow with two additions per word
+ *
+ * Applying a move therefore costs O(pockets) instead of O(stones).
+ *
+ * Each BoardGeometry owns one table; the packed increments are only filled
+ * in for geometries that fit in a PackedBoard.
+ */
+public final class SowingTable {
+
+    private final int totalPockets;
+    private final int storeA;
+    private final int storeB;
+
+    /** Pockets visited per lap (every pocket except the opponent's store). */
+    private final int cycle;
+
+    /** path[pit * cycle + k] is the k-th pocket sown from pit. */
+    private final int[] path;
+
+    /** Packed increment for one full lap, indexed by player ordinal. */
+    private final long[] lapLow = new long[2];
+    private final long[] lapHigh = new long[2];
+
+    /** Packed increment for the first r pockets sown from pit: [pit * cycle + r]. */
+    private final long[] prefixLow;
+    private final long[] prefixHigh;
+
+    /** n / cycle and n % cycle for every possible pocket count n, to avoid dividing. */
+    private final int[] lapsByCount = new int[PackedBoard.MAX_STONES_PER_POCKET + 1];
+    private final int[] remainderByCount = new int[PackedBoard.MAX_STONES_PER_POCKET + 1];
+
+    /**
+     * Builds the tables for a board with the given number of pits per side.
+     *
+     * @param pitsPerSide pits on each side of the board
+     */
+    SowingTable(int pitsPerSide) {
+        this.storeA = pitsPerSide;
+        this.storeB = pitsPerSide * 2 + 1;
+        this.totalPockets = storeB + 1;
+        this.cycle = totalPockets - 1;
+        this.path = new int[totalPockets * cycle];
+        this.prefixLow = new long[totalPockets * cycle];
+        this.prefixHigh = new long[totalPockets * cycle];
+
+        for (int n = 0; n <= PackedBoard.MAX_STONES_PER_POCKET; n++) {
+            lapsByCount[n] = n / cycle;
+            remainderByCount[n] = n % cycle;
+        }
+
+        boolean packable = PackedBoard.fits(totalPockets);
+        for (int player = 0; player < 2; player++) {
+            int opponentStore = player == 0 ? storeB : storeA;
+            for (int i = 0; i < totalPockets && packable; i++) {
+                if (i != opponentStore) {
+                    addLane(lapLow, lapHigh, player, i);
+                }
+            }
+        }
+
+        for (int pit = 0; pit < totalPockets; pit++) {
+            if (pit == storeA || pit == storeB) {
+                continue;
+            }
+            int opponentStore = pit < storeA ? storeB : storeA;
+            int base = pit * cycle;
+            int current = pit;
+            long low = 0L;
+            long high = 0L;
+            for (int k = 0; k < cycle; k++) {
+                prefixLow[base + k] = low;
+                prefixHigh[base + k] = high;
+                current = (current + 1) % totalPockets;
+                if (current == opponentStore) {
+                    current = (current + 1) % totalPockets;
+                }
+                path[base + k] = current;
+                if (packable) {
+                    long lane = 1L << PackedBoard.shiftOf(current);
+                    if (current < PackedBoard.POCKETS_PER_WORD) {
+                        low += lane;
+                    } else {
+                        high += lane;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of pockets visited in one full lap.
+     */
+    public int getCycleLength() {
+        return cycle;
+    }
+
+    /**
+     * @param pit   pit the stones were picked up from
+     * @param step  0-based sowing step (wraps around every lap)
+     * @return pocket that receives the stone sown at that step
+     */
+    public int pocketAt(int pit, int step) {
+        return path[pit * cycle + step % cycle];
+    }
+
+    /**
+     * @param pit    pit the stones were picked up from
+     * @param stones number of stones picked up (at least 1)
+     * @return pocket where the last stone lands
+     */
+    public int landingPit(int pit, int stones) {
+        return path[pit * cycle + remainderByCount[stones - 1]];
+    }
+
+    /**
+     * Sows the stones of {@code pit} in closed form: full laps are added to
+     * every pocket on the cycle at once, then the partial lap is applied.
+     * The caller is responsible for validating the move.
+     *
+     * @param board board array to modify
+     * @param pit   pit to pick up and sow
+     * @return pocket where the last stone landed
+     */
+    public int sow(int[] board, int pit) {
+        int stones = board[pit];
+        board[pit] = 0;
+
+        int laps = stones / cycle;
+        int rem = stones - laps * cycle;
+        int base = pit * cycle;
+
+        if (laps > 0) {
+            int opponentStore = pit < storeA ? storeB : storeA;
+            for (int i = 0; i < totalPockets; i++) {
+                if (i != opponentStore) {
+                    board[i] += laps;
+                }
+            }
+        }
+        for (int k = 0; k < rem; k++) {
+            board[path[base + k]]++;
+        }
+        return path[base + (stones - 1) % cycle];
+    }
+
+    /**
+     * Reference implementation that walks one pocket per stone, exactly as
+     * MancalaGame originally did. Kept for SowingMode.STEPWISE.
+     *
+     * @param board board array to modify
+     * @param pit   pit to pick up and sow
+     * @return pocket where the last stone landed
+     */
+    public int sowStepwise(int[] board, int pit) {
+        int stonesInHand = board[pit];
+        board[pit] = 0;
+
+        int currentIndex = pit;
+        int opponentStore = pit < storeA ? storeB : storeA;
+        while (stonesInHand > 0) {
+            currentIndex = (currentIndex + 1) % totalPockets;
+            if (currentIndex == opponentStore) {
+                continue;
+            }
+            board[currentIndex]++;
+            stonesInHand--;
+        }
+        return currentIndex;
+    }
+
+    /**
+     * @param stones pocket count (0..255)
+     * @return number of full laps sowing that many stones makes
+     */
+    int lapsOf(int stones) {
+        return lapsByCount[stones];
+    }
+
+    /**
+     * @param stones pocket count (0..255)
+     * @return stones left over for the partial lap
+     */
+    int remainderOf(int stones) {
+        return remainderByCount[stones];
+    }
+
+    /**
+     * @param player player who sows
+     * @return packed low-word increment for one full lap
+     */
+    long lapLow(Player player) {
+        return lapLow[player.ordinal()];
+    }
+
+    /**
+     * @param player player who sows
+     * @return packed high-word increment for one full lap
+     */
+    long lapHigh(Player player) {
+        return lapHigh[player.ordinal()];
+    }
+
+    /**
+     * @param pit pit the stones were picked up from
+     * @param rem stones in the partial lap (0..cycle-1)
+     * @return packed low-word increment for the partial lap
+     */
+    long prefixLow(int pit, int rem) {
+        return prefixLow[pit * cycle + rem];
+    }
+
+    /**
+     * @param pit pit the stones were picked up from
+     * @param rem stones in the partial lap (0..cycle-1)
+     * @return packed high-word increment for the partial lap
+     */
+    long prefixHigh(int pit, int rem) {
+        return prefixHigh[pit * cycle + rem];
+    }
+
+    private static void addLane(long[] low, long[] high, int player, int pocket) {
+        long lane = 1L << PackedBoard.shiftOf(pocket);
+        if (pocket < PackedBoard.POCKETS_PER_WORD) {
+            low[player] += lane;
+        } else {
+            high[player] += lane;
+        }
+    }
+}
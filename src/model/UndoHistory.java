@@ -0,0 +1,128 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+/**
+ * Fixed-capacity stack of undo snapshots kept in preallocated primitive
+ * arrays, used by MancalaGame instead of a Deque of GameState objects.
+ *
+ * Boards that fit are stored as two packed longs (see PackedBoard); larger
+ * boards are copied into one flat int[] with a row per slot. The current
+ * player and game over flag are kept in a byte per slot. Pushing and
+ * popping allocate nothing, and the memory per game is constant.
+ *
+ * When the buffer is full, a push overwrites the oldest snapshot. That can
+ * never be observed through MancalaGame.undo: an undo must be preceded by
+ * a move, and every move pushes, so only the newest snapshot is ever popped
+ * and a capacity of two or more behaves exactly like an unbounded stack.
+ */
+final class UndoHistory {
+
+    private static final int GAME_OVER_BIT = 1;
+    private static final int PLAYER_B_BIT = 2;
+
+    private final int capacity;
+    private final int pockets;
+    private final boolean packed;
+
+    private final long[] lows;
+    private final long[] highs;
+    private final int[] boards;
+    private final byte[] flags;
+
+    /** Slot the next push writes to. */
+    private int top;
+
+    /** Number of snapshots held (at most capacity). */
+    private int size;
+
+    /**
+     * @param capacity number of snapshots kept (at least 2)
+     * @param pockets  board length of the game
+     */
+    UndoHistory(int capacity, int pockets) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.capacity = capacity;
+        this.pockets = pockets;
+        this.packed = PackedBoard.fits(pockets);
+        this.lows = packed ? new long[capacity] : null;
+        this.highs = packed ? new long[capacity] : null;
+        this.boards = packed ? null : new int[capacity * pockets];
+        this.flags = new byte[capacity];
+    }
+
+    /**
+     * Stores a snapshot, overwriting the oldest one if full.
+     *
+     * @param board         board array to copy
+     * @param currentPlayer player whose turn it is
+     * @param gameOver      whether the game is over
+     */
+    void push(int[] board, Player currentPlayer, boolean gameOver) {
+        int slot = top;
+        if (packed) {
+            lows[slot] = PackedBoard.packWord(board, 0);
+            highs[slot] = PackedBoard.packWord(board, PackedBoard.POCKETS_PER_WORD);
+        } else {
+            System.arraycopy(board, 0, boards, slot * pockets, pockets);
+        }
+        flags[slot] = (byte) ((gameOver ? GAME_OVER_BIT : 0)
+                | (currentPlayer == Player.PLAYER_B ? PLAYER_B_BIT : 0));
+        top = slot + 1 == capacity ? 0 : slot + 1;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes the newest snapshot and writes its board into dest. Its
+     * player and game over flag are then read with poppedPlayer and
+     * poppedGameOver.
+     *
+     * @param dest board array to overwrite
+     * @throws IllegalStateException if the history is empty
+     */
+    void pop(int[] dest) {
+        if (size == 0) {
+            throw new IllegalStateException("undo history is empty");
+        }
+        top = top == 0 ? capacity - 1 : top - 1;
+        size--;
+        if (packed) {
+            PackedBoard.unpack(lows[top], highs[top], dest);
+        } else {
+            System.arraycopy(boards, top * pockets, dest, 0, pockets);
+        }
+    }
+
+    /**
+     * @return current player of the snapshot removed by the last pop.
+     */
+    Player poppedPlayer() {
+        return (flags[top] & PLAYER_B_BIT) != 0 ? Player.PLAYER_B : Player.PLAYER_A;
+    }
+
+    /**
+     * @return game over flag of the snapshot removed by the last pop.
+     */
+    boolean poppedGameOver() {
+        return (flags[top] & GAME_OVER_BIT) != 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Drops every snapshot. The arrays are kept for reuse.
+     */
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for Mancala positions.
+ *
+ * A position's key is the XOR of one random 64-bit value per (pit, stone
+ * count) pair plus one more when Player B is to move. Stores are not
+ * hashed: what happens for the rest of the game depends only on the pits
+ * and the side to move, so positions that differ only in their store counts
+ * share a key and a search can reuse one result for all of them (scores are
+ * kept relative to the current store difference).
+ *
+ * The key for an empty pit is 0, so unused lanes never affect a hash, and
+ * the values come from a fixed seed, so keys are stable across runs (books
+ * and tables written to disk stay valid).
+ *
+ * Position keeps its key up to date incrementally: after each move only the
+ * lanes whose count changed are XORed out and back in (see
+ * {@link #update(long, long, long, long, int)}).
+ */
+public final class Zobrist {
+
+    /** Seed for the key table; changing it invalidates saved keys. */
+    private static final long SEED = 0x4D414E43414C41L;
+
+    /** Number of distinct stone counts a pocket can hold. */
+    private static final int COUNTS = PackedBoard.MAX_STONES_PER_POCKET + 1;
+
+    /** PIT_KEYS[pocket * COUNTS + stones]; zero for stones == 0. */
+    private static final long[] PIT_KEYS = new long[PackedBoard.MAX_POCKETS * COUNTS];
+
+    /** XORed in when Player B is to move. */
+    private static final long SIDE_B_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int pocket = 0; pocket < PackedBoard.MAX_POCKETS; pocket++) {
+            for (int stones = 1; stones < COUNTS; stones++) {
+                PIT_KEYS[pocket * COUNTS + stones] = random.nextLong();
+            }
+        }
+        SIDE_B_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param pocket pocket index 0..15
+     * @param stones stone count 0..255
+     * @return key contributed by that pocket holding that many stones
+     */
+    public static long pitKey(int pocket, int stones) {
+        return PIT_KEYS[pocket * COUNTS + stones];
+    }
+
+    /**
+     * @param player side to move
+     * @return key contributed by the side to move (0 for Player A)
+     */
+    public static long sideKey(Player player) {
+        return player == Player.PLAYER_B ? SIDE_B_KEY : 0L;
+    }
+
+    /**
+     * Computes a key from scratch.
+     *
+     * @param geometry   board shape (selects which lanes are pits)
+     * @param low        packed lanes for pockets 0..7
+     * @param high       packed lanes for pockets 8..15
+     * @param sideToMove player whose turn it is
+     * @return the Zobrist key
+     */
+    public static long hash(BoardGeometry geometry, long low, long high, Player sideToMove) {
+        long key = sideKey(sideToMove);
+        key = update(key, 0L, low, geometry.pitMaskLow(), 0);
+        return update(key, 0L, high, geometry.pitMaskHigh(), PackedBoard.POCKETS_PER_WORD);
+    }
+
+    /**
+     * Moves a key from one packed word to another by XORing out the old
+     * count and XORing in the new one for every lane that changed.
+     *
+     * @param key         key before the change
+     * @param oldWord     packed word before the change
+     * @param newWord     packed word after the change
+     * @param laneMask    lanes to consider (the pits; stores are skipped)
+     * @param firstPocket pocket index of the word's lowest lane
+     * @return key after the change
+     */
+    static long update(long key, long oldWord, long newWord, long laneMask, int firstPocket) {
+        long changed = (oldWord ^ newWord) & laneMask;
+        while (changed != 0) {
+            int shift = Long.numberOfTrailingZeros(changed) & ~(PackedBoard.BITS_PER_POCKET - 1);
+            int pocket = firstPocket + shift / PackedBoard.BITS_PER_POCKET;
+            int before = (int) ((oldWord >>> shift) & PackedBoard.LANE_MASK);
+            int after = (int) ((newWord >>> shift) & PackedBoard.LANE_MASK);
+            key ^= PIT_KEYS[pocket * COUNTS + before] ^ PIT_KEYS[pocket * COUNTS + after];
+            changed &= ~(PackedBoard.LANE_MASK << shift);
+        }
+        return key;
+    }
+}
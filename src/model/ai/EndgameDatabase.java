@@ -0,0 +1,142 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import model.BoardGeometry;
+import model.Player;
+import model.Position;
+
+/**
+ * Read-only view of an endgame database written by EndgameGenerator.
+ *
+ * The file is memory-mapped, so a lookup ranks the position's pits and
+ * reads one byte straight from the page cache: no heap copy of the table
+ * is ever made. The stored value is the exact result of perfect play from
+ * the position, as the side to move's future store gain minus the
+ * opponent's, including the end-of-game sweep (collectRemainingStones).
+ * Add the current store difference to get the final score.
+ *
+ * A database whose generation was interrupted is still usable: it covers
+ * the layers that were finished.
+ *
+ * Lookups are safe from any number of threads.
+ */
+public final class EndgameDatabase implements AutoCloseable {
+
+    /** Returned by lookup when the position is not covered. */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final EndgameIndex index;
+
+    /** Largest pit stone count with a finished layer, or -1 if none. */
+    private final int coveredStones;
+
+    private EndgameDatabase(FileChannel channel, MappedByteBuffer buffer, EndgameIndex index,
+                            int coveredStones) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.index = index;
+        this.coveredStones = coveredStones;
+    }
+
+    /**
+     * Opens and maps a database file.
+     *
+     * @param file database written by EndgameGenerator
+     * @return the database
+     * @throws IOException if the file cannot be read or is not a database
+     */
+    public static EndgameDatabase open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < EndgameIndex.HEADER_SIZE) {
+                throw new IOException(file + " is not an endgame database");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getLong(EndgameIndex.OFFSET_MAGIC) != EndgameIndex.MAGIC
+                    || buffer.getInt(EndgameIndex.OFFSET_VERSION) != EndgameIndex.VERSION) {
+                throw new IOException(file + " is not an endgame database");
+            }
+            int pitsPerSide = buffer.getInt(EndgameIndex.OFFSET_PITS_PER_SIDE);
+            int maxStones = buffer.getInt(EndgameIndex.OFFSET_MAX_STONES);
+            int completed = buffer.getInt(EndgameIndex.OFFSET_COMPLETED_LAYERS);
+
+            EndgameIndex index = new EndgameIndex(BoardGeometry.of(pitsPerSide), maxStones);
+            if (channel.size() < index.fileSize() || completed < 0 || completed > maxStones + 1) {
+                throw new IOException(file + " is truncated or corrupt");
+            }
+            return new EndgameDatabase(channel, buffer, index, completed - 1);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return board shape the database was built for.
+     */
+    public BoardGeometry getGeometry() {
+        return index.getGeometry();
+    }
+
+    /**
+     * @return largest number of pit stones covered (-1 if nothing is covered).
+     */
+    public int getMaxStones() {
+        return coveredStones;
+    }
+
+    /**
+     * @param position position to check
+     * @return true if the database holds a value for it
+     */
+    public boolean covers(Position position) {
+        return position.getGeometry() == index.getGeometry()
+                && position.getPitStones() <= coveredStones;
+    }
+
+    /**
+     * Looks up the exact value of a position.
+     *
+     * @param position position to look up (game over positions score 0)
+     * @return side to move's future store gain minus the opponent's under
+     *         perfect play, or NOT_FOUND if the position is not covered
+     */
+    public int lookup(Position position) {
+        if (position.getGeometry() != index.getGeometry()) {
+            return NOT_FOUND;
+        }
+        int n = position.getPitStones();
+        if (n > coveredStones) {
+            return NOT_FOUND;
+        }
+        long rank = index.rank(position, n);
+        return buffer.get(index.offsetOf(n, rank, position.getSideToMove() == Player.PLAYER_B));
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when it is garbage
+     * collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "EndgameDatabase[" + index.getGeometry() + ", stones<=" + coveredStones + "]";
+    }
+}
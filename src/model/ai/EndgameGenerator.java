@@ -0,0 +1,332 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import model.BoardGeometry;
+import model.PackedBoard;
+import model.Player;
+import model.Position;
+
+/**
+ * Builds an endgame database by retrograde analysis.
+ *
+ * Every position with at most K stones left in the pits is solved exactly.
+ * Stones never leave a store, so a move either puts at least one stone in a
+ * store (the child has fewer pit stones and sits in an earlier layer) or
+ * keeps every stone on the mover's side, moving each sown stone closer to
+ * the mover's store. The second case strictly lowers the position's total
+ * "distance to own store", so solving layer n in order of increasing
+ * distance guarantees every child is already known. No iteration to a fixed
+ * point is needed.
+ *
+ * Positions of equal distance never depend on each other, so each distance
+ * bucket is split into chunks and solved in parallel.
+ *
+ * Generation works directly on the memory-mapped output file. After each
+ * layer the file is flushed and the header's completed-layer count is
+ * advanced, so an interrupted run picks up from the first unfinished layer
+ * when started again with the same arguments.
+ */
+public final class EndgameGenerator {
+
+    /** Buckets smaller than this are solved on the calling thread. */
+    private static final int MIN_PARALLEL_BUCKET = 4096;
+
+    /** Chunks per thread for each parallel bucket, for load balancing. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final EndgameIndex index;
+    private final BoardGeometry geometry;
+    private final int threads;
+
+    /**
+     * Creates a generator.
+     *
+     * @param geometry  board shape (must be packable)
+     * @param maxStones largest number of pit stones to solve (K)
+     * @param threads   worker threads to use (at least 1)
+     * @throws IllegalArgumentException if the arguments are out of range or
+     *                                  the file would exceed 2 GB
+     */
+    public EndgameGenerator(BoardGeometry geometry, int maxStones, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.index = new EndgameIndex(geometry, maxStones);
+        this.geometry = geometry;
+        this.threads = threads;
+    }
+
+    /**
+     * @return size in bytes of the finished database file.
+     */
+    public long getFileSize() {
+        return index.fileSize();
+    }
+
+    /**
+     * Generates (or finishes generating) the database in the given file.
+     *
+     * @param file          output file; an unfinished file from an earlier
+     *                      run with the same arguments is resumed
+     * @param layerListener called with n after layer n has been written
+     *                      (may be null)
+     * @throws IOException if the file cannot be written or belongs to a
+     *                     different database
+     */
+    public void generate(Path file, IntConsumer layerListener) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean fresh = channel.size() == 0;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, index.fileSize());
+            if (fresh) {
+                writeHeader(buffer);
+            } else {
+                checkHeader(buffer, file);
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                int completed = buffer.getInt(EndgameIndex.OFFSET_COMPLETED_LAYERS);
+                for (int n = completed; n <= index.getMaxStones(); n++) {
+                    solveLayer(buffer, n, pool);
+                    buffer.force();
+                    buffer.putInt(EndgameIndex.OFFSET_COMPLETED_LAYERS, n + 1);
+                    buffer.force();
+                    if (layerListener != null) {
+                        layerListener.accept(n);
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private void writeHeader(MappedByteBuffer buffer) {
+        buffer.putLong(EndgameIndex.OFFSET_MAGIC, EndgameIndex.MAGIC);
+        buffer.putInt(EndgameIndex.OFFSET_VERSION, EndgameIndex.VERSION);
+        buffer.putInt(EndgameIndex.OFFSET_PITS_PER_SIDE, geometry.getPitsPerSide());
+        buffer.putInt(EndgameIndex.OFFSET_MAX_STONES, index.getMaxStones());
+        buffer.putInt(EndgameIndex.OFFSET_COMPLETED_LAYERS, 0);
+        buffer.force();
+    }
+
+    private void checkHeader(MappedByteBuffer buffer, Path file) throws IOException {
+        if (buffer.getLong(EndgameIndex.OFFSET_MAGIC) != EndgameIndex.MAGIC
+                || buffer.getInt(EndgameIndex.OFFSET_VERSION) != EndgameIndex.VERSION) {
+            throw new IOException(file + " exists and is not an endgame database");
+        }
+        if (buffer.getInt(EndgameIndex.OFFSET_PITS_PER_SIDE) != geometry.getPitsPerSide()
+                || buffer.getInt(EndgameIndex.OFFSET_MAX_STONES) != index.getMaxStones()) {
+            throw new IOException(file + " was started with different settings");
+        }
+    }
+
+    // ---------------------- Layer solving ----------------------
+
+    /**
+     * Solves every position with exactly n pit stones, in order of
+     * increasing distance to the movers' stores.
+     */
+    private void solveLayer(MappedByteBuffer buffer, int n, ExecutorService pool) throws IOException {
+        int size = (int) index.layerSize(n);
+        int maxDistance = n * geometry.getPitsPerSide();
+
+        // Counting sort of the layer's ranks by distance.
+        int[] distance = new int[size];
+        int[] bucketStart = new int[maxDistance + 2];
+        int[] counts = new int[index.getPits()];
+        for (int rank = 0; rank < size; rank++) {
+            index.unrank(rank, n, counts);
+            int d = distanceOf(counts);
+            distance[rank] = d;
+            bucketStart[d + 1]++;
+        }
+        for (int d = 0; d <= maxDistance; d++) {
+            bucketStart[d + 1] += bucketStart[d];
+        }
+        int[] order = new int[size];
+        int[] next = bucketStart.clone();
+        for (int rank = 0; rank < size; rank++) {
+            order[next[distance[rank]]++] = rank;
+        }
+
+        for (int d = 0; d <= maxDistance; d++) {
+            int from = bucketStart[d];
+            int to = bucketStart[d + 1];
+            if (to - from < MIN_PARALLEL_BUCKET || threads == 1) {
+                new Worker(buffer, n, order).solve(from, to);
+                continue;
+            }
+            int chunk = Math.max(1, (to - from) / (threads * CHUNKS_PER_THREAD));
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int start = from; start < to; start += chunk) {
+                int chunkFrom = start;
+                int chunkTo = Math.min(to, start + chunk);
+                tasks.add(() -> {
+                    new Worker(buffer, n, order).solve(chunkFrom, chunkTo);
+                    return null;
+                });
+            }
+            runAll(pool, tasks);
+        }
+    }
+
+    /**
+     * Sum over stones of how many pockets each is from its owner's store.
+     */
+    private int distanceOf(int[] counts) {
+        int pitsPerSide = geometry.getPitsPerSide();
+        int total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int fromStore = pitsPerSide - (i < pitsPerSide ? i : i - pitsPerSide);
+            total += counts[i] * fromStore;
+        }
+        return total;
+    }
+
+    private static void runAll(ExecutorService pool, List<Callable<Void>> tasks) throws IOException {
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("endgame generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("endgame worker failed", e.getCause());
+        }
+    }
+
+    /**
+     * Per-task scratch state. The mapped buffer is shared; each position's
+     * byte is written by exactly one task, and tasks of one bucket only read
+     * bytes written by earlier buckets.
+     */
+    private final class Worker {
+        private final MappedByteBuffer buffer;
+        private final int n;
+        private final int[] order;
+        private final int[] counts = new int[index.getPits()];
+        private final Position position = new Position(geometry);
+        private final Position child = new Position(geometry);
+
+        Worker(MappedByteBuffer buffer, int n, int[] order) {
+            this.buffer = buffer;
+            this.n = n;
+            this.order = order;
+        }
+
+        void solve(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int rank = order[i];
+                index.unrank(rank, n, counts);
+                long low = 0L;
+                long high = 0L;
+                int sideA = 0;
+                int sideB = 0;
+                for (int p = 0; p < counts.length; p++) {
+                    int board = index.boardIndexOf(p);
+                    long lane = ((long) counts[p]) << ((board % PackedBoard.POCKETS_PER_WORD)
+                            * PackedBoard.BITS_PER_POCKET);
+                    if (board < PackedBoard.POCKETS_PER_WORD) {
+                        low |= lane;
+                    } else {
+                        high |= lane;
+                    }
+                    if (p < geometry.getPitsPerSide()) {
+                        sideA += counts[p];
+                    } else {
+                        sideB += counts[p];
+                    }
+                }
+
+                for (Player mover : Player.values()) {
+                    int value;
+                    if (sideA == 0 || sideB == 0) {
+                        // The game is over: each side sweeps its own pits.
+                        value = mover == Player.PLAYER_A ? sideA - sideB : sideB - sideA;
+                    } else {
+                        position.set(low, high, mover, false);
+                        value = solvePosition(mover);
+                    }
+                    buffer.put(index.offsetOf(n, rank, mover == Player.PLAYER_B), (byte) value);
+                }
+            }
+        }
+
+        /**
+         * Best future store gain difference for the mover, from children
+         * that are already solved. Stores start at zero in every position
+         * solved here, so after a move they hold exactly that move's gain.
+         */
+        private int solvePosition(Player mover) {
+            Player opponent = mover.opposite();
+            int first = geometry.firstPitOf(mover);
+            int best = Integer.MIN_VALUE;
+            for (int pit = first; pit < first + geometry.getPitsPerSide(); pit++) {
+                if (position.stonesAt(pit) == 0) {
+                    continue;
+                }
+                child.copyFrom(position);
+                child.makeMove(pit);
+                int value = child.getScore(mover) - child.getScore(opponent);
+                if (!child.isGameOver()) {
+                    int m = child.getPitStones();
+                    int offset = index.offsetOf(m, index.rank(child, m),
+                            child.getSideToMove() == Player.PLAYER_B);
+                    int rest = buffer.get(offset);
+                    value += child.getSideToMove() == mover ? rest : -rest;
+                }
+                best = Math.max(best, value);
+            }
+            return best;
+        }
+    }
+
+    // ---------------------- Command line ----------------------
+
+    /**
+     * Usage: java model.ai.EndgameGenerator file [maxStones] [threads] [pitsPerSide]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java model.ai.EndgameGenerator file [maxStones] [threads] [pitsPerSide]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        int maxStones = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        BoardGeometry geometry = args.length > 3
+                ? BoardGeometry.of(Integer.parseInt(args[3])) : BoardGeometry.STANDARD;
+
+        EndgameGenerator generator = new EndgameGenerator(geometry, maxStones, threads);
+        System.out.printf("Generating %s: %s, up to %d pit stones, %d threads, %d bytes%n",
+                file, geometry, maxStones, threads, generator.getFileSize());
+        long start = System.nanoTime();
+        generator.generate(file, n -> System.out.printf("  layer %2d done after %.1f s%n",
+                n, (System.nanoTime() - start) / 1e9));
+        System.out.println("Done.");
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import model.BoardGeometry;
+import model.Position;
+
+/**
+ * Indexing scheme and file layout shared by EndgameGenerator and
+ * EndgameDatabase.
+ *
+ * A position is identified by its pit contents and side to move; stores
+ * are not part of it. The positions with exactly n stones in P pits are the
+ * compositions of n into P parts, and each is given a dense rank in
+ * 0..C(n+P-1, P-1)-1 with the combinatorial number system (lexicographic
+ * in pit order). Layer n holds every composition of n, two bytes per rank
+ * (Player A to move, then Player B). Layers are stored one after another,
+ * so the whole file for at most K stones is 2 * C(K+P, P) bytes after the
+ * header.
+ *
+ * Header (HEADER_SIZE bytes, big-endian):
+ *   0  magic "MNCLEGDB"
+ *   8  format version
+ *   12 pits per side
+ *   16 maximum stones K
+ *   20 number of completed layers (layers 0..n-1 are final)
+ */
+final class EndgameIndex {
+
+    static final long MAGIC = 0x4D4E434C45474442L;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_VERSION = 8;
+    static final int OFFSET_PITS_PER_SIDE = 12;
+    static final int OFFSET_MAX_STONES = 16;
+    static final int OFFSET_COMPLETED_LAYERS = 20;
+
+    private final BoardGeometry geometry;
+    private final int pits;
+    private final int maxStones;
+
+    /** binomial[a][b] = C(a, b) for a <= maxStones + pits, b <= pits. */
+    private final long[][] binomial;
+
+    /** Byte offset of each layer in the file, plus the total file size at [maxStones + 1]. */
+    private final long[] layerOffset;
+
+    EndgameIndex(BoardGeometry geometry, int maxStones) {
+        if (!geometry.isPackable()) {
+            throw new IllegalArgumentException(geometry + " is too large for an endgame database");
+        }
+        if (maxStones < 0) {
+            throw new IllegalArgumentException("maxStones must not be negative");
+        }
+        this.geometry = geometry;
+        this.pits = geometry.getTotalPits();
+        this.maxStones = maxStones;
+
+        int rows = maxStones + pits + 1;
+        this.binomial = new long[rows][pits + 1];
+        for (int a = 0; a < rows; a++) {
+            binomial[a][0] = 1;
+            for (int b = 1; b <= Math.min(a, pits); b++) {
+                binomial[a][b] = binomial[a - 1][b - 1] + binomial[a - 1][b];
+            }
+        }
+
+        this.layerOffset = new long[maxStones + 2];
+        layerOffset[0] = HEADER_SIZE;
+        for (int n = 0; n <= maxStones; n++) {
+            layerOffset[n + 1] = layerOffset[n] + 2 * layerSize(n);
+        }
+        if (layerOffset[maxStones + 1] > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("an endgame database for " + maxStones
+                    + " stones would exceed 2 GB; use fewer stones");
+        }
+    }
+
+    BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    int getPits() {
+        return pits;
+    }
+
+    int getMaxStones() {
+        return maxStones;
+    }
+
+    /**
+     * @return number of positions (per side to move) with exactly n stones.
+     */
+    long layerSize(int n) {
+        return binomial[n + pits - 1][pits - 1];
+    }
+
+    /**
+     * @return total file size in bytes, header included.
+     */
+    long fileSize() {
+        return layerOffset[maxStones + 1];
+    }
+
+    /**
+     * @param n     stones in the pits
+     * @param rank  rank of the composition within layer n
+     * @param sideB true if Player B is to move
+     * @return byte offset of the position's value in the file
+     */
+    int offsetOf(int n, long rank, boolean sideB) {
+        return (int) (layerOffset[n] + 2 * rank + (sideB ? 1 : 0));
+    }
+
+    /**
+     * Ranks the pit contents of a position, in board order skipping Player
+     * A's store. Stores are ignored.
+     *
+     * @param position position to rank
+     * @param n        total stones in its pits
+     * @return rank within layer n
+     */
+    long rank(Position position, int n) {
+        long rank = 0;
+        int remaining = n;
+        for (int i = 0; i < pits - 1 && remaining > 0; i++) {
+            int c = position.stonesAt(boardIndexOf(i));
+            if (c > 0) {
+                // Compositions that put fewer than c stones in pit i come first:
+                // sum over v < c of C(remaining - v + k, k), by the hockey-stick identity.
+                int k = pits - 2 - i;
+                rank += binomial[remaining + k + 1][k + 1] - binomial[remaining - c + k + 1][k + 1];
+                remaining -= c;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Inverse of rank: fills counts with the composition of n at the given
+     * rank, counts[i] being the i-th pit in board order.
+     */
+    void unrank(long rank, int n, int[] counts) {
+        int remaining = n;
+        for (int i = 0; i < pits - 1; i++) {
+            int k = pits - 2 - i;
+            int c = 0;
+            long block = binomial[remaining + k][k];
+            while (rank >= block) {
+                rank -= block;
+                c++;
+                block = binomial[remaining - c + k][k];
+            }
+            counts[i] = c;
+            remaining -= c;
+        }
+        counts[pits - 1] = remaining;
+    }
+
+    /**
+     * @param pitIndex position in counts (0..pits-1)
+     * @return board index of that pit
+     */
+    int boardIndexOf(int pitIndex) {
+        return pitIndex < geometry.getPitsPerSide() ? pitIndex : pitIndex + 1;
+    }
+}
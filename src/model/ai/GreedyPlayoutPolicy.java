@@ -0,0 +1,56 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.Player;
+import model.Position;
+import model.SowingTable;
+
+/**
+ * Playout policy that takes a free turn when it can (the one nearest the
+ * store first), otherwise the largest capture, otherwise a random move.
+ * Slower per move than RandomPlayoutPolicy but gives playouts that look
+ * much more like real games.
+ */
+public class GreedyPlayoutPolicy implements PlayoutPolicy {
+
+    private final RandomPlayoutPolicy fallback = new RandomPlayoutPolicy();
+
+    @Override
+    public int choose(Position position, SplittableRandom random) {
+        BoardGeometry geometry = position.getGeometry();
+        SowingTable table = geometry.getSowingTable();
+        Player mover = position.getSideToMove();
+        int first = geometry.firstPitOf(mover);
+        int store = geometry.storeOf(mover);
+
+        int bestCapture = 0;
+        int capturePit = -1;
+        for (int pit = store - 1; pit >= first; pit--) {
+            int stones = position.stonesAt(pit);
+            if (stones == 0) {
+                continue;
+            }
+            int landing = table.landingPit(pit, stones);
+            if (landing == store) {
+                return pit;
+            }
+            if (stones < table.getCycleLength() && geometry.isOwnPit(landing, mover)
+                    && position.stonesAt(landing) == 0) {
+                int captured = position.stonesAt(geometry.oppositeOf(landing));
+                if (captured > bestCapture) {
+                    bestCapture = captured;
+                    capturePit = pit;
+                }
+            }
+        }
+        return capturePit >= 0 ? capturePit : fallback.choose(position, random);
+    }
+}
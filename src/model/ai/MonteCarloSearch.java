@@ -0,0 +1,549 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.Player;
+import model.Position;
+
+/**
+ * Monte Carlo Tree Search with UCT selection over Position.
+ *
+ * Nodes live in an arena of parallel primitive arrays rather than one
+ * object per node, so a tree of millions of nodes is a handful of arrays
+ * and costs the garbage collector nothing. Children of a node occupy a
+ * contiguous block allocated by bumping a shared counter. Each node's
+ * statistics are from the point of view of the player who made the move
+ * leading to it, which handles free turns without any special casing.
+ * Rewards are counted in half points (win 2, draw 1, loss 0).
+ *
+ * Several worker threads grow one shared tree. Counters are updated with
+ * atomic VarHandle operations on the plain arrays. A thread that walks
+ * through a node adds its visit immediately, before its playout has
+ * finished; until the reward arrives that visit counts as a loss (virtual
+ * loss), which steers other threads towards different lines. Expansion is
+ * claimed with a compare-and-set on the node's state and published with a
+ * release store.
+ *
+ * Playouts copy the root into a per-thread Position (four field writes)
+ * and play moves in place, so they allocate nothing. The move choice in
+ * playouts is a configurable PlayoutPolicy.
+ *
+ * Between moves the tree is reused: when asked to search a position that
+ * is a few plies below the current root, the subtree under it is compacted
+ * into a second arena and becomes the new tree.
+ *
+ * Search results report the win percentage of the chosen move (0..100) as
+ * their score.
+ */
+public class MonteCarloSearch implements AutoCloseable {
+
+    /** Default number of nodes in the arena. */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    /** Default UCT exploration constant (rewards are in 0..1). */
+    public static final double DEFAULT_EXPLORATION = 1.4;
+
+    /** How many plies below the old root a new root is looked for. */
+    private static final int REUSE_DEPTH = 4;
+
+    /** Longest path a single iteration will record. */
+    private static final int MAX_PATH = 512;
+
+    /** Iterations a worker claims from the shared budget at a time. */
+    private static final int BATCH = 64;
+
+    private static final int UNEXPANDED = 0;
+    private static final int EXPANDING = 1;
+    private static final int EXPANDED = 2;
+    private static final int FULL = 3;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final BoardGeometry geometry;
+    private final PlayoutPolicy policy;
+    private final Worker[] workers;
+    private final ExecutorService helpers;
+    private double exploration = DEFAULT_EXPLORATION;
+
+    /** Arena holding the current tree, and a spare one used when re-rooting. */
+    private Arena arena;
+    private Arena spare;
+
+    /** Scratch for compaction: new index -> old index. */
+    private final int[] order;
+
+    /** Position of node 0 in the current tree, or null if the tree is empty. */
+    private Position rootPosition;
+
+    /**
+     * Creates a single-threaded search for the standard board with random
+     * playouts.
+     */
+    public MonteCarloSearch() {
+        this(BoardGeometry.STANDARD, DEFAULT_CAPACITY, 1, new RandomPlayoutPolicy(), 0L);
+    }
+
+    /**
+     * Creates a search.
+     *
+     * @param geometry board shape to search (must be packable)
+     * @param capacity maximum number of tree nodes
+     * @param threads  worker threads, including the caller's (at least 1)
+     * @param policy   move choice during playouts
+     * @param seed     seed from which every worker's random stream is split
+     * @throws IllegalArgumentException if capacity or threads is out of range
+     */
+    public MonteCarloSearch(BoardGeometry geometry, int capacity, int threads,
+                            PlayoutPolicy policy, long seed) {
+        if (capacity < geometry.getPitsPerSide() + 1) {
+            throw new IllegalArgumentException("capacity is too small");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.geometry = geometry;
+        this.policy = policy;
+        this.arena = new Arena(capacity);
+        this.spare = new Arena(capacity);
+        this.order = new int[capacity];
+
+        SplittableRandom master = new SplittableRandom(seed);
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(master.split());
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mancala-mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param exploration UCT exploration constant (larger explores more)
+     */
+    public void setExplorationConstant(double exploration) {
+        this.exploration = exploration;
+    }
+
+    /**
+     * @return number of nodes in the current tree.
+     */
+    public int getTreeSize() {
+        return arena.size();
+    }
+
+    /**
+     * Searches the current position of a game.
+     *
+     * @param game            game to analyze (not modified)
+     * @param iterations      playouts to run (0 = limited by time only)
+     * @param timeLimitMillis stop after roughly this long (0 = no limit)
+     * @return the most visited move
+     */
+    public SearchResult search(MancalaGame game, long iterations, long timeLimitMillis) {
+        return search(Position.from(game), iterations, timeLimitMillis);
+    }
+
+    /**
+     * Searches a position, reusing the existing tree if the position is the
+     * current root or a few plies below it.
+     *
+     * @param root            position to analyze (not modified)
+     * @param iterations      playouts to run (0 = limited by time only)
+     * @param timeLimitMillis stop after roughly this long (0 = no limit)
+     * @return the most visited move
+     * @throws IllegalArgumentException if both limits are 0 or the position is over
+     */
+    public SearchResult search(Position root, long iterations, long timeLimitMillis) {
+        if (iterations <= 0 && timeLimitMillis <= 0) {
+            throw new IllegalArgumentException("need an iteration or time limit");
+        }
+        if (root.isGameOver()) {
+            throw new IllegalArgumentException("the game is over");
+        }
+        long start = System.nanoTime();
+        reroot(root);
+
+        long deadline = timeLimitMillis > 0 ? start + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+        AtomicLong budget = new AtomicLong(iterations > 0 ? iterations : Long.MAX_VALUE);
+        AtomicLong completed = new AtomicLong();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i < workers.length; i++) {
+            Worker worker = workers[i];
+            futures.add(helpers.submit(() -> worker.run(budget, deadline, completed)));
+        }
+        workers[0].run(budget, deadline, completed);
+        for (Future<?> future : futures) {
+            await(future);
+        }
+        return result(completed.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Discards the tree.
+     */
+    public void clear() {
+        arena.reset();
+        rootPosition = null;
+    }
+
+    /**
+     * Stops the worker threads. The object cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    // ---------------------- Tree reuse ----------------------
+
+    /**
+     * Makes node 0 correspond to the given position: keeps the tree if it
+     * already does, compacts the matching subtree if the position is a few
+     * plies down, or starts a fresh tree.
+     */
+    private void reroot(Position root) {
+        int match = rootPosition == null ? -1 : findDescendant(root);
+        if (match < 0) {
+            arena.reset();
+            arena.initRoot(root.getSideToMove().opposite());
+        } else if (match > 0) {
+            compact(match);
+        }
+        rootPosition = new Position(root);
+    }
+
+    /**
+     * Breadth-first search of the top REUSE_DEPTH plies for a node whose
+     * position equals the target.
+     *
+     * @return node index, or -1 if not found
+     */
+    private int findDescendant(Position target) {
+        if (rootPosition.equals(target)) {
+            return 0;
+        }
+        List<Integer> nodes = new ArrayList<>();
+        List<Position> positions = new ArrayList<>();
+        nodes.add(0);
+        positions.add(rootPosition);
+        for (int ply = 0; ply < REUSE_DEPTH && !nodes.isEmpty(); ply++) {
+            List<Integer> nextNodes = new ArrayList<>();
+            List<Position> nextPositions = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                int node = nodes.get(i);
+                if (arena.state[node] != EXPANDED) {
+                    continue;
+                }
+                int first = arena.firstChild[node];
+                for (int c = first; c < first + arena.childCount[node]; c++) {
+                    Position child = new Position(positions.get(i));
+                    child.makeMove(arena.move[c]);
+                    if (child.equals(target)) {
+                        return c;
+                    }
+                    nextNodes.add(c);
+                    nextPositions.add(child);
+                }
+            }
+            nodes = nextNodes;
+            positions = nextPositions;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the subtree under newRoot into the spare arena, breadth first,
+     * and swaps the arenas. A node's new index is its place in the copy
+     * order, and each expanded node's children are reserved as one block,
+     * so the contiguous-children layout is preserved.
+     */
+    private void compact(int newRoot) {
+        Arena from = arena;
+        Arena to = spare;
+        to.reset();
+        order[0] = newRoot;
+        int next = 1;
+        for (int j = 0; j < next; j++) {
+            int old = order[j];
+            to.move[j] = from.move[old];
+            to.player[j] = from.player[old];
+            to.visits[j] = from.visits[old];
+            to.value[j] = from.value[old];
+            if (from.state[old] == EXPANDED) {
+                int count = from.childCount[old];
+                to.state[j] = EXPANDED;
+                to.firstChild[j] = next;
+                to.childCount[j] = (byte) count;
+                int first = from.firstChild[old];
+                for (int c = 0; c < count; c++) {
+                    order[next++] = first + c;
+                }
+            } else {
+                to.state[j] = UNEXPANDED;
+                to.childCount[j] = 0;
+            }
+        }
+        to.used.set(next);
+        arena = to;
+        spare = from;
+    }
+
+    // ---------------------- Results ----------------------
+
+    private SearchResult result(long iterations, long elapsedNanos) {
+        Arena a = arena;
+        int bestChild = mostVisitedChild(a, 0);
+        if (bestChild < 0) {
+            return new SearchResult(-1, 0, 0, iterations, elapsedNanos);
+        }
+        int visits = a.visits[bestChild];
+        int winPercent = visits == 0 ? 0 : (int) Math.round(50.0 * a.value[bestChild] / visits);
+
+        int depth = 0;
+        for (int node = 0; node >= 0; node = mostVisitedChild(a, node)) {
+            depth++;
+        }
+        return new SearchResult(a.move[bestChild], winPercent, depth - 1, iterations, elapsedNanos);
+    }
+
+    private static int mostVisitedChild(Arena a, int node) {
+        if (a.state[node] != EXPANDED) {
+            return -1;
+        }
+        int best = -1;
+        int first = a.firstChild[node];
+        for (int c = first; c < first + a.childCount[node]; c++) {
+            if (best < 0 || a.visits[c] > a.visits[best]) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for an MCTS worker", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS worker failed", e.getCause());
+        }
+    }
+
+    // ---------------------- Arena ----------------------
+
+    /**
+     * Tree nodes as parallel arrays, indexed by node number. Node 0 is the
+     * root.
+     */
+    private static final class Arena {
+        /** Pit played to reach the node. */
+        final byte[] move;
+        /** Ordinal of the player who made that move. */
+        final byte[] player;
+        /** Number of children (valid once EXPANDED). */
+        final byte[] childCount;
+        /** Index of the first child (valid once EXPANDED). */
+        final int[] firstChild;
+        /** UNEXPANDED, EXPANDING, EXPANDED or FULL. */
+        final int[] state;
+        /** Visits, including in-flight ones (virtual loss). */
+        final int[] visits;
+        /** Sum of rewards in half points for the node's player. */
+        final long[] value;
+        /** Next free node index. */
+        final AtomicInteger used = new AtomicInteger();
+
+        Arena(int capacity) {
+            move = new byte[capacity];
+            player = new byte[capacity];
+            childCount = new byte[capacity];
+            firstChild = new int[capacity];
+            state = new int[capacity];
+            visits = new int[capacity];
+            value = new long[capacity];
+        }
+
+        int capacity() {
+            return visits.length;
+        }
+
+        int size() {
+            return Math.min(used.get(), capacity());
+        }
+
+        void reset() {
+            used.set(0);
+        }
+
+        void initRoot(Player movedBefore) {
+            used.set(1);
+            move[0] = -1;
+            player[0] = (byte) movedBefore.ordinal();
+            childCount[0] = 0;
+            state[0] = UNEXPANDED;
+            visits[0] = 0;
+            value[0] = 0;
+        }
+    }
+
+    // ---------------------- Workers ----------------------
+
+    /**
+     * Per-thread state: a random stream, a scratch position and the path of
+     * the current iteration.
+     */
+    private final class Worker {
+        private final SplittableRandom random;
+        private final Position position = new Position(geometry);
+        private final int[] path = new int[MAX_PATH];
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+
+        void run(AtomicLong budget, long deadline, AtomicLong completed) {
+            while (System.nanoTime() < deadline) {
+                long claimed = budget.getAndAdd(-BATCH);
+                if (claimed <= 0) {
+                    return;
+                }
+                long batch = Math.min(claimed, BATCH);
+                for (long i = 0; i < batch; i++) {
+                    iterate();
+                }
+                completed.addAndGet(batch);
+            }
+        }
+
+        /**
+         * One iteration: select down the tree (adding virtual visits),
+         * expand one node, play out to the end and back up the result.
+         */
+        private void iterate() {
+            Arena a = arena;
+            position.copyFrom(rootPosition);
+            INTS.getAndAdd(a.visits, 0, 1);
+
+            int length = 0;
+            int node = 0;
+            while (!position.isGameOver() && length < MAX_PATH) {
+                int state = (int) INTS.getAcquire(a.state, node);
+                if (state != EXPANDED) {
+                    if (state != UNEXPANDED || !expand(a, node)) {
+                        break;
+                    }
+                }
+                int child = select(a, node);
+                int before = (int) INTS.getAndAdd(a.visits, child, 1);
+                position.makeMove(a.move[child]);
+                path[length++] = child;
+                node = child;
+                if (before == 0) {
+                    break;
+                }
+            }
+
+            while (!position.isGameOver()) {
+                position.makeMove(policy.choose(position, random));
+            }
+            int scoreA = position.getScore(Player.PLAYER_A);
+            int scoreB = position.getScore(Player.PLAYER_B);
+            int rewardA = scoreA > scoreB ? 2 : scoreA == scoreB ? 1 : 0;
+            for (int i = 0; i < length; i++) {
+                int n = path[i];
+                int reward = a.player[n] == Player.PLAYER_A.ordinal() ? rewardA : 2 - rewardA;
+                LONGS.getAndAdd(a.value, n, (long) reward);
+            }
+        }
+
+        /**
+         * Claims and expands a node. Returns false if another thread is
+         * expanding it or the arena is full.
+         */
+        private boolean expand(Arena a, int node) {
+            if (!INTS.compareAndSet(a.state, node, UNEXPANDED, EXPANDING)) {
+                return false;
+            }
+            Player mover = position.getSideToMove();
+            int first = geometry.firstPitOf(mover);
+            int count = 0;
+            for (int pit = first; pit < first + geometry.getPitsPerSide(); pit++) {
+                if (position.stonesAt(pit) > 0) {
+                    count++;
+                }
+            }
+            int block = a.used.getAndAdd(count);
+            if (block + count > a.capacity()) {
+                INTS.setRelease(a.state, node, FULL);
+                return false;
+            }
+            int c = block;
+            for (int pit = first; pit < first + geometry.getPitsPerSide(); pit++) {
+                if (position.stonesAt(pit) > 0) {
+                    a.move[c] = (byte) pit;
+                    a.player[c] = (byte) mover.ordinal();
+                    a.childCount[c] = 0;
+                    a.state[c] = UNEXPANDED;
+                    a.visits[c] = 0;
+                    a.value[c] = 0;
+                    c++;
+                }
+            }
+            a.firstChild[node] = block;
+            a.childCount[node] = (byte) count;
+            INTS.setRelease(a.state, node, EXPANDED);
+            return true;
+        }
+
+        /**
+         * UCT: an unvisited child if there is one, otherwise the child with
+         * the best mean reward plus exploration bonus.
+         */
+        private int select(Arena a, int node) {
+            int first = a.firstChild[node];
+            int count = a.childCount[node];
+            double logParent = Math.log(Math.max(1, (int) INTS.getOpaque(a.visits, node)));
+            int best = first;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int c = first; c < first + count; c++) {
+                int visits = (int) INTS.getOpaque(a.visits, c);
+                if (visits == 0) {
+                    return c;
+                }
+                double mean = (long) LONGS.getOpaque(a.value, c) / (2.0 * visits);
+                double value = mean + exploration * Math.sqrt(logParent / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = c;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import model.BoardGeometry;
+import model.Player;
+import model.Position;
+
+/**
+ * Precomputed best moves for the opening, written by OpeningBookBuilder.
+ *
+ * Entries are keyed by Zobrist hash (Position.getHash), which covers the
+ * pits and side to move but not the stores, so one entry serves every
+ * transposition of a position. The keys are kept sorted in a long[] and
+ * looked up by binary search, so answering a book move costs a few dozen
+ * comparisons and no allocation.
+ *
+ * File format (big-endian):
+ *   header: magic "MNCLBOOK" (8), version (4), pits per side (4), entry count (4)
+ *   entries, sorted by key, ENTRY_SIZE bytes each:
+ *     key (8), best move (1), search depth (1), score relative to the
+ *     store difference (2)
+ */
+public final class OpeningBook {
+
+    static final long MAGIC = 0x4D4E434C424F4F4BL;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 20;
+    static final int ENTRY_SIZE = 12;
+
+    /** Returned by getMove when the position is not in the book. */
+    public static final int NO_MOVE = -1;
+
+    /** Returned by getScore when the position is not in the book. */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private final BoardGeometry geometry;
+    private final long[] keys;
+
+    /** Per entry: move in bits 0..7, depth in bits 8..15, score in bits 16..31. */
+    private final int[] entries;
+
+    OpeningBook(BoardGeometry geometry, long[] keys, int[] entries) {
+        this.geometry = geometry;
+        this.keys = keys;
+        this.entries = entries;
+    }
+
+    /**
+     * Reads a book file into memory.
+     *
+     * @param file book written by OpeningBookBuilder
+     * @return the book
+     * @throws IOException if the file cannot be read or is not a book
+     */
+    public static OpeningBook load(Path file) throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+            if (in.readLong() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not an opening book");
+            }
+            BoardGeometry geometry = BoardGeometry.of(in.readInt());
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException(file + " is corrupt");
+            }
+            long[] keys = new long[count];
+            int[] entries = new int[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readLong();
+                int move = in.readUnsignedByte();
+                int depth = in.readUnsignedByte();
+                int score = in.readShort();
+                entries[i] = pack(move, depth, score);
+                if (i > 0 && keys[i] <= keys[i - 1]) {
+                    throw new IOException(file + " is not sorted");
+                }
+            }
+            return new OpeningBook(geometry, keys, entries);
+        }
+    }
+
+    static int pack(int move, int depth, int score) {
+        return (move & 0xFF) | ((depth & 0xFF) << 8) | (score << 16);
+    }
+
+    /**
+     * @return board shape the book was built for.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @return number of positions in the book.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @param position position to look up
+     * @return true if the book has a move for it
+     */
+    public boolean contains(Position position) {
+        return find(position) >= 0;
+    }
+
+    /**
+     * @param position position to look up
+     * @return best move for the side to move, or NO_MOVE if not in the book
+     */
+    public int getMove(Position position) {
+        int i = find(position);
+        return i < 0 ? NO_MOVE : entries[i] & 0xFF;
+    }
+
+    /**
+     * @param position position to look up
+     * @return expected final store difference for the side to move, or
+     *         NOT_FOUND if not in the book
+     */
+    public int getScore(Position position) {
+        int i = find(position);
+        if (i < 0) {
+            return NOT_FOUND;
+        }
+        Player mover = position.getSideToMove();
+        return (entries[i] >> 16) + position.getScore(mover) - position.getScore(mover.opposite());
+    }
+
+    /**
+     * @param position position to look up
+     * @return depth the book move was searched to, or 0 if not in the book
+     */
+    public int getDepth(Position position) {
+        int i = find(position);
+        return i < 0 ? 0 : (entries[i] >>> 8) & 0xFF;
+    }
+
+    private int find(Position position) {
+        if (position.getGeometry() != geometry || position.isGameOver()) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(keys, position.getHash());
+        return i < 0 ? -1 : i;
+    }
+
+    @Override
+    public String toString() {
+        return "OpeningBook[" + geometry + ", " + keys.length + " positions]";
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.Player;
+import model.Position;
+
+/**
+ * Offline builder for an OpeningBook.
+ *
+ * Starting from the positions MancalaGame.initialize produces for each
+ * requested stone count, it collects every distinct position reachable in
+ * fewer than {@code plies} moves (breadth first, so transpositions are
+ * searched once), deep-searches each one and writes the best moves to a
+ * book file sorted by Zobrist key.
+ *
+ * The searches are spread over several threads, each with its own
+ * SearchEngine on one shared TranspositionTable, so work done for one book
+ * position speeds up its neighbours. If any search fails, the others are
+ * stopped and no file is written.
+ */
+public final class OpeningBookBuilder {
+
+    private static final int DEFAULT_PLIES = 4;
+    private static final int DEFAULT_DEPTH = 16;
+    private static final int[] DEFAULT_STONES = {3, 4};
+
+    private final BoardGeometry geometry;
+    private final int plies;
+    private final int searchDepth;
+    private final int threads;
+
+    /**
+     * Creates a builder.
+     *
+     * @param geometry    board shape
+     * @param plies       number of opening plies the book answers (at least 1)
+     * @param searchDepth depth each book position is searched to (1..255)
+     * @param threads     search threads to use (at least 1)
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public OpeningBookBuilder(BoardGeometry geometry, int plies, int searchDepth, int threads) {
+        if (plies < 1) {
+            throw new IllegalArgumentException("plies must be at least 1");
+        }
+        if (searchDepth < 1 || searchDepth > 255) {
+            throw new IllegalArgumentException("searchDepth must be between 1 and 255");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.geometry = geometry;
+        this.plies = plies;
+        this.searchDepth = searchDepth;
+        this.threads = threads;
+    }
+
+    /**
+     * Collects the distinct, unfinished positions that can occur in the
+     * first {@code plies} moves from the given starting setups.
+     *
+     * @param startingStones stones per pit for each starting position
+     * @return the positions, in breadth-first order
+     */
+    public List<Position> collectPositions(int... startingStones) {
+        Set<Long> seen = new HashSet<>();
+        List<Position> all = new ArrayList<>();
+        List<Position> frontier = new ArrayList<>();
+        for (int stones : startingStones) {
+            MancalaGame game = new MancalaGame(geometry);
+            game.initialize(stones);
+            Position start = Position.from(game);
+            if (seen.add(start.getHash())) {
+                frontier.add(start);
+            }
+        }
+
+        for (int ply = 0; ply < plies && !frontier.isEmpty(); ply++) {
+            all.addAll(frontier);
+            if (ply == plies - 1) {
+                break;
+            }
+            List<Position> next = new ArrayList<>();
+            for (Position position : frontier) {
+                int first = geometry.firstPitOf(position.getSideToMove());
+                for (int pit = first; pit < first + geometry.getPitsPerSide(); pit++) {
+                    if (!position.isValidMove(pit)) {
+                        continue;
+                    }
+                    Position child = new Position(position);
+                    child.makeMove(pit);
+                    if (!child.isGameOver() && seen.add(child.getHash())) {
+                        next.add(child);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return all;
+    }
+
+    /**
+     * Builds a book and writes it to a file.
+     *
+     * @param file           output file (overwritten)
+     * @param startingStones stones per pit for each starting position
+     * @param progress       called with the number of positions searched so
+     *                       far, from the search threads (may be null)
+     * @return number of positions in the book
+     * @throws IOException if the file cannot be written or the build was
+     *                     interrupted
+     * @throws IllegalStateException if a search returned no move
+     */
+    public int build(Path file, int[] startingStones, IntConsumer progress) throws IOException {
+        List<Position> positions = collectPositions(startingStones);
+        int count = positions.size();
+        int[] packed = new int[count];
+
+        TranspositionTable table = new TranspositionTable();
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int next;
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "opening-book-" + next++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            // Taken in the order workers finish, so a failure is seen at once.
+            CompletionService<Void> workers = new ExecutorCompletionService<>(pool);
+            for (int t = 0; t < threads; t++) {
+                SearchEngine engine = new SearchEngine(geometry, table);
+                workers.submit(() -> {
+                    for (int i = nextIndex.getAndIncrement(); i < count && !Thread.currentThread().isInterrupted();
+                         i = nextIndex.getAndIncrement()) {
+                        packed[i] = searchEntry(engine, positions.get(i));
+                        int finished = done.incrementAndGet();
+                        if (progress != null) {
+                            progress.accept(finished);
+                        }
+                    }
+                }, null);
+            }
+            for (int t = 0; t < threads; t++) {
+                workers.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("opening book build interrupted", e);
+        } catch (ExecutionException e) {
+            // Unsearched entries would be written as move 0, so nothing is written.
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("opening book search failed", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        write(file, positions, packed);
+        return count;
+    }
+
+    /**
+     * Searches one book position.
+     *
+     * @return the packed book entry
+     * @throws IllegalStateException if the search returned no move
+     */
+    private int searchEntry(SearchEngine engine, Position position) {
+        SearchResult result = engine.search(position, searchDepth, 0);
+        if (result.getBestMove() < 0) {
+            throw new IllegalStateException("search to depth " + searchDepth + " returned no move for "
+                    + position);
+        }
+        Player mover = position.getSideToMove();
+        int relative = result.getScore()
+                - (position.getScore(mover) - position.getScore(mover.opposite()));
+        return OpeningBook.pack(result.getBestMove(), result.getDepth(), relative);
+    }
+
+    private void write(Path file, List<Position> positions, int[] packed) throws IOException {
+        Map<Long, Integer> entryByKey = new HashMap<>();
+        long[] keys = new long[positions.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = positions.get(i).getHash();
+            entryByKey.put(keys[i], packed[i]);
+        }
+        Arrays.sort(keys);
+
+        try (OutputStream raw = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw))) {
+            out.writeLong(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeInt(geometry.getPitsPerSide());
+            out.writeInt(keys.length);
+            for (long key : keys) {
+                int entry = entryByKey.get(key);
+                out.writeLong(key);
+                out.writeByte(entry & 0xFF);
+                out.writeByte((entry >>> 8) & 0xFF);
+                out.writeShort(entry >> 16);
+            }
+        }
+    }
+
+    // ---------------------- Command line ----------------------
+
+    /**
+     * Usage: java model.ai.OpeningBookBuilder file [plies] [depth] [threads] [stones...]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java model.ai.OpeningBookBuilder file [plies] [depth] [threads] [stones...]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        int plies = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLIES;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DEPTH;
+        int threads = args.length > 3 ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+        int[] stones = DEFAULT_STONES;
+        if (args.length > 4) {
+            stones = new int[args.length - 4];
+            for (int i = 0; i < stones.length; i++) {
+                stones[i] = Integer.parseInt(args[4 + i]);
+            }
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(BoardGeometry.STANDARD, plies, depth, threads);
+        int total = builder.collectPositions(stones).size();
+        System.out.printf("Building %s: %d positions (%d plies from %s), depth %d, %d threads%n",
+                file, total, plies, Arrays.toString(stones), depth, threads);
+        long start = System.nanoTime();
+        int written = builder.build(file, stones, done -> {
+            if (done % 100 == 0 || done == total) {
+                System.out.printf("  %d/%d positions after %.1f s%n",
+                        done, total, (System.nanoTime() - start) / 1e9);
+            }
+        });
+        System.out.printf("Wrote %d entries (%d bytes).%n",
+                written, OpeningBook.HEADER_SIZE + (long) written * OpeningBook.ENTRY_SIZE);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.Position;
+
+/**
+ * Multi-threaded search using Lazy SMP.
+ *
+ * Every thread runs an ordinary iterative-deepening SearchEngine on the same
+ * root, and all of them share one TranspositionTable. The threads do not
+ * split the tree explicitly; they speed each other up through the table,
+ * where one thread's results become another's cutoffs and first moves.
+ * Helpers start at alternating depths so they do not all search the same
+ * nodes in the same order.
+ *
+ * The calling thread runs the main engine. When it finishes, the helpers
+ * are stopped and the deepest completed result wins (the main thread's on a
+ * tie). Node counts are summed over all threads.
+ *
+ * Helper threads are created once and reused; call close() when done.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+    private final TranspositionTable table;
+    private final SearchEngine[] engines;
+    private final ExecutorService helpers;
+
+    /**
+     * Creates a parallel search for the standard board using every
+     * available core and a default-sized table.
+     */
+    public ParallelSearch() {
+        this(BoardGeometry.STANDARD, Runtime.getRuntime().availableProcessors(),
+                new TranspositionTable());
+    }
+
+    /**
+     * Creates a parallel search.
+     *
+     * @param geometry board shape to search
+     * @param threads  number of search threads, including the caller's (at least 1)
+     * @param table    table shared by all threads
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public ParallelSearch(BoardGeometry geometry, int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.table = table;
+        this.engines = new SearchEngine[threads];
+        for (int i = 0; i < threads; i++) {
+            engines[i] = new SearchEngine(geometry, table);
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mancala-search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches the current position of a game.
+     *
+     * @param game            game to analyze (not modified)
+     * @param maxDepth        deepest iteration to run, in plies
+     * @param timeLimitMillis stop after roughly this long (0 = no limit)
+     * @return the best move found
+     */
+    public SearchResult search(MancalaGame game, int maxDepth, long timeLimitMillis) {
+        return search(Position.from(game), maxDepth, timeLimitMillis);
+    }
+
+    /**
+     * Searches a position with all threads.
+     *
+     * @param root            position to analyze (not modified)
+     * @param maxDepth        deepest iteration to run, in plies
+     * @param timeLimitMillis stop after roughly this long (0 = no limit)
+     * @return the deepest result found by any thread
+     */
+    public SearchResult search(Position root, int maxDepth, long timeLimitMillis) {
+        long start = System.nanoTime();
+        table.newSearch();
+
+        List<Future<SearchResult>> futures = new ArrayList<>(engines.length - 1);
+        for (int i = 1; i < engines.length; i++) {
+            SearchEngine helper = engines[i];
+            int firstDepth = 1 + (i & 1);
+            helper.prepareHelper();
+            futures.add(helpers.submit(
+                    () -> helper.searchAsHelper(root, maxDepth, timeLimitMillis, firstDepth)));
+        }
+
+        engines[0].prepareHelper();
+        SearchResult best = engines[0].searchAsHelper(root, maxDepth, timeLimitMillis, 1);
+        long nodes = best.getNodes();
+
+        for (int i = 1; i < engines.length; i++) {
+            engines[i].stop();
+        }
+        for (Future<SearchResult> future : futures) {
+            SearchResult result = await(future);
+            nodes += result.getNodes();
+            if (result.getDepth() > best.getDepth()) {
+                best = result;
+            }
+        }
+        return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * @return number of search threads, including the caller's.
+     */
+    public int getThreadCount() {
+        return engines.length;
+    }
+
+    /**
+     * @return the table shared by all threads.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Stops the helper threads. The object cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    private static SearchResult await(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a search thread", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("search thread failed", e.getCause());
+        }
+    }
+}
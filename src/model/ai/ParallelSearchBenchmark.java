@@ -0,0 +1,76 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+
+/**
+ * Command-line scaling benchmark for ParallelSearch.
+ *
+ * For the standard 3- and 4-stone starting positions (as produced by
+ * MancalaGame.initialize) it searches to a fixed depth with 1, 2, 4, 8 and
+ * N threads, where N is the number of available cores, and prints the
+ * time to depth, nodes per second and speedup over one thread. Each run
+ * starts from an empty table so runs do not help each other.
+ *
+ * Usage: java model.ai.ParallelSearchBenchmark [depth] [tableSizeBits]
+ */
+public final class ParallelSearchBenchmark {
+
+    private static final int DEFAULT_DEPTH = 20;
+    private static final int WARMUP_DEPTH = 14;
+    private static final int[] STARTING_STONES = {3, 4};
+
+    private ParallelSearchBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int sizeBits = args.length > 1 ? Integer.parseInt(args[1])
+                : TranspositionTable.DEFAULT_SIZE_BITS;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        SortedSet<Integer> threadCounts = new TreeSet<>();
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+
+        System.out.printf("Lazy SMP scaling: depth %d, %d cores, 2^%d table entries%n",
+                depth, cores, sizeBits);
+        for (int stones : STARTING_STONES) {
+            MancalaGame game = new MancalaGame();
+            game.initialize(stones);
+
+            System.out.printf("%n%d stones per pit%n", stones);
+            System.out.printf("%8s %10s %14s %12s %8s %6s %6s%n",
+                    "threads", "ms", "nodes", "nodes/s", "speedup", "move", "score");
+
+            double baseline = 0;
+            for (int threads : threadCounts) {
+                TranspositionTable table = new TranspositionTable(sizeBits, ReplacementPolicy.TWO_TIER);
+                try (ParallelSearch search = new ParallelSearch(BoardGeometry.STANDARD, threads, table)) {
+                    search.search(game, WARMUP_DEPTH, 0);
+                    table.clear();
+
+                    SearchResult result = search.search(game, depth, 0);
+                    double millis = result.getElapsedNanos() / 1e6;
+                    if (threads == 1) {
+                        baseline = millis;
+                    }
+                    System.out.printf("%8d %10.1f %14d %12.0f %8.2f %6d %6d%n",
+                            threads, millis, result.getNodes(), result.getNodesPerSecond(),
+                            baseline / millis, result.getBestMove(), result.getScore());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.Position;
+
+/**
+ * Move generation counter ("perft"): counts the leaf positions reachable
+ * from a position in exactly {@code depth} moves.
+ *
+ * Every move is one ply, including a free-turn move after which the same
+ * player moves again. A game that ends before the requested depth counts
+ * as one leaf. The counts for the standard starting positions are known
+ * (see KNOWN_COUNTS), so a run doubles as a correctness check of
+ * Position.makeMove, and its nodes per second tracks move generation
+ * speed.
+ */
+public final class Perft {
+
+    /** Deepest perft a single instance supports. */
+    public static final int MAX_DEPTH = 64;
+
+    /** Starting stones per pit covered by KNOWN_COUNTS, in row order. */
+    static final int[] KNOWN_STONES = {3, 4};
+
+    /**
+     * Leaf counts for the standard board from MancalaGame.initialize(stones),
+     * Player A to move; row per KNOWN_STONES entry, column depth - 1.
+     * Cross-checked against an independent int[] implementation of the rules.
+     */
+    static final long[][] KNOWN_COUNTS = {
+        {6L, 35L, 182L, 904L, 4243L, 19418L, 87103L, 387726L, 1715619L,
+            7557979L, 33090434L, 144077960L, 623507538L},
+        {6L, 35L, 185L, 942L, 4690L, 23233L, 114430L, 563055L, 2763490L,
+            13519608L, 65870790L, 318739906L, 1531399747L},
+    };
+
+    private final BoardGeometry geometry;
+    private final int pitsPerSide;
+
+    /** stack[d] holds the position after d moves from the root. */
+    private final Position[] stack;
+
+    /** Moves played during the last count. */
+    private long moves;
+
+    /**
+     * @param geometry board shape
+     */
+    public Perft(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.pitsPerSide = geometry.getPitsPerSide();
+        this.stack = new Position[MAX_DEPTH + 1];
+        for (int i = 0; i < stack.length; i++) {
+            stack[i] = new Position(geometry);
+        }
+    }
+
+    /**
+     * Counts leaves at the given depth.
+     *
+     * @param root  starting position (not modified)
+     * @param depth number of moves, 0..MAX_DEPTH
+     * @return number of leaf positions
+     * @throws IllegalArgumentException if depth is out of range
+     */
+    public long perft(Position root, int depth) {
+        checkDepth(depth);
+        moves = 0;
+        stack[0].copyFrom(root);
+        return count(0, depth);
+    }
+
+    /**
+     * Counts leaves below each root move separately.
+     *
+     * @param root  starting position (not modified)
+     * @param depth number of moves including the root move, 1..MAX_DEPTH
+     * @return leaf counts indexed by pit; 0 for pits that are not legal moves
+     * @throws IllegalArgumentException if depth is out of range
+     */
+    public long[] divide(Position root, int depth) {
+        checkDepth(depth);
+        if (depth < 1) {
+            throw new IllegalArgumentException("divide needs a depth of at least 1");
+        }
+        long[] counts = new long[geometry.getTotalPockets()];
+        moves = 0;
+        int first = geometry.firstPitOf(root.getSideToMove());
+        for (int pit = first; pit < first + pitsPerSide; pit++) {
+            if (!root.isValidMove(pit)) {
+                continue;
+            }
+            stack[1].copyFrom(root);
+            stack[1].makeMove(pit);
+            moves++;
+            counts[pit] = count(1, depth - 1);
+        }
+        return counts;
+    }
+
+    /**
+     * @return number of moves played by the last perft or divide call
+     *         (last-ply leaves are counted without being played).
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    private long count(int ply, int depth) {
+        Position position = stack[ply];
+        if (depth == 0 || position.isGameOver()) {
+            return 1;
+        }
+        int first = geometry.firstPitOf(position.getSideToMove());
+        if (depth == 1) {
+            // Bulk count: every legal move is one leaf, no need to play it.
+            int legal = 0;
+            for (int pit = first; pit < first + pitsPerSide; pit++) {
+                if (position.stonesAt(pit) != 0) {
+                    legal++;
+                }
+            }
+            return legal;
+        }
+
+        Position child = stack[ply + 1];
+        long leaves = 0;
+        for (int pit = first; pit < first + pitsPerSide; pit++) {
+            if (position.stonesAt(pit) == 0) {
+                continue;
+            }
+            child.copyFrom(position);
+            child.makeMove(pit);
+            moves++;
+            leaves += count(ply + 1, depth - 1);
+        }
+        return leaves;
+    }
+
+    private static void checkDepth(int depth) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be between 0 and " + MAX_DEPTH);
+        }
+    }
+
+    // ---------------------- Parallel ----------------------
+
+    /**
+     * Counts leaves at the given depth with the root moves split across a
+     * pool of threads, each with its own Perft.
+     *
+     * @param root    starting position (not modified)
+     * @param depth   number of moves, 1..MAX_DEPTH
+     * @param threads worker threads (at least 1)
+     * @return leaf counts indexed by pit, as divide returns them
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static long[] parallelDivide(Position root, int depth, int threads) {
+        checkDepth(depth);
+        if (depth < 1) {
+            throw new IllegalArgumentException("divide needs a depth of at least 1");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        BoardGeometry geometry = root.getGeometry();
+        Position start = new Position(root);
+        long[] counts = new long[geometry.getTotalPockets()];
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "perft");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Integer> pits = new ArrayList<>();
+            List<Future<Long>> futures = new ArrayList<>();
+            int first = geometry.firstPitOf(start.getSideToMove());
+            for (int pit = first; pit < first + geometry.getPitsPerSide(); pit++) {
+                if (!start.isValidMove(pit)) {
+                    continue;
+                }
+                Position child = new Position(start);
+                child.makeMove(pit);
+                pits.add(pit);
+                futures.add(pool.submit(() -> new Perft(geometry).perft(child, depth - 1)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                counts[pits.get(i)] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("perft interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("perft worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return counts;
+    }
+
+    /**
+     * @param root    starting position (not modified)
+     * @param depth   number of moves, 0..MAX_DEPTH
+     * @param threads worker threads (at least 1)
+     * @return number of leaf positions
+     */
+    public static long parallelPerft(Position root, int depth, int threads) {
+        if (depth == 0 || root.isGameOver()) {
+            checkDepth(depth);
+            return 1;
+        }
+        long total = 0;
+        for (long count : parallelDivide(root, depth, threads)) {
+            total += count;
+        }
+        return total;
+    }
+
+    // ---------------------- Command line ----------------------
+
+    /**
+     * Usage:
+     *   java model.ai.Perft check [maxDepth] [threads]
+     *   java model.ai.Perft depth [stones] [threads] [divide]
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java model.ai.Perft check [maxDepth] [threads]");
+            System.err.println("       java model.ai.Perft depth [stones] [threads] [divide]");
+            System.exit(1);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args[0].equals("check")) {
+            int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+            threads = args.length > 2 ? Integer.parseInt(args[2]) : threads;
+            System.exit(check(maxDepth, threads) ? 0 : 1);
+        }
+
+        int depth = Integer.parseInt(args[0]);
+        int stones = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        threads = args.length > 2 ? Integer.parseInt(args[2]) : threads;
+        boolean divide = args.length > 3 && args[3].equals("divide");
+
+        MancalaGame game = new MancalaGame();
+        game.initialize(stones);
+        Position root = Position.from(game);
+
+        Perft perft = new Perft(BoardGeometry.STANDARD);
+        long start = System.nanoTime();
+        long[] counts = threads == 1 ? perft.divide(root, depth)
+                : parallelDivide(root, depth, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long total = 0;
+        for (int pit = 0; pit < counts.length; pit++) {
+            if (divide && counts[pit] != 0) {
+                System.out.printf("  pit %2d: %,d%n", pit, counts[pit]);
+            }
+            total += counts[pit];
+        }
+        System.out.printf("perft(%d), %d stones, %d threads: %,d leaves in %.2f s (%,.0f leaves/s)%n",
+                depth, stones, threads, total, seconds, total / seconds);
+        if (threads == 1) {
+            // Leaves at the last ply are bulk counted; this is the raw makeMove rate.
+            System.out.printf("%,d moves made (%,.0f makeMove/s)%n",
+                    perft.getMoves(), perft.getMoves() / seconds);
+        }
+    }
+
+    /**
+     * Compares perft of the standard starting positions with KNOWN_COUNTS.
+     *
+     * @return true if every count matches
+     */
+    private static boolean check(int maxDepth, int threads) {
+        boolean ok = true;
+        for (int row = 0; row < KNOWN_STONES.length; row++) {
+            MancalaGame game = new MancalaGame();
+            game.initialize(KNOWN_STONES[row]);
+            Position root = Position.from(game);
+            int depths = Math.min(maxDepth, KNOWN_COUNTS[row].length);
+            for (int depth = 1; depth <= depths; depth++) {
+                long expected = KNOWN_COUNTS[row][depth - 1];
+                long start = System.nanoTime();
+                long actual = parallelPerft(root, depth, threads);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                boolean match = actual == expected;
+                ok &= match;
+                System.out.printf("%d stones depth %2d: %,15d %s (%.2f s, %,.0f leaves/s)%n",
+                        KNOWN_STONES[row], depth, actual,
+                        match ? "ok" : "MISMATCH, expected " + expected,
+                        seconds, actual / Math.max(seconds, 1e-9));
+            }
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.SplittableRandom;
+
+import model.Position;
+
+/**
+ * Strategy interface for choosing moves during Monte Carlo playouts.
+ * Implementations are called from several threads at once and must not
+ * keep mutable state of their own; use the supplied random source.
+ */
+public interface PlayoutPolicy {
+    /**
+     * @param position position to move in; not game over, and the side to
+     *                 move has at least one legal move
+     * @param random   the calling thread's random source
+     * @return a legal pit for the side to move
+     */
+    int choose(Position position, SplittableRandom random);
+}
@@ -0,0 +1,39 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.Position;
+
+/**
+ * Playout policy that picks uniformly among the legal moves.
+ */
+public class RandomPlayoutPolicy implements PlayoutPolicy {
+
+    @Override
+    public int choose(Position position, SplittableRandom random) {
+        BoardGeometry geometry = position.getGeometry();
+        int first = geometry.firstPitOf(position.getSideToMove());
+        int last = first + geometry.getPitsPerSide();
+
+        int legal = 0;
+        for (int pit = first; pit < last; pit++) {
+            if (position.stonesAt(pit) > 0) {
+                legal++;
+            }
+        }
+        int pick = random.nextInt(legal);
+        for (int pit = first; pit < last; pit++) {
+            if (position.stonesAt(pit) > 0 && pick-- == 0) {
+                return pit;
+            }
+        }
+        throw new IllegalStateException("no legal move in " + position);
+    }
+}
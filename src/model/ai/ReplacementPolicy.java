@@ -0,0 +1,29 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+/**
+ * Decides which entry a TranspositionTable overwrites when a new result
+ * hashes to an occupied slot.
+ */
+public enum ReplacementPolicy {
+
+    /** Always overwrite the slot. Cheapest, favors the most recent results. */
+    ALWAYS,
+
+    /**
+     * Overwrite only if the new result is at least as deep, is for the same
+     * position, or the old entry is from an earlier search.
+     */
+    DEPTH_PREFERRED,
+
+    /**
+     * Two slots per bucket: the first is depth-preferred, the second always
+     * takes whatever the first refused.
+     */
+    TWO_TIER
+}
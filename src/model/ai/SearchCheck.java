@@ -0,0 +1,166 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.Player;
+import model.Position;
+
+/**
+ * Differential self-check of SearchEngine against a plain minimax with the
+ * same free-turn and scoring rules, to be re-run whenever the search
+ * changes:
+ *
+ *   depths    every depth from 1 up to maxDepth on random positions; the
+ *             score must equal the minimax value and the chosen pit must
+ *             be a legal move that reaches it.
+ *   timeout   searches cut short by a 1 ms limit must still return a
+ *             legal move.
+ *
+ * Usage: java model.ai.SearchCheck [positions] [maxDepth] [seed]
+ *
+ * Prints one line per check and exits with 1 if any of them failed.
+ */
+public final class SearchCheck {
+
+    /** Positions searched with a time limit in the timeout check. */
+    private static final int TIMED_POSITIONS = 200;
+
+    private SearchCheck() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 3) {
+            System.err.println("Usage: java model.ai.SearchCheck [positions] [maxDepth] [seed]");
+            System.exit(1);
+        }
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 151L;
+
+        boolean ok = checkDepths(positions, maxDepth, new SplittableRandom(seed));
+        ok &= checkTimeout(new SplittableRandom(seed + 1));
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean report(String check, long cases, String failure) {
+        System.out.printf("%-40s %,12d cases: %s%n", check, cases, failure == null ? "ok" : "MISMATCH, " + failure);
+        return failure == null;
+    }
+
+    /**
+     * Plays a random number of random moves from a random start on a random
+     * packable board.
+     *
+     * @return a position that is not over
+     */
+    private static Position randomPosition(SplittableRandom random) {
+        while (true) {
+            BoardGeometry geometry = BoardGeometry.of(BoardGeometry.MIN_PITS_PER_SIDE + random.nextInt(
+                    BoardGeometry.MAX_PITS_PER_SIDE - BoardGeometry.MIN_PITS_PER_SIDE + 1));
+            if (!geometry.isPackable()) {
+                continue;
+            }
+            MancalaGame game = new MancalaGame(geometry);
+            game.initialize(1 + random.nextInt(5));
+            Position position = Position.from(game);
+            int plies = random.nextInt(40);
+            for (int i = 0; i < plies && !position.isGameOver(); i++) {
+                int first = geometry.firstPitOf(position.getSideToMove());
+                int pit;
+                do {
+                    pit = first + random.nextInt(geometry.getPitsPerSide());
+                } while (position.stonesAt(pit) == 0);
+                position.makeMove(pit);
+            }
+            if (!position.isGameOver()) {
+                return position;
+            }
+        }
+    }
+
+    // ---------------------- Depths ----------------------
+
+    private static boolean checkDepths(int positions, int maxDepth, SplittableRandom random) {
+        long cases = 0;
+        for (int n = 0; n < positions; n++) {
+            Position position = randomPosition(random);
+            BoardGeometry geometry = position.getGeometry();
+            SearchEngine engine = new SearchEngine(geometry, new TranspositionTable(16, ReplacementPolicy.TWO_TIER));
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                SearchResult result = engine.search(position, depth, 0);
+                int expected = minimax(position, depth);
+                int move = result.getBestMove();
+                cases++;
+                String failure = null;
+                if (result.getScore() != expected) {
+                    failure = "score " + result.getScore() + ", minimax " + expected;
+                } else if (!position.isValidMove(move)) {
+                    failure = "chose pit " + move;
+                } else if (valueOf(position, move, depth) != expected) {
+                    failure = "pit " + move + " is worth " + valueOf(position, move, depth)
+                            + ", minimax " + expected;
+                }
+                if (failure != null) {
+                    return report("search vs minimax, depths 1-" + maxDepth, cases,
+                            position + " depth " + depth + ": " + failure);
+                }
+            }
+        }
+        return report("search vs minimax, depths 1-" + maxDepth, cases, null);
+    }
+
+    /**
+     * @return minimax value of the position for the side to move, scored
+     *         like SearchEngine: store difference at the horizon or the end
+     */
+    private static int minimax(Position position, int depth) {
+        Player mover = position.getSideToMove();
+        if (position.isGameOver() || depth == 0) {
+            return position.getScore(mover) - position.getScore(mover.opposite());
+        }
+        int best = Integer.MIN_VALUE;
+        int first = position.getGeometry().firstPitOf(mover);
+        for (int pit = first; pit < first + position.getGeometry().getPitsPerSide(); pit++) {
+            if (position.stonesAt(pit) != 0) {
+                best = Math.max(best, valueOf(position, pit, depth));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return minimax value of playing the pit, for the side to move
+     */
+    private static int valueOf(Position position, int pit, int depth) {
+        Position child = new Position(position);
+        child.makeMove(pit);
+        int value = minimax(child, depth - 1);
+        return child.getSideToMove() == position.getSideToMove() ? value : -value;
+    }
+
+    // ---------------------- Timeout ----------------------
+
+    /**
+     * Searches with a limit too short for the deep iterations, so the
+     * search stops mid-iteration and falls back to the last completed one.
+     */
+    private static boolean checkTimeout(SplittableRandom random) {
+        for (int n = 0; n < TIMED_POSITIONS; n++) {
+            Position position = randomPosition(random);
+            SearchResult result = new SearchEngine(position.getGeometry()).search(position, SearchEngine.MAX_PLY, 1);
+            if (!position.isValidMove(result.getBestMove())) {
+                return report("search with a 1 ms limit", n + 1,
+                        position + ": chose pit " + result.getBestMove() + " after depth " + result.getDepth());
+            }
+        }
+        return report("search with a 1 ms limit", TIMED_POSITIONS, null);
+    }
+}
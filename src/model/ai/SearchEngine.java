@@ -0,0 +1,551 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.Arrays;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.Player;
+import model.Position;
+import model.SowingTable;
+
+/**
+ * Iterative-deepening negamax search with alpha-beta pruning over Position.
+ *
+ * Scores are final store differences (mover minus opponent). Non-terminal
+ * leaves are scored by the current store difference, terminal positions by
+ * the exact final result.
+ *
+ * Mancala's free-turn rule means the side to move does not always alternate.
+ * When a move leaves the same player to move, the child is searched with the
+ * same window and its score is NOT negated; only a real change of turn flips
+ * the sign. Every move, including a free-turn continuation, counts as a ply.
+ *
+ * Moves are ordered free turns first (nearest to the store first, so one
+ * free turn does not spoil the next), then captures (largest first), then by
+ * a killer move and a history heuristic. The previous iteration's best root
+ * move is always searched first, and later moves are tried with a null
+ * window (principal variation search) before any full re-search.
+ *
+ * Nodes one ply above the horizon are scored with Position.scoreAfter
+ * instead of playing out their moves, and any node whose window lies
+ * beyond what the remaining pit stones can change is cut off at once.
+ * Both shortcuts return what the full search would, so only the node
+ * count changes.
+ *
+ * Results are cached in a TranspositionTable keyed by Position.getHash.
+ * Because stores are not part of the key, entries hold scores relative to
+ * the store difference at the node, which makes every position with the
+ * same pits and side to move share one entry.
+ *
+ * The engine preallocates one Position per ply and copies the parent into it
+ * before each move, so a search allocates nothing beyond its result. An
+ * engine instance is not thread-safe; give each thread its own. Engines
+ * may share one TranspositionTable.
+ */
+public class SearchEngine {
+
+    /** Deepest ply the engine will ever reach. */
+    public static final int MAX_PLY = 128;
+
+    /** Larger than any reachable score. */
+    static final int INFINITY = 10_000;
+
+    /** Ordering bonus for moves that end in the mover's store. */
+    private static final int FREE_TURN_BONUS = 1 << 20;
+
+    /** Ordering bonus for moves that capture. */
+    private static final int CAPTURE_BONUS = 1 << 19;
+
+    /** Ordering bonus for the killer move of the current ply. */
+    private static final int KILLER_BONUS = 1 << 18;
+
+    /** Half-width of the first root window around the previous score. */
+    private static final int ASPIRATION_WINDOW = 2;
+
+    /** Shallowest remaining depth at which the transposition table is used. */
+    private static final int MIN_TABLE_DEPTH = 4;
+
+    /** The clock and stop flag are checked once every this many nodes (power of two). */
+    private static final int TIME_CHECK_INTERVAL = 4096;
+
+    private final BoardGeometry geometry;
+    private final SowingTable sowingTable;
+    private final int pitsPerSide;
+    private final TranspositionTable table;
+
+    /** stack[ply] holds the position being searched at that ply. */
+    private final Position[] stack = new Position[MAX_PLY + 1];
+
+    /** Move lists and ordering keys, one row per ply. */
+    private final int[][] moves;
+    private final int[][] keys;
+
+    /** History heuristic: how often each pit caused a cutoff, weighted by depth. */
+    private final int[] history;
+
+    /** Killer move: the last pit that caused a cutoff at each ply, or -1. */
+    private final int[] killers = new int[MAX_PLY + 1];
+
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+
+    /** Precomputed opening moves, or null. */
+    private OpeningBook book;
+
+    /** Exact values for positions with few pit stones, or null. */
+    private EndgameDatabase endgame;
+    private int endgameStones = -1;
+
+    /** Set by stop(); polled together with the clock. */
+    private volatile boolean stopRequested;
+    private int rootBestMove;
+
+    /**
+     * Creates an engine for the standard board.
+     */
+    public SearchEngine() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    /**
+     * Creates an engine for the given (packable) board with its own
+     * default-sized transposition table.
+     *
+     * @param geometry board shape to search
+     */
+    public SearchEngine(BoardGeometry geometry) {
+        this(geometry, new TranspositionTable());
+    }
+
+    /**
+     * Creates an engine for the given (packable) board that uses the given
+     * transposition table, which may be shared with other engines.
+     *
+     * @param geometry board shape to search
+     * @param table    transposition table to read and write
+     */
+    public SearchEngine(BoardGeometry geometry, TranspositionTable table) {
+        this.geometry = geometry;
+        this.table = table;
+        this.sowingTable = geometry.getSowingTable();
+        this.pitsPerSide = geometry.getPitsPerSide();
+        this.moves = new int[MAX_PLY + 1][pitsPerSide];
+        this.keys = new int[MAX_PLY + 1][pitsPerSide];
+        this.history = new int[geometry.getTotalPockets()];
+        for (int i = 0; i <= MAX_PLY; i++) {
+            stack[i] = new Position(geometry);
+        }
+    }
+
+    /**
+     * Searches the current position of a game.
+     *
+     * @param game            game to analyze (not modified)
+     * @param maxDepth        deepest iteration to run, in plies
+     * @param timeLimitMillis stop after roughly this long (0 = no limit)
+     * @return the best move found
+     */
+    public SearchResult search(MancalaGame game, int maxDepth, long timeLimitMillis) {
+        stack[0].load(game);
+        return startSearch(maxDepth, timeLimitMillis);
+    }
+
+    /**
+     * Searches a position with iterative deepening. Iterations run from depth
+     * 1 up to maxDepth; if the time limit expires mid-iteration, the result of
+     * the last completed iteration is returned.
+     *
+     * @param root            position to analyze (not modified)
+     * @param maxDepth        deepest iteration to run, in plies
+     * @param timeLimitMillis stop after roughly this long (0 = no limit)
+     * @return the best move found
+     */
+    public SearchResult search(Position root, int maxDepth, long timeLimitMillis) {
+        stack[0].copyFrom(root);
+        return startSearch(maxDepth, timeLimitMillis);
+    }
+
+    /**
+     * Asks a running search to stop as soon as possible. It returns the
+     * result of its last completed iteration. Safe to call from any thread.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Answers positions found in an opening book straight from the book
+     * instead of searching them.
+     *
+     * @param book book for this engine's board, or null to stop using one
+     * @throws IllegalArgumentException if the book is for another board
+     */
+    public void setOpeningBook(OpeningBook book) {
+        if (book != null && book.getGeometry() != geometry) {
+            throw new IllegalArgumentException("opening book is for " + book.getGeometry());
+        }
+        this.book = book;
+    }
+
+    /**
+     * Uses an endgame database to score covered positions exactly instead
+     * of searching them.
+     *
+     * @param database database for this engine's board, or null to stop using one
+     * @throws IllegalArgumentException if the database is for another board
+     */
+    public void setEndgameDatabase(EndgameDatabase database) {
+        if (database != null && database.getGeometry() != geometry) {
+            throw new IllegalArgumentException("endgame database is for " + database.getGeometry());
+        }
+        this.endgame = database;
+        this.endgameStones = database == null ? -1 : database.getMaxStones();
+    }
+
+    /**
+     * @return the transposition table this engine uses.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return number of positions visited by the last search so far.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    // ---------------------- Search ----------------------
+
+    private SearchResult startSearch(int maxDepth, long timeLimitMillis) {
+        if (book != null) {
+            long start = System.nanoTime();
+            Position root = stack[0];
+            int move = book.getMove(root);
+            if (move != OpeningBook.NO_MOVE) {
+                return new SearchResult(move, book.getScore(root), book.getDepth(root), 0,
+                        System.nanoTime() - start);
+            }
+        }
+        stopRequested = false;
+        table.newSearch();
+        return searchRoot(maxDepth, timeLimitMillis, 1);
+    }
+
+    /**
+     * Prepares this engine to be run as one of several threads of a
+     * ParallelSearch: the caller owns the table generation and may call
+     * stop() before the helper even starts.
+     */
+    void prepareHelper() {
+        stopRequested = false;
+    }
+
+    /**
+     * Runs a helper search from a position shared with other threads.
+     *
+     * @param firstDepth depth of the first iteration, used to desynchronize
+     *                   helpers so they fill the table with different work
+     */
+    SearchResult searchAsHelper(Position root, int maxDepth, long timeLimitMillis, int firstDepth) {
+        stack[0].copyFrom(root);
+        return searchRoot(maxDepth, timeLimitMillis, firstDepth);
+    }
+
+    private SearchResult searchRoot(int maxDepth, long timeLimitMillis, int firstDepth) {
+        long start = System.nanoTime();
+        deadline = timeLimitMillis > 0 ? start + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+        aborted = false;
+        nodes = 0;
+        rootBestMove = -1;
+        Arrays.fill(history, 0);
+        Arrays.fill(killers, -1);
+
+        Position root = stack[0];
+        if (root.isGameOver() || generateMoves(root, 0) == 0) {
+            return new SearchResult(-1, evaluate(root), 0, 0, System.nanoTime() - start);
+        }
+
+        int bestMove = moves[0][0];
+        int bestScore = 0;
+        int completedDepth = 0;
+        int depthLimit = Math.min(maxDepth, MAX_PLY);
+        for (int depth = Math.min(firstDepth, depthLimit); depth <= depthLimit; depth++) {
+            ageHistory();
+            int score = aspirate(depth, bestScore, completedDepth > 0);
+            if (aborted) {
+                break;
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Searches the root with a narrow window around the previous iteration's
+     * score, widening it whenever the result falls outside.
+     */
+    private int aspirate(int depth, int guess, boolean haveGuess) {
+        if (!haveGuess) {
+            return negamax(0, depth, -INFINITY, INFINITY);
+        }
+        int delta = ASPIRATION_WINDOW;
+        int alpha = guess - delta;
+        int beta = guess + delta;
+        while (true) {
+            int score = negamax(0, depth, alpha, beta);
+            if (aborted) {
+                return score;
+            }
+            if (score <= alpha) {
+                alpha = Math.max(score - delta, -INFINITY);
+            } else if (score >= beta) {
+                beta = Math.min(score + delta, INFINITY);
+            } else {
+                return score;
+            }
+            delta *= 2;
+        }
+    }
+
+    /**
+     * Negamax with alpha-beta. The returned score is from the point of view
+     * of the side to move at {@code stack[ply]}.
+     */
+    int negamax(int ply, int depth, int alpha, int beta) {
+        Position position = stack[ply];
+        if ((++nodes & (TIME_CHECK_INTERVAL - 1)) == 0
+                && (stopRequested || System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        int storeDifference = evaluate(position);
+        if (position.isGameOver() || depth == 0 || ply == MAX_PLY) {
+            return storeDifference;
+        }
+        if (ply > 0 && endgame != null && position.getPitStones() <= endgameStones) {
+            return storeDifference + endgame.lookup(position);
+        }
+        if (ply > 0) {
+            // Every pit stone ends up in one store or the other, so the
+            // final difference is within pitStones of the current one.
+            int pitStones = position.getPitStones();
+            if (storeDifference + pitStones <= alpha) {
+                return storeDifference + pitStones;
+            }
+            if (storeDifference - pitStones >= beta) {
+                return storeDifference - pitStones;
+            }
+        }
+        if (depth == 1 && ply > 0) {
+            // Not at the root, which has to record its best move.
+            return searchFrontier(position, beta);
+        }
+
+        // Near the leaves a table probe (a likely cache miss) costs more
+        // than just searching the few remaining plies.
+        boolean useTable = depth >= MIN_TABLE_DEPTH;
+        long hash = position.getHash();
+        int hashMove = TranspositionTable.NO_MOVE;
+        long entry = useTable ? table.probe(hash) : TranspositionTable.MISS;
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.moveOf(entry);
+            if (ply > 0 && TranspositionTable.depthOf(entry) >= depth) {
+                int stored = TranspositionTable.scoreOf(entry) + storeDifference;
+                int bound = TranspositionTable.boundOf(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && stored >= beta)
+                        || (bound == TranspositionTable.UPPER && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        int count = generateMoves(position, ply);
+        if (ply == 0 && rootBestMove >= 0) {
+            promote(ply, count, rootBestMove);
+        } else if (hashMove != TranspositionTable.NO_MOVE) {
+            promote(ply, count, hashMove);
+        }
+
+        Player mover = position.getSideToMove();
+        Position child = stack[ply + 1];
+        int[] plyMoves = moves[ply];
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestPit = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            int pit = plyMoves[i];
+            child.copyFrom(position);
+            child.makeMove(pit);
+
+            // Free turn (or game over, which is scored for the mover): same
+            // player, no sign flip. Moves after the first are tried with a
+            // null window and only re-searched if they beat alpha.
+            boolean sameSide = child.getSideToMove() == mover;
+            int score;
+            if (i == 0) {
+                score = searchChild(ply, depth, sameSide, alpha, beta);
+            } else {
+                score = searchChild(ply, depth, sameSide, alpha, alpha + 1);
+                if (score > alpha && score < beta && !aborted) {
+                    score = searchChild(ply, depth, sameSide, alpha, beta);
+                }
+            }
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestPit = pit;
+                if (ply == 0) {
+                    rootBestMove = pit;
+                }
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                history[pit] += depth * depth;
+                killers[ply] = pit;
+                break;
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        if (useTable) {
+            // When every move failed low, bestPit is just the largest of
+            // several upper bounds; the previous hash move is a better guess.
+            int move = bound == TranspositionTable.UPPER ? hashMove : bestPit;
+            table.store(hash, best - storeDifference, depth, bound, move);
+        }
+        return best;
+    }
+
+    /**
+     * Searches stack[ply + 1] with the window (alpha, beta) given from the
+     * parent's point of view.
+     */
+    private int searchChild(int ply, int depth, boolean sameSide, int alpha, int beta) {
+        if (sameSide) {
+            return negamax(ply + 1, depth - 1, alpha, beta);
+        }
+        return -negamax(ply + 1, depth - 1, -beta, -alpha);
+    }
+
+    /**
+     * Scores a node one ply above the horizon. Each child would only be
+     * scored by its store difference, and a free turn or the end of the game
+     * keeps the mover, so every child scores the mover's store difference
+     * after the move. Position.scoreAfter computes that without playing the
+     * move, so the children are neither copied, hashed nor counted as nodes.
+     */
+    private int searchFrontier(Position position, int beta) {
+        int first = geometry.firstPitOf(position.getSideToMove());
+        int best = -INFINITY;
+        for (int pit = first; pit < first + pitsPerSide; pit++) {
+            if (position.stonesAt(pit) != 0) {
+                best = Math.max(best, position.scoreAfter(pit));
+                if (best >= beta) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Static evaluation: store difference from the side to move's point of
+     * view. Exact once the game is over.
+     */
+    int evaluate(Position position) {
+        Player mover = position.getSideToMove();
+        return position.getScore(mover) - position.getScore(mover.opposite());
+    }
+
+    // ---------------------- Move generation and ordering ----------------------
+
+    /**
+     * Fills moves[ply] with the legal moves of the position, best-first.
+     *
+     * @return number of legal moves
+     */
+    int generateMoves(Position position, int ply) {
+        Player mover = position.getSideToMove();
+        int first = geometry.firstPitOf(mover);
+        int store = geometry.storeOf(mover);
+        int cycle = sowingTable.getCycleLength();
+        int[] plyMoves = moves[ply];
+        int[] plyKeys = keys[ply];
+
+        int count = 0;
+        for (int pit = first; pit < first + pitsPerSide; pit++) {
+            int stones = position.stonesAt(pit);
+            if (stones == 0) {
+                continue;
+            }
+            int key = pit == killers[ply] ? KILLER_BONUS : Math.min(history[pit], KILLER_BONUS - 1);
+            int landing = sowingTable.landingPit(pit, stones);
+            if (landing == store) {
+                key = FREE_TURN_BONUS + pit;
+            } else if (stones < cycle && geometry.isOwnPit(landing, mover)
+                    && position.stonesAt(landing) == 0) {
+                int captured = position.stonesAt(geometry.oppositeOf(landing));
+                if (captured > 0) {
+                    key = CAPTURE_BONUS + captured;
+                }
+            }
+
+            // Insertion sort, highest key first.
+            int j = count++;
+            while (j > 0 && plyKeys[j - 1] < key) {
+                plyMoves[j] = plyMoves[j - 1];
+                plyKeys[j] = plyKeys[j - 1];
+                j--;
+            }
+            plyMoves[j] = pit;
+            plyKeys[j] = key;
+        }
+        return count;
+    }
+
+    /**
+     * Halves the history scores so that cutoffs from earlier iterations do
+     * not outweigh those from the current one.
+     */
+    private void ageHistory() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Moves the given pit to the front of the move list, if present.
+     */
+    void promote(int ply, int count, int pit) {
+        int[] plyMoves = moves[ply];
+        for (int i = 0; i < count; i++) {
+            if (plyMoves[i] == pit) {
+                System.arraycopy(plyMoves, 0, plyMoves, 1, i);
+                plyMoves[0] = pit;
+                return;
+            }
+        }
+    }
+}
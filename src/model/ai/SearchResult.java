@@ -0,0 +1,76 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+/**
+ * Outcome of a search: the best move found and some statistics about the
+ * search that produced it.
+ */
+public final class SearchResult {
+
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a SearchResult.
+     *
+     * @param bestMove     best pit found, or -1 if there was no legal move
+     * @param score        score of that move from the mover's point of view
+     *                     (see getScore)
+     * @param depth        deepest fully completed iteration, in plies
+     * @param nodes        number of positions visited
+     * @param elapsedNanos wall-clock time spent searching
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * @return expected final store difference (mover minus opponent) for
+     *         alpha-beta searches, or the win percentage (0..100) of the best
+     *         move for MonteCarloSearch.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return nodes searched per second.
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult[move=" + bestMove + ", score=" + score + ", depth=" + depth
+                + ", nodes=" + nodes + ", ms=" + elapsedNanos / 1_000_000 + "]";
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size transposition table keyed by Zobrist hashes (Position.getHash).
+ *
+ * Entries live in two parallel primitive arrays whose length is a power of
+ * two, so a slot is found with a mask instead of a modulo. Each entry's data
+ * word packs:
+ *
+ *   bits  0..15  score (signed), relative to the store difference
+ *   bits 16..23  remaining depth the score was searched to
+ *   bits 24..25  bound type (UPPER, LOWER or EXACT; never 0 for a real entry)
+ *   bits 26..30  best move, or NO_MOVE
+ *   bits 32..39  generation (search number) that wrote the entry
+ *
+ * The table is shared between threads without locks. The key array holds
+ * {@code hash ^ data} rather than the hash itself, so a reader that sees a
+ * key from one write and data from another (a torn entry) computes the
+ * wrong hash and treats the slot as a miss. Lost or stale writes only cost
+ * search time, never correctness.
+ *
+ * Probe, hit and store counts are kept in LongAdders so that several
+ * threads can update them without contending on one counter.
+ */
+public final class TranspositionTable {
+
+    /** Upper bound: the real score is at most the stored one. */
+    public static final int UPPER = 1;
+
+    /** Lower bound: the real score is at least the stored one. */
+    public static final int LOWER = 2;
+
+    /** Exact score. */
+    public static final int EXACT = 3;
+
+    /** Stored move value meaning "no best move recorded". */
+    public static final int NO_MOVE = 0x1F;
+
+    /** Returned by {@link #probe(long)} when there is no entry. */
+    public static final long MISS = 0L;
+
+    /** Table size used by the default constructor: 2^20 entries (16 MB). */
+    public static final int DEFAULT_SIZE_BITS = 20;
+
+    private static final int DEPTH_SHIFT = 16;
+    private static final int BOUND_SHIFT = 24;
+    private static final int MOVE_SHIFT = 26;
+    private static final int GENERATION_SHIFT = 32;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private final ReplacementPolicy policy;
+
+    /** Current search number, stamped into new entries. */
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * Creates a table of the default size with the TWO_TIER policy.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_BITS, ReplacementPolicy.TWO_TIER);
+    }
+
+    /**
+     * Creates a table with 2^sizeBits entries.
+     *
+     * @param sizeBits log2 of the number of entries (1..30)
+     * @param policy   replacement policy for occupied slots
+     * @throws IllegalArgumentException if sizeBits is out of range
+     */
+    public TranspositionTable(int sizeBits, ReplacementPolicy policy) {
+        if (sizeBits < 1 || sizeBits > 30) {
+            throw new IllegalArgumentException("sizeBits must be between 1 and 30");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        this.keys = new long[1 << sizeBits];
+        this.data = new long[1 << sizeBits];
+        this.mask = (1 << sizeBits) - 1;
+        this.policy = policy;
+    }
+
+    // ---------------------- Probing and storing ----------------------
+
+    /**
+     * Looks up a position. Both slots of its bucket are checked, whatever
+     * the policy.
+     *
+     * @param hash Zobrist key of the position
+     * @return the entry's data word, or MISS
+     */
+    public long probe(long hash) {
+        probes.increment();
+        int slot = (int) hash & mask;
+        long entry = data[slot];
+        if ((keys[slot] ^ entry) == hash && entry != MISS) {
+            hits.increment();
+            return entry;
+        }
+        slot ^= 1;
+        entry = data[slot];
+        if ((keys[slot] ^ entry) == hash && entry != MISS) {
+            hits.increment();
+            return entry;
+        }
+        return MISS;
+    }
+
+    /**
+     * Records a search result, subject to the replacement policy.
+     *
+     * @param hash  Zobrist key of the position
+     * @param score score relative to the position's store difference
+     * @param depth remaining depth it was searched to (0..255)
+     * @param bound UPPER, LOWER or EXACT
+     * @param move  best pit found, or NO_MOVE
+     */
+    public void store(long hash, int score, int depth, int bound, int move) {
+        int gen = generation;
+        long entry = (score & 0xFFFFL)
+                | ((long) Math.min(depth, BYTE_MASK) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (move & NO_MOVE) << MOVE_SHIFT)
+                | ((long) (gen & BYTE_MASK) << GENERATION_SHIFT);
+
+        int slot = (int) hash & mask;
+        switch (policy) {
+            case ALWAYS:
+                break;
+            case DEPTH_PREFERRED:
+                if (!shouldReplace(slot, hash, depth, gen)) {
+                    return;
+                }
+                break;
+            case TWO_TIER:
+            default:
+                slot &= ~1;
+                if (!shouldReplace(slot, hash, depth, gen)) {
+                    slot |= 1;
+                }
+                break;
+        }
+        data[slot] = entry;
+        keys[slot] = hash ^ entry;
+        stores.increment();
+    }
+
+    /**
+     * Starts a new search: entries written by earlier searches become
+     * replaceable by the depth-preferred policies.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & BYTE_MASK;
+    }
+
+    /**
+     * Empties the table and resets the counters. Not safe to call while
+     * another thread is searching.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+        resetStatistics();
+    }
+
+    private boolean shouldReplace(int slot, long hash, int depth, int gen) {
+        long old = data[slot];
+        return old == MISS
+                || (keys[slot] ^ old) == hash
+                || generationOf(old) != (gen & BYTE_MASK)
+                || depth >= depthOf(old);
+    }
+
+    // ---------------------- Entry decoding ----------------------
+
+    public static int scoreOf(long entry) {
+        return (short) entry;
+    }
+
+    public static int depthOf(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & BYTE_MASK;
+    }
+
+    public static int boundOf(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * @return best move stored with the entry, or NO_MOVE.
+     */
+    public static int moveOf(long entry) {
+        return (int) (entry >>> MOVE_SHIFT) & NO_MOVE;
+    }
+
+    private static int generationOf(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & BYTE_MASK;
+    }
+
+    // ---------------------- Statistics ----------------------
+
+    /**
+     * @return number of entries the table can hold.
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * @return fraction of probes that found an entry (0 if nothing was probed).
+     */
+    public double getHitRate() {
+        long probed = probes.sum();
+        return probed == 0 ? 0.0 : (double) hits.sum() / probed;
+    }
+
+    public void resetStatistics() {
+        probes.reset();
+        hits.reset();
+        stores.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable[capacity=" + getCapacity() + ", policy=" + policy
+                + ", probes=" + getProbes() + ", hits=" + getHits()
+                + ", stores=" + getStores() + "]";
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.archive;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import model.BoardGeometry;
+import model.MoveCode;
+import model.Player;
+import model.Position;
+
+/**
+ * Read-only, random-access view of a replay archive written by
+ * ReplayArchiveWriter.
+ *
+ * The file is memory-mapped and nothing is copied onto the heap: moves
+ * and checkpoints are read straight from the mapping. Every game stores a
+ * full board checkpoint every K plies, so seeking to ply N loads the
+ * checkpoint at or before N and plays at most K - 1 moves on a Position,
+ * which uses the same board indexing and rules as MancalaGame.
+ *
+ * File format (big-endian):
+ *   header (HEADER_SIZE): magic "MNCLRPLY" (8), version (4), pits per
+ *     side (4), checkpoint interval K (4), game count (4), index offset (8)
+ *   per game: moves, one byte per ply (pit index), padded to 8 bytes;
+ *     then plies / K + 1 checkpoints of CHECKPOINT_SIZE bytes: low word
+ *     (8), high word (8), flags (8: bit 0 Player B to move, bit 1 over)
+ *   index, INDEX_ENTRY_SIZE bytes per game: data offset (8), plies (4),
+ *     reserved (4)
+ *
+ * Like the endgame database, an archive must stay under 2 GB. Reads are
+ * safe from any number of threads.
+ */
+public final class ReplayArchive implements AutoCloseable {
+
+    static final long MAGIC = 0x4D4E434C52504C59L;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int CHECKPOINT_SIZE = 24;
+    static final int INDEX_ENTRY_SIZE = 16;
+
+    static final int OFFSET_PITS_PER_SIDE = 12;
+    static final int OFFSET_INTERVAL = 16;
+    static final int OFFSET_GAME_COUNT = 20;
+    static final int OFFSET_INDEX = 24;
+
+    static final long FLAG_PLAYER_B = 1;
+    static final long FLAG_GAME_OVER = 2;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final BoardGeometry geometry;
+    private final int interval;
+    private final int gameCount;
+    private final int indexOffset;
+
+    private ReplayArchive(FileChannel channel, MappedByteBuffer buffer, BoardGeometry geometry,
+                          int interval, int gameCount, int indexOffset) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.geometry = geometry;
+        this.interval = interval;
+        this.gameCount = gameCount;
+        this.indexOffset = indexOffset;
+    }
+
+    /**
+     * Opens and maps an archive.
+     *
+     * @param file archive written by ReplayArchiveWriter
+     * @return the archive
+     * @throws IOException if the file cannot be read, is not an archive or
+     *                     was not finished
+     */
+    public static ReplayArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a replay archive");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION) {
+                throw new IOException(file + " is not a replay archive");
+            }
+            BoardGeometry geometry = BoardGeometry.of(buffer.getInt(OFFSET_PITS_PER_SIDE));
+            int interval = buffer.getInt(OFFSET_INTERVAL);
+            int games = buffer.getInt(OFFSET_GAME_COUNT);
+            long index = buffer.getLong(OFFSET_INDEX);
+            if (interval < 1 || games < 0 || index < HEADER_SIZE
+                    || index + (long) games * INDEX_ENTRY_SIZE > size) {
+                throw new IOException(file + " is truncated or was not closed");
+            }
+            return new ReplayArchive(channel, buffer, geometry, interval, games, (int) index);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return board shape of every game in the archive.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @return plies between checkpoints (K).
+     */
+    public int getCheckpointInterval() {
+        return interval;
+    }
+
+    /**
+     * @return number of games.
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * @param game game number, 0..getGameCount() - 1
+     * @return number of moves in the game
+     */
+    public int getPlyCount(int game) {
+        return buffer.getInt(entryOf(game) + 8);
+    }
+
+    /**
+     * @param game game number
+     * @param ply  0..getPlyCount(game) - 1
+     * @return pit played at that ply
+     */
+    public int getMove(int game, int ply) {
+        int entry = entryOf(game);
+        checkPly(entry, ply, false);
+        return buffer.get(dataOf(entry) + ply) & 0xFF;
+    }
+
+    /**
+     * @param game game number
+     * @param ply  0..getPlyCount(game)
+     * @return a new position after the given number of moves
+     */
+    public Position positionAt(int game, int ply) {
+        Position position = new Position(geometry);
+        seek(game, ply, position);
+        return position;
+    }
+
+    /**
+     * Overwrites a position with the state after the given number of moves
+     * of a game, starting from the nearest checkpoint. Allocates nothing.
+     *
+     * @param game   game number
+     * @param ply    0..getPlyCount(game); 0 is the starting position
+     * @param target position on this archive's geometry to overwrite
+     * @throws IllegalArgumentException if game or ply is out of range
+     */
+    public void seek(int game, int ply, Position target) {
+        int entry = entryOf(game);
+        int plies = checkPly(entry, ply, true);
+        int data = dataOf(entry);
+        int checkpoint = ply / interval;
+        int at = checkpointsOf(data, plies) + checkpoint * CHECKPOINT_SIZE;
+        long flags = buffer.getLong(at + 16);
+        target.set(buffer.getLong(at), buffer.getLong(at + 8),
+                (flags & FLAG_PLAYER_B) != 0 ? Player.PLAYER_B : Player.PLAYER_A,
+                (flags & FLAG_GAME_OVER) != 0);
+        for (int i = checkpoint * interval; i < ply; i++) {
+            int code = target.makeMove(buffer.get(data + i) & 0xFF);
+            if (!MoveCode.isLegal(code)) {
+                throw new IllegalStateException("archive game " + game + " has an illegal move at ply " + i);
+            }
+        }
+    }
+
+    private int entryOf(int game) {
+        if (game < 0 || game >= gameCount) {
+            throw new IllegalArgumentException("game must be between 0 and " + (gameCount - 1));
+        }
+        return indexOffset + game * INDEX_ENTRY_SIZE;
+    }
+
+    private int checkPly(int entry, int ply, boolean inclusive) {
+        int plies = buffer.getInt(entry + 8);
+        if (ply < 0 || ply > plies || (!inclusive && ply == plies)) {
+            throw new IllegalArgumentException("ply must be between 0 and "
+                    + (inclusive ? plies : plies - 1));
+        }
+        return plies;
+    }
+
+    private int dataOf(int entry) {
+        return (int) buffer.getLong(entry);
+    }
+
+    static int checkpointsOf(int data, int plies) {
+        return data + paddedMoves(plies);
+    }
+
+    static int paddedMoves(int plies) {
+        return (plies + 7) & ~7;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayArchive[" + geometry + ", " + gameCount + " games, checkpoint every "
+                + interval + " plies]";
+    }
+}
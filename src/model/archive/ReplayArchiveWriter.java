@@ -0,0 +1,191 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import model.BoardGeometry;
+import model.MoveCode;
+import model.Player;
+import model.Position;
+
+/**
+ * Streams games into a replay archive (see ReplayArchive for the format).
+ *
+ * Each game is checked by playing it on a Position, which also produces
+ * the checkpoints, and is written straight to the file through a small
+ * buffer; only the 12-byte index entry per game stays in memory until
+ * close writes the index and finishes the header. addGame is
+ * synchronized, so several simulator threads can share one writer.
+ */
+public final class ReplayArchiveWriter implements AutoCloseable {
+
+    /** Checkpoint interval used when none is given. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 16;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final BoardGeometry geometry;
+    private final int interval;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final Position position;
+
+    private long offset = ReplayArchive.HEADER_SIZE;
+    private long[] gameOffsets = new long[64];
+    private int[] gamePlies = new int[64];
+    private int games;
+    private long[] checkpoints = new long[3 * 16];
+    private boolean closed;
+
+    /**
+     * Creates (or overwrites) an archive file.
+     *
+     * @param file               output file
+     * @param geometry           board shape of every game (must be packable)
+     * @param checkpointInterval plies between checkpoints (at least 1)
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public ReplayArchiveWriter(Path file, BoardGeometry geometry, int checkpointInterval) throws IOException {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("checkpointInterval must be at least 1");
+        }
+        this.geometry = geometry;
+        this.interval = checkpointInterval;
+        this.position = new Position(geometry);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        // Written for real by close; until then the file is not a valid archive.
+        buffer.put(new byte[ReplayArchive.HEADER_SIZE]);
+    }
+
+    /**
+     * Appends one game.
+     *
+     * @param start starting position (not modified)
+     * @param moves pits played, in order
+     * @param plies number of entries of moves to use
+     * @return the game's number in the archive
+     * @throws IllegalArgumentException if a move is illegal or the start uses
+     *                                  another geometry; nothing is written then
+     * @throws IOException if the file cannot be written or would exceed 2 GB
+     */
+    public synchronized int addGame(Position start, int[] moves, int plies) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("archive is closed");
+        }
+        if (start.getGeometry() != geometry) {
+            throw new IllegalArgumentException("game uses a different board geometry");
+        }
+        if (plies < 0 || plies > moves.length) {
+            throw new IllegalArgumentException("plies must be between 0 and " + moves.length);
+        }
+
+        int checkpointCount = plies / interval + 1;
+        if (checkpoints.length < checkpointCount * 3) {
+            checkpoints = new long[checkpointCount * 3 * 2];
+        }
+        position.copyFrom(start);
+        for (int ply = 0; ply <= plies; ply++) {
+            if (ply % interval == 0) {
+                int c = ply / interval * 3;
+                checkpoints[c] = position.getLow();
+                checkpoints[c + 1] = position.getHigh();
+                checkpoints[c + 2] = (position.getSideToMove() == Player.PLAYER_B ? ReplayArchive.FLAG_PLAYER_B : 0)
+                        | (position.isGameOver() ? ReplayArchive.FLAG_GAME_OVER : 0);
+            }
+            if (ply < plies && !MoveCode.isLegal(position.makeMove(moves[ply]))) {
+                throw new IllegalArgumentException("illegal move " + moves[ply] + " at ply " + ply);
+            }
+        }
+
+        long size = ReplayArchive.paddedMoves(plies) + (long) checkpointCount * ReplayArchive.CHECKPOINT_SIZE;
+        if (offset + size + (long) (games + 1) * ReplayArchive.INDEX_ENTRY_SIZE > Integer.MAX_VALUE) {
+            throw new IOException("replay archive would exceed 2 GB");
+        }
+
+        for (int ply = 0; ply < ReplayArchive.paddedMoves(plies); ply++) {
+            ensureRoom(1);
+            buffer.put(ply < plies ? (byte) moves[ply] : 0);
+        }
+        for (int c = 0; c < checkpointCount * 3; c++) {
+            ensureRoom(8);
+            buffer.putLong(checkpoints[c]);
+        }
+
+        if (games == gameOffsets.length) {
+            gameOffsets = Arrays.copyOf(gameOffsets, games * 2);
+            gamePlies = Arrays.copyOf(gamePlies, games * 2);
+        }
+        gameOffsets[games] = offset;
+        gamePlies[games] = plies;
+        offset += size;
+        return games++;
+    }
+
+    /**
+     * @return number of games added so far.
+     */
+    public synchronized int getGameCount() {
+        return games;
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the index and header and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (int game = 0; game < games; game++) {
+                ensureRoom(ReplayArchive.INDEX_ENTRY_SIZE);
+                buffer.putLong(gameOffsets[game]).putInt(gamePlies[game]).putInt(0);
+            }
+            drain();
+
+            ByteBuffer header = ByteBuffer.allocate(ReplayArchive.HEADER_SIZE);
+            header.putLong(ReplayArchive.MAGIC)
+                    .putInt(ReplayArchive.VERSION)
+                    .putInt(geometry.getPitsPerSide())
+                    .putInt(interval)
+                    .putInt(games)
+                    .putLong(offset)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.journal;
+
+/**
+ * When GameJournal forces written records to the storage device.
+ */
+public enum FsyncPolicy {
+
+    /** Force after every batch: nothing acknowledged is lost on power failure. */
+    EVERY_BATCH,
+
+    /** Force at most once per sync interval: bounded loss on power failure. */
+    PERIODIC,
+
+    /** Never force; the OS writes back when it likes. Survives a process crash only. */
+    NEVER
+}
@@ -0,0 +1,444 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import model.GameRecorder;
+import model.MancalaGame;
+import model.MoveCode;
+
+/**
+ * Crash-safe, append-only log of one game, written through a FileChannel.
+ *
+ * Attached to a MancalaGame as its GameRecorder, it logs every
+ * initialize, saveState, legal move and successful undo. Replaying those
+ * calls on a fresh game rebuilds the exact state, including the undo
+ * history and counters, so a game survives the process dying mid-turn.
+ *
+ * Recording never touches the disk on the caller's thread: a record is
+ * put in an in-memory batch under a short lock and a background writer
+ * drains the batch with one positional write (group commit), then forces
+ * it to the device according to the FsyncPolicy. Each initialize starts a
+ * new game, so the writer truncates the log back to the header before
+ * writing it.
+ *
+ * File format (big-endian):
+ *   header: magic "MNCLJRNL" (8), version (4), pits per side (4)
+ *   records, RECORD_SIZE bytes each: type (1), argument (1), sequence
+ *   number within the game (2)
+ * A torn or garbage tail is recognized by its type or sequence number and
+ * cut off during recovery.
+ */
+public final class GameJournal implements GameRecorder, AutoCloseable {
+
+    static final long MAGIC = 0x4D4E434C4A524E4CL;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 4;
+
+    static final int START = 1;
+    static final int SAVE = 2;
+    static final int MOVE = 3;
+    static final int UNDO = 4;
+
+    /** Sync interval used by open when none is given. */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 100;
+
+    private static final int INITIAL_BATCH = 256;
+
+    private final MancalaGame game;
+    private final FileChannel channel;
+    private final FsyncPolicy policy;
+    private final long syncIntervalNanos;
+    private final int recoveredRecords;
+    private final Thread writer;
+
+    private final Object lock = new Object();
+
+    // ---------------------- Guarded by lock ----------------------
+
+    /** Records waiting for the writer, as (type << 8) | argument. */
+    private int[] pending = new int[INITIAL_BATCH];
+    private int pendingCount;
+    private long appended;
+    private long written;
+    private boolean closed;
+    private IOException failure;
+
+    // ---------------------- Writer thread only ----------------------
+
+    private int[] batch = new int[INITIAL_BATCH];
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BATCH * RECORD_SIZE);
+    private long position;
+    private int sequence;
+    private boolean dirty;
+    private long lastForceNanos = System.nanoTime();
+
+    private GameJournal(MancalaGame game, FileChannel channel, FsyncPolicy policy,
+                        long syncIntervalMillis, long position, int sequence, int recoveredRecords) {
+        this.game = game;
+        this.channel = channel;
+        this.policy = policy;
+        this.syncIntervalNanos = syncIntervalMillis * 1_000_000L;
+        this.position = position;
+        this.sequence = sequence;
+        this.recoveredRecords = recoveredRecords;
+        this.writer = new Thread(this::runWriter, "game-journal");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens a journal with the default sync interval.
+     *
+     * @see #open(Path, MancalaGame, FsyncPolicy, long)
+     */
+    public static GameJournal open(Path file, MancalaGame game, FsyncPolicy policy) throws IOException {
+        return open(file, game, policy, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Opens (or creates) a journal file, replays any game it holds into
+     * {@code game} and attaches itself as the game's recorder.
+     *
+     * @param file               journal file
+     * @param game               freshly created game to recover into and record
+     * @param policy             when to force writes to the device
+     * @param syncIntervalMillis longest time between forces for PERIODIC
+     * @return the open journal
+     * @throws IOException if the file cannot be opened or belongs to
+     *                     another board size or is not a journal
+     * @throws IllegalArgumentException if syncIntervalMillis is not positive
+     */
+    public static GameJournal open(Path file, MancalaGame game, FsyncPolicy policy,
+                                   long syncIntervalMillis) throws IOException {
+        if (syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("syncIntervalMillis must be positive");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end = HEADER_SIZE;
+            Replay replay = new Replay();
+            if (channel.size() < HEADER_SIZE) {
+                writeHeader(channel, game);
+            } else {
+                checkHeader(channel, game, file);
+                replay = replay(channel, game);
+                end = HEADER_SIZE + (long) replay.records * RECORD_SIZE;
+            }
+            // Cut off a torn or corrupt tail so new records follow the last good one.
+            channel.truncate(end);
+
+            GameJournal journal = new GameJournal(game, channel, policy, syncIntervalMillis,
+                    end, replay.sequence, replay.records);
+            game.setRecorder(journal);
+            journal.writer.start();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replays a journal file into a game without opening it for writing.
+     *
+     * @param file journal file
+     * @param game freshly created game with the journal's board size
+     * @return number of records replayed (0 if the file holds no game)
+     * @throws IOException if the file cannot be read or is not a journal
+     *                     for this board size
+     */
+    public static int replay(Path file, MancalaGame game) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkHeader(channel, game, file);
+            return replay(channel, game).records;
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, MancalaGame game) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putLong(MAGIC).putInt(VERSION).putInt(game.getPitsPerSide()).flip();
+        channel.truncate(0);
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+    }
+
+    private static void checkHeader(FileChannel channel, MancalaGame game, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION) {
+            throw new IOException(file + " is not a game journal");
+        }
+        if (header.getInt(12) != game.getPitsPerSide()) {
+            throw new IOException(file + " was written for " + header.getInt(12) + " pits per side");
+        }
+    }
+
+    /** Result of replaying the records of a file. */
+    private static final class Replay {
+        int records;
+        int sequence;
+    }
+
+    /**
+     * Applies records to the game until the end of the file or the first
+     * record that is torn, out of sequence or rejected by the game.
+     */
+    private static Replay replay(FileChannel channel, MancalaGame game) throws IOException {
+        long bytes = channel.size() - HEADER_SIZE;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("journal is too large");
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) bytes - (int) bytes % RECORD_SIZE);
+        readFully(channel, data, HEADER_SIZE);
+
+        Replay replay = new Replay();
+        int expected = 0;
+        while (data.remaining() >= RECORD_SIZE) {
+            int type = data.get() & 0xFF;
+            int argument = data.get() & 0xFF;
+            int seq = data.getShort() & 0xFFFF;
+            if (type == START) {
+                expected = 0;
+            } else if (replay.records == 0) {
+                break;
+            }
+            if (seq != (expected & 0xFFFF) || !apply(game, type, argument)) {
+                break;
+            }
+            expected++;
+            replay.records++;
+            replay.sequence = expected;
+        }
+        return replay;
+    }
+
+    private static boolean apply(MancalaGame game, int type, int argument) {
+        switch (type) {
+            case START:
+                try {
+                    game.initialize(argument);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            case SAVE:
+                game.saveState();
+                return true;
+            case MOVE:
+                return MoveCode.isLegal(game.makeMoveCode(argument));
+            case UNDO:
+                return game.undo();
+            default:
+                return false;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long offset) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, offset + target.position()) < 0) {
+                throw new IOException("unexpected end of journal");
+            }
+        }
+        target.flip();
+    }
+
+    // ---------------------- GameRecorder ----------------------
+
+    @Override
+    public void gameStarted(int stonesPerPit) {
+        append(START, stonesPerPit);
+    }
+
+    @Override
+    public void stateSaved() {
+        append(SAVE, 0);
+    }
+
+    @Override
+    public void movePlayed(int pitIndex) {
+        append(MOVE, pitIndex);
+    }
+
+    @Override
+    public void moveUndone() {
+        append(UNDO, 0);
+    }
+
+    private void append(int type, int argument) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pending.length * 2);
+            }
+            pending[pendingCount++] = (type << 8) | argument;
+            appended++;
+            if (pendingCount == 1) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // ---------------------- Writer ----------------------
+
+    private void runWriter() {
+        try {
+            while (true) {
+                int count;
+                boolean closing;
+                synchronized (lock) {
+                    while (pendingCount == 0 && !closed) {
+                        if (!dirty) {
+                            lock.wait();
+                            continue;
+                        }
+                        long waitNanos = syncIntervalNanos - (System.nanoTime() - lastForceNanos);
+                        if (waitNanos <= 0) {
+                            break;
+                        }
+                        lock.wait(Math.max(1, waitNanos / 1_000_000L));
+                    }
+                    int[] swap = batch;
+                    batch = pending;
+                    pending = swap;
+                    count = pendingCount;
+                    pendingCount = 0;
+                    closing = closed;
+                }
+
+                if (count > 0) {
+                    writeBatch(count);
+                }
+                if (dirty && (closing || policy == FsyncPolicy.EVERY_BATCH
+                        || System.nanoTime() - lastForceNanos >= syncIntervalNanos)) {
+                    channel.force(false);
+                    dirty = false;
+                    lastForceNanos = System.nanoTime();
+                }
+                synchronized (lock) {
+                    written += count;
+                    lock.notifyAll();
+                }
+                if (closing) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+                closed = true;
+                lock.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the first count records of the batch. A new game in the
+     * batch truncates the log, so only records from the last START on
+     * are written in that case.
+     */
+    private void writeBatch(int count) throws IOException {
+        int from = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            if ((batch[i] >>> 8) == START) {
+                from = i;
+                channel.truncate(HEADER_SIZE);
+                position = HEADER_SIZE;
+                sequence = 0;
+                break;
+            }
+        }
+
+        int bytes = (count - from) * RECORD_SIZE;
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+        }
+        buffer.clear();
+        for (int i = from; i < count; i++) {
+            buffer.put((byte) (batch[i] >>> 8));
+            buffer.put((byte) batch[i]);
+            buffer.putShort((short) sequence++);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        dirty = policy != FsyncPolicy.NEVER;
+    }
+
+    // ---------------------- Control ----------------------
+
+    /**
+     * @return number of records replayed when the journal was opened.
+     */
+    public int getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    /**
+     * Waits until every record recorded so far has been written and, unless
+     * the policy is NEVER, forced to the device.
+     *
+     * @throws IOException if the writer failed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws IOException, InterruptedException {
+        long target;
+        synchronized (lock) {
+            target = appended;
+            while (written < target && failure == null && writer.isAlive()) {
+                lock.wait();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        if (policy != FsyncPolicy.NEVER && channel.isOpen()) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Detaches from the game, writes and forces everything recorded so far
+     * and closes the file.
+     *
+     * @throws IOException if the writer failed or the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        game.setRecorder(null);
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
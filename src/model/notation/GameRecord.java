@@ -0,0 +1,155 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.notation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+
+/**
+ * One game read from a text record: its tags, setup and moves, plus any
+ * errors found while reading it.
+ *
+ * When a move is rejected, it and every later move of the game are left
+ * out, so the moves that are kept always replay cleanly.
+ */
+public final class GameRecord {
+
+    private final long lineNumber;
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private final List<RecordError> errors = new ArrayList<>();
+    private BoardGeometry geometry = BoardGeometry.STANDARD;
+    private int stonesPerPit;
+    private int[] moves = new int[64];
+    private int plies;
+
+    GameRecord(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    void putTag(String key, String value) {
+        tags.put(key, value);
+    }
+
+    void setSetup(BoardGeometry geometry, int stonesPerPit) {
+        this.geometry = geometry;
+        this.stonesPerPit = stonesPerPit;
+    }
+
+    void addMove(int pit) {
+        if (plies == moves.length) {
+            moves = Arrays.copyOf(moves, plies * 2);
+        }
+        moves[plies++] = pit;
+    }
+
+    void addError(long line, String message) {
+        errors.add(new RecordError(line, message));
+    }
+
+    /**
+     * @return line on which the record starts.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @param key tag name
+     * @return the tag's value, or null if absent
+     */
+    public String getTag(String key) {
+        return tags.get(key);
+    }
+
+    /**
+     * @return all tags, in file order.
+     */
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @return stones per pit at the start, or 0 if the setup was missing or invalid.
+     */
+    public int getStonesPerPit() {
+        return stonesPerPit;
+    }
+
+    /**
+     * @return number of accepted moves.
+     */
+    public int getPlyCount() {
+        return plies;
+    }
+
+    /**
+     * @param ply 0..getPlyCount() - 1
+     * @return pit index played at that ply
+     */
+    public int getMove(int ply) {
+        if (ply < 0 || ply >= plies) {
+            throw new IllegalArgumentException("ply must be between 0 and " + (plies - 1));
+        }
+        return moves[ply];
+    }
+
+    /**
+     * @return a copy of the accepted moves.
+     */
+    public int[] getMoves() {
+        return Arrays.copyOf(moves, plies);
+    }
+
+    /**
+     * @return problems found in this record (empty if none).
+     */
+    public List<RecordError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return true if the record was read without errors.
+     */
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Plays the accepted moves on a new game.
+     *
+     * @return the game after the last accepted move
+     * @throws IllegalStateException if the record has no valid setup
+     */
+    public MancalaGame toGame() {
+        if (stonesPerPit == 0) {
+            throw new IllegalStateException("record has no valid setup");
+        }
+        MancalaGame game = new MancalaGame(geometry);
+        game.initialize(stonesPerPit);
+        for (int i = 0; i < plies; i++) {
+            game.makeMoveCode(moves[i]);
+        }
+        return game;
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecord[line " + lineNumber + ", " + geometry + ", " + stonesPerPit + " stones, "
+                + plies + " plies, " + errors.size() + " errors]";
+    }
+}
@@ -0,0 +1,464 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.notation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.MoveCode;
+import model.Player;
+
+/**
+ * Streaming reader for game records in the text notation.
+ *
+ * Notation, one game after another:
+ * <pre>
+ *   # comment (also allowed after other text on a line)
+ *   [Pits "6"]
+ *   [Stones "4"]
+ *   [Event "Club night"]
+ *   [Result "B"]
+ *   A3 A6 B2 B5 A1 ...
+ * </pre>
+ * A game is a block of [Key "value"] tag lines followed by lines of
+ * whitespace-separated pit labels (A1..An, B1..Bn, see
+ * BoardGeometry.labelOf). It ends at a blank line after its moves, at the
+ * next tag block or at the end of the input; a line holding only a
+ * comment is not blank. A game may have no moves. Pits defaults to 6;
+ * Stones is required. Result is optional: A, B, draw, or * for an
+ * unfinished game. Tokens such as "12." are move numbers and are skipped.
+ *
+ * next() reads exactly one game, so memory use does not depend on the
+ * size of the input. Each move is validated with MancalaGame.isValidMove;
+ * problems are attached to the game's record with their line numbers and
+ * reading carries on with the next game.
+ */
+public final class GameRecordReader implements Closeable {
+
+    static final String TAG_PITS = "Pits";
+    static final String TAG_STONES = "Stones";
+    static final String TAG_RESULT = "Result";
+
+    static final String RESULT_DRAW = "draw";
+    static final String RESULT_UNFINISHED = "*";
+
+    private final BufferedReader in;
+    private final MancalaGame[] games = new MancalaGame[BoardGeometry.MAX_PITS_PER_SIDE + 1];
+    private long lineNumber;
+    private String pushedBack;
+    private long records;
+    private long invalidRecords;
+
+    /**
+     * @param in text to read; wrapped in a BufferedReader if it is not one
+     */
+    public GameRecordReader(Reader in) {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @return the game's record, or null at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    public GameRecord next() throws IOException {
+        GameRecord record = null;
+        MancalaGame game = null;
+        boolean inMoves = false;
+        boolean stopped = false;
+        boolean blank = false;
+
+        String line;
+        while ((line = readLine()) != null) {
+            String text = stripComment(line).trim();
+            if (text.isEmpty()) {
+                if (!line.trim().isEmpty()) {
+                    // Only a comment: it neither ends the game nor separates games.
+                    continue;
+                }
+                if (inMoves) {
+                    break;
+                }
+                blank = record != null;
+                continue;
+            }
+            if (text.charAt(0) == '[') {
+                if (inMoves || blank) {
+                    pushedBack = line;
+                    lineNumber--;
+                    break;
+                }
+                if (record == null) {
+                    record = new GameRecord(lineNumber);
+                }
+                parseTag(record, text);
+                continue;
+            }
+
+            if (record == null) {
+                record = new GameRecord(lineNumber);
+            }
+            if (!inMoves) {
+                game = setUp(record);
+                inMoves = true;
+                stopped = game == null;
+            }
+            stopped = parseMoves(record, game, text, stopped);
+        }
+
+        if (record == null) {
+            return null;
+        }
+        if (!inMoves) {
+            game = setUp(record);
+            stopped = game == null;
+        }
+        if (!stopped) {
+            checkResult(record, game);
+        }
+        records++;
+        if (!record.isValid()) {
+            invalidRecords++;
+        }
+        return record;
+    }
+
+    private String readLine() throws IOException {
+        if (pushedBack != null) {
+            String line = pushedBack;
+            pushedBack = null;
+            lineNumber++;
+            return line;
+        }
+        String line = in.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    private static String stripComment(String line) {
+        int hash = line.indexOf('#');
+        return hash < 0 ? line : line.substring(0, hash);
+    }
+
+    // ---------------------- Tags and setup ----------------------
+
+    private void parseTag(GameRecord record, String text) {
+        int end = text.length() - 1;
+        int space = text.indexOf(' ');
+        if (text.charAt(end) != ']' || space < 2 || text.charAt(space + 1) != '"' || text.charAt(end - 1) != '"'
+                || end - 1 <= space + 1) {
+            record.addError(lineNumber, "malformed tag " + text);
+            return;
+        }
+        String key = text.substring(1, space);
+        StringBuilder value = new StringBuilder();
+        for (int i = space + 2; i < end - 1; i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < end - 1) {
+                c = text.charAt(++i);
+            }
+            value.append(c);
+        }
+        record.putTag(key, value.toString());
+    }
+
+    /**
+     * Applies the Pits and Stones tags.
+     *
+     * @return the reusable game for the record's board, initialized, or
+     *         null if the setup is invalid
+     */
+    private MancalaGame setUp(GameRecord record) {
+        int pits = parseNumber(record, TAG_PITS, BoardGeometry.STANDARD.getPitsPerSide(),
+                BoardGeometry.MIN_PITS_PER_SIDE, BoardGeometry.MAX_PITS_PER_SIDE);
+        int stones = parseNumber(record, TAG_STONES, -1,
+                BoardGeometry.MIN_STONES_PER_PIT, BoardGeometry.MAX_STONES_PER_PIT);
+        if (pits < 0 || stones < 0) {
+            return null;
+        }
+        BoardGeometry geometry = BoardGeometry.of(pits);
+        record.setSetup(geometry, stones);
+        if (games[pits] == null) {
+            games[pits] = new MancalaGame(geometry);
+        }
+        games[pits].initialize(stones);
+        return games[pits];
+    }
+
+    private int parseNumber(GameRecord record, String tag, int defaultValue, int min, int max) {
+        String value = record.getTag(tag);
+        if (value == null) {
+            if (defaultValue < 0) {
+                record.addError(record.getLineNumber(), "missing " + tag + " tag; moves not checked");
+            }
+            return defaultValue;
+        }
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        record.addError(record.getLineNumber(), tag + " must be between " + min + " and " + max
+                + ", got \"" + value + "\"; moves not checked");
+        return -1;
+    }
+
+    // ---------------------- Moves ----------------------
+
+    /**
+     * Validates and plays the moves on one line.
+     *
+     * @return true once a move has been rejected (later moves are skipped)
+     */
+    private boolean parseMoves(GameRecord record, MancalaGame game, String text, boolean stopped) {
+        int length = text.length();
+        int i = 0;
+        while (i < length && !stopped) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                break;
+            }
+            String token = text.substring(start, i);
+            if (isMoveNumber(token)) {
+                continue;
+            }
+
+            int pit = record.getGeometry().pitOfLabel(token);
+            if (pit < 0) {
+                record.addError(lineNumber, "unknown pit \"" + token + "\"; rest of game skipped");
+                stopped = true;
+            } else if (!game.isValidMove(pit)) {
+                int code = game.makeMoveCode(pit);
+                record.addError(lineNumber, "illegal move " + token + " at ply " + (record.getPlyCount() + 1)
+                        + ": " + MoveCode.describe(code) + " Rest of game skipped.");
+                stopped = true;
+            } else {
+                game.makeMoveCode(pit);
+                record.addMove(pit);
+            }
+        }
+        return stopped;
+    }
+
+    private static boolean isMoveNumber(String token) {
+        int last = token.length() - 1;
+        if (last < 1 || token.charAt(last) != '.') {
+            return false;
+        }
+        for (int i = 0; i < last; i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkResult(GameRecord record, MancalaGame game) {
+        String claimed = record.getTag(TAG_RESULT);
+        if (claimed == null) {
+            return;
+        }
+        String actual = resultOf(game);
+        if (!claimed.trim().equalsIgnoreCase(actual)) {
+            record.addError(record.getLineNumber(), "Result tag says \"" + claimed
+                    + "\" but the moves give \"" + actual + "\"");
+        }
+    }
+
+    /**
+     * @param game game to describe
+     * @return A, B, draw, or * if the game is not over
+     */
+    static String resultOf(MancalaGame game) {
+        if (!game.isGameOver()) {
+            return RESULT_UNFINISHED;
+        }
+        Player winner = game.getWinner();
+        if (winner == null) {
+            return RESULT_DRAW;
+        }
+        return winner == Player.PLAYER_A ? "A" : "B";
+    }
+
+    // ---------------------- Statistics ----------------------
+
+    /**
+     * @return number of games read so far.
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * @return number of games read so far that had errors.
+     */
+    public long getInvalidRecordCount() {
+        return invalidRecords;
+    }
+
+    /**
+     * @return number of lines read so far.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ---------------------- Command line ----------------------
+
+    /**
+     * Validates record files and prints every error, or checks the reader
+     * and writer against built-in cases.
+     *
+     * Usage:
+     *   java model.notation.GameRecordReader file...
+     *   java model.notation.GameRecordReader check [games] [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java model.notation.GameRecordReader file...");
+            System.err.println("       java model.notation.GameRecordReader check [games] [seed]");
+            System.exit(1);
+        }
+        if (args[0].equals("check")) {
+            int games = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : 151L;
+            System.exit(check(games, seed) ? 0 : 1);
+        }
+        long invalid = 0;
+        for (String file : args) {
+            try (GameRecordReader reader = new GameRecordReader(
+                    Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8))) {
+                GameRecord record;
+                while ((record = reader.next()) != null) {
+                    for (RecordError error : record.getErrors()) {
+                        System.out.println(file + ": " + error);
+                    }
+                }
+                System.out.printf("%s: %,d games, %,d with errors, %,d lines%n", file,
+                        reader.getRecordCount(), reader.getInvalidRecordCount(), reader.getLineNumber());
+                invalid += reader.getInvalidRecordCount();
+            }
+        }
+        System.exit(invalid == 0 ? 0 : 2);
+    }
+
+    // ---------------------- Self-check ----------------------
+
+    /**
+     * Inputs paired with what the reader must make of them: the plies of
+     * each game, then the number of errors over all games.
+     */
+    private static final String[][] CASES = {
+        {"[Stones \"4\"]\nA3 A1\n# note\nB1\n", "3", "0"},
+        {"[Stones \"4\"]\nA3 # free turn\nA1 B1\n", "3", "0"},
+        {"# header\n[Pits \"6\"]\n# between tags\n[Stones \"4\"]\n  # indented\nA3\n", "1", "0"},
+        {"[Stones \"4\"]\nA3 A1\n\n[Stones \"3\"]\nA1\n", "2 1", "0"},
+        {"[Stones \"4\"]\n\n[Stones \"3\"]\nA1\n", "0 1", "0"},
+        {"[Stones \"4\"]\nA3 A1\n\nB1\n", "2 0", "1"},
+        {"[Stones \"4\"]\n1. A3 A1 2. B1\n", "3", "0"},
+        {"[Stones \"4\"]\nA3 B1\n", "1", "1"},
+    };
+
+    /**
+     * Runs CASES, then writes random games with GameRecordWriter and
+     * checks that they read back move for move without errors.
+     *
+     * @return true if everything matched
+     */
+    private static boolean check(int games, long seed) throws IOException {
+        boolean ok = true;
+        for (String[] test : CASES) {
+            StringBuilder plies = new StringBuilder();
+            int errors = 0;
+            try (GameRecordReader reader = new GameRecordReader(new StringReader(test[0]))) {
+                GameRecord record;
+                while ((record = reader.next()) != null) {
+                    plies.append(plies.length() == 0 ? "" : " ").append(record.getPlyCount());
+                    errors += record.getErrors().size();
+                }
+            }
+            boolean match = plies.toString().equals(test[1]) && Integer.toString(errors).equals(test[2]);
+            ok &= match;
+            System.out.printf("%-60s %s%n", test[0].replace("\n", "|"), match ? "ok"
+                    : "MISMATCH, got plies " + plies + " and " + errors + " errors, expected "
+                            + test[1] + " and " + test[2]);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        StringWriter text = new StringWriter();
+        int[][] played = new int[games][];
+        try (GameRecordWriter writer = new GameRecordWriter(text)) {
+            for (int g = 0; g < games; g++) {
+                BoardGeometry geometry = BoardGeometry.of(BoardGeometry.MIN_PITS_PER_SIDE + random.nextInt(
+                        BoardGeometry.MAX_PITS_PER_SIDE - BoardGeometry.MIN_PITS_PER_SIDE + 1));
+                int stones = BoardGeometry.MIN_STONES_PER_PIT + random.nextInt(4);
+                MancalaGame game = new MancalaGame(geometry);
+                game.initialize(stones);
+                int[] moves = new int[512];
+                int plies = random.nextInt(4) == 0 ? random.nextInt(8) : Integer.MAX_VALUE;
+                int ply = 0;
+                while (!game.isGameOver() && ply < plies) {
+                    int pit;
+                    do {
+                        pit = random.nextInt(geometry.getTotalPockets());
+                    } while (!game.isValidMove(pit));
+                    game.makeMoveCode(pit);
+                    moves[ply++] = pit;
+                }
+                played[g] = Arrays.copyOf(moves, ply);
+                writer.writeGame(Collections.singletonMap("Game", Integer.toString(g)),
+                        geometry, stones, moves, ply);
+            }
+        }
+        int mismatches = 0;
+        try (GameRecordReader reader = new GameRecordReader(new StringReader(text.toString()))) {
+            for (int g = 0; g < games; g++) {
+                GameRecord record = reader.next();
+                if (record == null || !record.isValid()
+                        || !Arrays.equals(record.getMoves(), played[g])) {
+                    mismatches++;
+                }
+            }
+            if (reader.next() != null) {
+                mismatches++;
+            }
+        }
+        ok &= mismatches == 0;
+        System.out.printf("%,d random games written and read back: %s%n", games,
+                mismatches == 0 ? "ok" : mismatches + " MISMATCHES");
+        return ok;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.notation;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.MoveCode;
+import model.Player;
+import model.Position;
+import model.archive.ReplayArchive;
+
+/**
+ * Streaming writer for game records in the text notation described by
+ * GameRecordReader.
+ *
+ * Each game is replayed before anything is written, so an illegal game is
+ * rejected whole and the output always reads back cleanly. The Pits,
+ * Stones and Result tags are written from the replay; other tags are
+ * copied as given. Nothing is kept between games.
+ */
+public final class GameRecordWriter implements Closeable, Flushable {
+
+    /** Moves written on each line. */
+    public static final int MOVES_PER_LINE = 16;
+
+    private final Writer out;
+    private final MancalaGame[] games = new MancalaGame[BoardGeometry.MAX_PITS_PER_SIDE + 1];
+    private final StringBuilder line = new StringBuilder();
+    private long written;
+
+    /**
+     * @param out text output; wrapped in a BufferedWriter if it is not one
+     */
+    public GameRecordWriter(Writer out) {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+    }
+
+    /**
+     * Writes one game.
+     *
+     * @param tags         extra tags, or an empty map; Pits, Stones and
+     *                     Result are ignored here
+     * @param geometry     board shape
+     * @param stonesPerPit starting stones per pit
+     * @param moves        pits played, in order
+     * @param plies        number of entries of moves to use
+     * @throws IllegalArgumentException if a move is illegal, a tag name is
+     *                                  not a single word, or an argument is
+     *                                  out of range; nothing is written then
+     * @throws IOException if the output cannot be written
+     */
+    public void writeGame(Map<String, String> tags, BoardGeometry geometry, int stonesPerPit,
+                          int[] moves, int plies) throws IOException {
+        if (plies < 0 || plies > moves.length) {
+            throw new IllegalArgumentException("plies must be between 0 and " + moves.length);
+        }
+        for (String key : tags.keySet()) {
+            checkTagName(key);
+        }
+        int pits = geometry.getPitsPerSide();
+        if (games[pits] == null) {
+            games[pits] = new MancalaGame(geometry);
+        }
+        MancalaGame game = games[pits];
+        game.initialize(stonesPerPit);
+        for (int ply = 0; ply < plies; ply++) {
+            int code = game.makeMoveCode(moves[ply]);
+            if (!MoveCode.isLegal(code)) {
+                throw new IllegalArgumentException("illegal move " + geometry.labelOf(moves[ply])
+                        + " at ply " + (ply + 1) + ": " + MoveCode.describe(code));
+            }
+        }
+
+        writeTag(GameRecordReader.TAG_PITS, Integer.toString(pits));
+        writeTag(GameRecordReader.TAG_STONES, Integer.toString(stonesPerPit));
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            String key = tag.getKey();
+            if (!key.equals(GameRecordReader.TAG_PITS) && !key.equals(GameRecordReader.TAG_STONES)
+                    && !key.equals(GameRecordReader.TAG_RESULT)) {
+                writeTag(key, tag.getValue());
+            }
+        }
+        writeTag(GameRecordReader.TAG_RESULT, GameRecordReader.resultOf(game));
+
+        for (int ply = 0; ply < plies; ply++) {
+            if (ply > 0) {
+                line.append(ply % MOVES_PER_LINE == 0 ? '\n' : ' ');
+            }
+            line.append(geometry.labelOf(moves[ply]));
+        }
+        if (plies > 0) {
+            line.append('\n');
+        }
+        line.append('\n');
+        flushLine();
+        written++;
+    }
+
+    /**
+     * Writes a game read by GameRecordReader (only its valid moves).
+     *
+     * @param record record to write
+     * @throws IllegalArgumentException if the record has no valid setup
+     * @throws IOException if the output cannot be written
+     */
+    public void writeGame(GameRecord record) throws IOException {
+        if (record.getStonesPerPit() == 0) {
+            throw new IllegalArgumentException("record has no valid setup");
+        }
+        writeGame(record.getTags(), record.getGeometry(), record.getStonesPerPit(),
+                record.getMoves(), record.getPlyCount());
+    }
+
+    private static void checkTagName(String key) {
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("tag name must not be empty");
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isWhitespace(c) || c == '"' || c == '[' || c == ']' || c == '#') {
+                throw new IllegalArgumentException("tag name must be a single word: " + key);
+            }
+        }
+    }
+
+    private void writeTag(String key, String value) throws IOException {
+        line.append('[').append(key).append(" \"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '#') {
+                // These would end the line or start a comment.
+                c = ' ';
+            } else if (c == '"' || c == '\\') {
+                line.append('\\');
+            }
+            line.append(c);
+        }
+        line.append("\"]\n");
+        flushLine();
+    }
+
+    private void flushLine() throws IOException {
+        out.append(line);
+        line.setLength(0);
+    }
+
+    /**
+     * @return number of games written so far.
+     */
+    public long getGameCount() {
+        return written;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // ---------------------- Command line ----------------------
+
+    /**
+     * Exports every game of a replay archive as text.
+     *
+     * Usage: java model.notation.GameRecordWriter archive out.txt
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: java model.notation.GameRecordWriter archive out.txt");
+            System.exit(1);
+        }
+        try (ReplayArchive archive = ReplayArchive.open(Paths.get(args[0]));
+             GameRecordWriter writer = new GameRecordWriter(
+                     Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8))) {
+            BoardGeometry geometry = archive.getGeometry();
+            Position start = new Position(geometry);
+            int[] moves = new int[64];
+            long skipped = 0;
+            for (int game = 0; game < archive.getGameCount(); game++) {
+                archive.seek(game, 0, start);
+                int stones = start.stonesAt(0);
+                if (!isInitial(start, geometry, stones)) {
+                    // The notation can only describe games from the usual setup.
+                    skipped++;
+                    continue;
+                }
+                int plies = archive.getPlyCount(game);
+                if (moves.length < plies) {
+                    moves = new int[plies * 2];
+                }
+                for (int ply = 0; ply < plies; ply++) {
+                    moves[ply] = archive.getMove(game, ply);
+                }
+                writer.writeGame(Collections.emptyMap(), geometry, stones, moves, plies);
+            }
+            System.out.printf("%,d games written, %,d skipped (not from a standard start)%n",
+                    writer.getGameCount(), skipped);
+        }
+    }
+
+    private static boolean isInitial(Position start, BoardGeometry geometry, int stones) {
+        if (start.getSideToMove() != Player.PLAYER_A || start.isGameOver()
+                || stones < BoardGeometry.MIN_STONES_PER_PIT || stones > BoardGeometry.MAX_STONES_PER_PIT) {
+            return false;
+        }
+        for (int i = 0; i < geometry.getTotalPockets(); i++) {
+            if (start.stonesAt(i) != (geometry.isStore(i) ? 0 : stones)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.notation;
+
+/**
+ * Problem found while reading a game record, with the line it was on.
+ */
+public final class RecordError {
+
+    private final long line;
+    private final String message;
+
+    RecordError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    /**
+     * @return 1-based line number in the input.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * @return description of the problem.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "line " + line + ": " + message;
+    }
+}
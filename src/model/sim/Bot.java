@@ -0,0 +1,33 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.sim;
+
+import java.util.SplittableRandom;
+
+import model.MancalaGame;
+
+/**
+ * A computer player for the self-play simulator.
+ *
+ * Each simulator worker creates its own bots, so an implementation may keep
+ * mutable scratch state (search tables, trees) but must not share it with
+ * other instances.
+ */
+public interface Bot {
+    /**
+     * @param game   game to move in; not over (not modified)
+     * @param random the worker's random source; the only randomness a bot
+     *               may use, so runs are reproducible
+     * @return a legal pit for the current player
+     */
+    int chooseMove(MancalaGame game, SplittableRandom random);
+
+    /**
+     * @return short description used in reports.
+     */
+    String getName();
+}
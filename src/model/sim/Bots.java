@@ -0,0 +1,99 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.sim;
+
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.ai.GreedyPlayoutPolicy;
+import model.ai.RandomPlayoutPolicy;
+
+/**
+ * Creates bots from short command-line specs:
+ *
+ *   random        uniformly random legal moves
+ *   greedy        free turn, else biggest capture, else random
+ *   search:D      alpha-beta to depth D
+ *   mcts:N        Monte Carlo Tree Search with N playouts per move
+ */
+public final class Bots {
+
+    private Bots() {
+    }
+
+    /**
+     * Checks a spec without creating the bot, which for mcts:N would
+     * allocate its search arenas.
+     *
+     * @param spec bot spec (see class comment)
+     * @throws IllegalArgumentException if the spec is not recognized
+     */
+    public static void validate(String spec) {
+        parse(spec);
+    }
+
+    /**
+     * @param spec     bot spec (see class comment)
+     * @param geometry board the bot plays on
+     * @param random   worker random source (seeds bots that need their own)
+     * @return a new bot
+     * @throws IllegalArgumentException if the spec is not recognized
+     */
+    public static Bot create(String spec, BoardGeometry geometry, SplittableRandom random) {
+        int value = parse(spec);
+        switch (kind(spec)) {
+            case "random":
+                return new PolicyBot("random", new RandomPlayoutPolicy(), geometry);
+            case "greedy":
+                return new PolicyBot("greedy", new GreedyPlayoutPolicy(), geometry);
+            case "search":
+                return new SearchBot(value, geometry);
+            default:
+                return new MctsBot(value, geometry, random.nextLong());
+        }
+    }
+
+    /**
+     * @return the spec's parameter, or 0 for bots that take none
+     * @throws IllegalArgumentException if the spec is not recognized
+     */
+    private static int parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        switch (parts[0]) {
+            case "random":
+            case "greedy":
+                return 0;
+            case "search":
+                return parameter(spec, parts, 1, 60);
+            case "mcts":
+                return parameter(spec, parts, 1, 10_000_000);
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + spec
+                        + " (expected random, greedy, search:D or mcts:N)");
+        }
+    }
+
+    private static String kind(String spec) {
+        int colon = spec.indexOf(':');
+        return colon < 0 ? spec : spec.substring(0, colon);
+    }
+
+    private static int parameter(String spec, String[] parts, int min, int max) {
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Bot " + spec + " needs a parameter, e.g. " + parts[0] + ":8");
+        }
+        try {
+            int value = Integer.parseInt(parts[1]);
+            if (value < min || value > max) {
+                throw new IllegalArgumentException("Bot parameter must be between " + min + " and " + max);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad bot parameter in " + spec, e);
+        }
+    }
+}
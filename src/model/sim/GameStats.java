@@ -0,0 +1,202 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.sim;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import model.Player;
+
+/**
+ * Counters for a batch of self-play games: results, free turns, captures
+ * and a histogram of game lengths in plies.
+ *
+ * Each simulator worker owns one instance and records into it under its
+ * own lock; the reporter merges snapshots of all of them with add().
+ */
+public final class GameStats {
+
+    /** Games of this many plies or more share the last histogram bucket. */
+    public static final int MAX_TRACKED_LENGTH = 256;
+
+    private long games;
+    private long winsA;
+    private long winsB;
+    private long draws;
+    private long plies;
+    private final long[] freeTurns = new long[2];
+    private final long[] captures = new long[2];
+    private final long[] capturedStones = new long[2];
+    private final long[] lengths = new long[MAX_TRACKED_LENGTH + 1];
+
+    // ---------------------- Recording ----------------------
+
+    /**
+     * Records one move.
+     *
+     * @param mover    player who moved
+     * @param freeTurn whether the move earned a free turn
+     * @param captured stones captured from the opposite pit (0 if none)
+     */
+    public void recordMove(Player mover, boolean freeTurn, int captured) {
+        int side = mover.ordinal();
+        if (freeTurn) {
+            freeTurns[side]++;
+        }
+        if (captured > 0) {
+            captures[side]++;
+            capturedStones[side] += captured;
+        }
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param winner winner, or null for a draw
+     * @param length number of plies played
+     */
+    public void recordGame(Player winner, int length) {
+        games++;
+        plies += length;
+        lengths[Math.min(length, MAX_TRACKED_LENGTH)]++;
+        if (winner == null) {
+            draws++;
+        } else if (winner == Player.PLAYER_A) {
+            winsA++;
+        } else {
+            winsB++;
+        }
+    }
+
+    /**
+     * Adds another set of counters into this one.
+     *
+     * @param other counters to add
+     */
+    public void add(GameStats other) {
+        games += other.games;
+        winsA += other.winsA;
+        winsB += other.winsB;
+        draws += other.draws;
+        plies += other.plies;
+        for (int side = 0; side < 2; side++) {
+            freeTurns[side] += other.freeTurns[side];
+            captures[side] += other.captures[side];
+            capturedStones[side] += other.capturedStones[side];
+        }
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] += other.lengths[i];
+        }
+    }
+
+    /**
+     * Sets every counter back to zero, so one instance can be reused.
+     */
+    public void reset() {
+        games = 0;
+        winsA = 0;
+        winsB = 0;
+        draws = 0;
+        plies = 0;
+        Arrays.fill(freeTurns, 0);
+        Arrays.fill(captures, 0);
+        Arrays.fill(capturedStones, 0);
+        Arrays.fill(lengths, 0);
+    }
+
+    // ---------------------- Queries ----------------------
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins(Player player) {
+        return player == Player.PLAYER_A ? winsA : winsB;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getPlies() {
+        return plies;
+    }
+
+    public long getFreeTurns(Player player) {
+        return freeTurns[player.ordinal()];
+    }
+
+    public long getCaptures(Player player) {
+        return captures[player.ordinal()];
+    }
+
+    public long getCapturedStones(Player player) {
+        return capturedStones[player.ordinal()];
+    }
+
+    /**
+     * @param length game length in plies
+     * @return number of games of that length (the last bucket also counts longer games)
+     */
+    public long getLengthCount(int length) {
+        return lengths[Math.min(length, MAX_TRACKED_LENGTH)];
+    }
+
+    /**
+     * @param fraction 0..1
+     * @return smallest length such that at least that fraction of games
+     *         were no longer (0 if there are no games)
+     */
+    public int lengthPercentile(double fraction) {
+        long target = (long) Math.ceil(fraction * games);
+        long seen = 0;
+        for (int length = 0; length < lengths.length; length++) {
+            seen += lengths[length];
+            if (seen >= target && seen > 0) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    // ---------------------- Formatting ----------------------
+
+    /**
+     * @return one-line summary of results and move statistics.
+     */
+    public String summary() {
+        double n = Math.max(1, games);
+        return String.format(Locale.ROOT,
+                "A %.1f%%  B %.1f%%  draw %.1f%% | plies avg %.1f p10/p50/p90 %d/%d/%d"
+                        + " | free turns/game A %.2f B %.2f | captures/game A %.2f B %.2f",
+                100 * winsA / n, 100 * winsB / n, 100 * draws / n,
+                plies / n, lengthPercentile(0.1), lengthPercentile(0.5), lengthPercentile(0.9),
+                freeTurns[0] / n, freeTurns[1] / n, captures[0] / n, captures[1] / n);
+    }
+
+    /**
+     * @param barWidth width of the longest bar, in characters
+     * @return multi-line text histogram of game lengths (empty buckets skipped)
+     */
+    public String lengthHistogram(int barWidth) {
+        long max = 1;
+        for (long count : lengths) {
+            max = Math.max(max, count);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int length = 0; length < lengths.length; length++) {
+            if (lengths[length] == 0) {
+                continue;
+            }
+            int bar = (int) Math.max(1, lengths[length] * barWidth / max);
+            sb.append(String.format(Locale.ROOT, "%4d%s %10d ",
+                    length, length == MAX_TRACKED_LENGTH ? "+" : " ", lengths[length]));
+            sb.append("#".repeat(bar)).append('\n');
+        }
+        return sb.toString();
+    }
+}
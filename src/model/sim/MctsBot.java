@@ -0,0 +1,48 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.sim;
+
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.ai.GreedyPlayoutPolicy;
+import model.ai.MonteCarloSearch;
+
+/**
+ * Bot backed by a single-threaded Monte Carlo Tree Search with a fixed
+ * number of greedy playouts per move. Its tree is reused between moves of
+ * the same game.
+ */
+public class MctsBot implements Bot {
+
+    /** Arena size per bot, small enough for one bot per core. */
+    private static final int CAPACITY = 1 << 18;
+
+    private final int iterations;
+    private final MonteCarloSearch search;
+
+    /**
+     * @param iterations playouts per move
+     * @param geometry   board the bot plays on
+     * @param seed       seed for the search's own random stream
+     */
+    public MctsBot(int iterations, BoardGeometry geometry, long seed) {
+        this.iterations = iterations;
+        this.search = new MonteCarloSearch(geometry, CAPACITY, 1, new GreedyPlayoutPolicy(), seed);
+    }
+
+    @Override
+    public int chooseMove(MancalaGame game, SplittableRandom random) {
+        return search.search(game, iterations, 0).getBestMove();
+    }
+
+    @Override
+    public String getName() {
+        return "mcts:" + iterations;
+    }
+}
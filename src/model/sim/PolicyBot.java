@@ -0,0 +1,47 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.sim;
+
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.Position;
+import model.ai.PlayoutPolicy;
+
+/**
+ * Bot that plays one move of a PlayoutPolicy (random, greedy, ...) without
+ * any search.
+ */
+public class PolicyBot implements Bot {
+
+    private final String name;
+    private final PlayoutPolicy policy;
+    private final Position position;
+
+    /**
+     * @param name     name used in reports
+     * @param policy   move choice
+     * @param geometry board the bot plays on
+     */
+    public PolicyBot(String name, PlayoutPolicy policy, BoardGeometry geometry) {
+        this.name = name;
+        this.policy = policy;
+        this.position = new Position(geometry);
+    }
+
+    @Override
+    public int chooseMove(MancalaGame game, SplittableRandom random) {
+        position.load(game);
+        return policy.choose(position, random);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
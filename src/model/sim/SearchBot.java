@@ -0,0 +1,48 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.sim;
+
+import java.util.SplittableRandom;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.ai.ReplacementPolicy;
+import model.ai.SearchEngine;
+import model.ai.TranspositionTable;
+
+/**
+ * Bot backed by a fixed-depth alpha-beta search. Deterministic; the random
+ * source is not used.
+ */
+public class SearchBot implements Bot {
+
+    /** Table size per bot: 2^16 entries (1 MB), small enough for one per core. */
+    private static final int TABLE_SIZE_BITS = 16;
+
+    private final int depth;
+    private final SearchEngine engine;
+
+    /**
+     * @param depth    search depth in plies
+     * @param geometry board the bot plays on
+     */
+    public SearchBot(int depth, BoardGeometry geometry) {
+        this.depth = depth;
+        this.engine = new SearchEngine(geometry,
+                new TranspositionTable(TABLE_SIZE_BITS, ReplacementPolicy.TWO_TIER));
+    }
+
+    @Override
+    public int chooseMove(MancalaGame game, SplittableRandom random) {
+        return engine.search(game, depth, 0).getBestMove();
+    }
+
+    @Override
+    public String getName() {
+        return "search:" + depth;
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Ali Halmamat
+ * Date: 2026-10-17
+ */
+
+package model.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import model.BoardGeometry;
+import model.MancalaGame;
+import model.MoveCode;
+import model.Player;
+import model.Position;
+import model.archive.ReplayArchiveWriter;
+
+/**
+ * Headless batch simulator: plays many games between two bots on a pool of
+ * worker threads and streams aggregated statistics while it runs.
+ *
+ * Worker w plays games w, w + T, w + 2T, ... with its own MancalaGame, its
+ * own bots and its own SplittableRandom, split from the master seed in
+ * worker order. A run is therefore reproducible for a fixed seed and
+ * thread count, and workers share nothing but their statistics, which they
+ * publish once per game under their own lock. If a worker fails (an
+ * illegal bot move, an archive that cannot be written), the others are
+ * stopped and run rethrows the failure instead of returning partial stats.
+ *
+ * With an archive set, every game is also written to a ReplayArchive (in
+ * the order games finish, which varies between runs with several threads).
+ *
+ * Nothing here touches AWT or Swing; the model only uses the
+ * javax.swing.event listener interfaces, which load no toolkit.
+ */
+public final class SelfPlaySimulator {
+
+    private static final int HISTOGRAM_WIDTH = 50;
+
+    private final BoardGeometry geometry;
+    private final String specA;
+    private final String specB;
+    private final int stonesPerPit;
+    private final int threads;
+    private final long seed;
+
+    private final GameStats[] workerStats;
+    private volatile long startNanos;
+    private ReplayArchiveWriter archive;
+
+    /**
+     * Creates a simulator.
+     *
+     * @param geometry     board shape; must be packable, since every bot
+     *                     plays on a Position
+     * @param specA        bot spec for Player A (see Bots)
+     * @param specB        bot spec for Player B (see Bots)
+     * @param stonesPerPit starting stones per pit
+     * @param threads      worker threads (at least 1)
+     * @param seed         master random seed
+     * @throws IllegalArgumentException if an argument is out of range, the
+     *                                  board is not packable or a bot spec
+     *                                  is not recognized
+     */
+    public SelfPlaySimulator(BoardGeometry geometry, String specA, String specB,
+                             int stonesPerPit, int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        if (stonesPerPit < BoardGeometry.MIN_STONES_PER_PIT
+                || stonesPerPit > BoardGeometry.MAX_STONES_PER_PIT) {
+            throw new IllegalArgumentException("stonesPerPit must be between "
+                    + BoardGeometry.MIN_STONES_PER_PIT + " and "
+                    + BoardGeometry.MAX_STONES_PER_PIT);
+        }
+        // Fail on a bad board or spec here rather than inside a worker.
+        if (!geometry.isPackable()) {
+            throw new IllegalArgumentException(geometry + " is too large for the bots' packed positions");
+        }
+        Bots.validate(specA);
+        Bots.validate(specB);
+
+        this.geometry = geometry;
+        this.specA = specA;
+        this.specB = specB;
+        this.stonesPerPit = stonesPerPit;
+        this.threads = threads;
+        this.seed = seed;
+        this.workerStats = new GameStats[threads];
+        for (int w = 0; w < threads; w++) {
+            workerStats[w] = new GameStats();
+        }
+    }
+
+    /**
+     * Also writes every game played by run to an archive.
+     *
+     * @param archive open archive writer for this geometry, or null for none
+     */
+    public void setArchive(ReplayArchiveWriter archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Plays the given number of games and waits for them to finish.
+     *
+     * @param games number of games to play
+     * @return combined statistics
+     * @throws InterruptedException if interrupted while waiting for workers
+     * @throws IllegalStateException if a bot chose an illegal move
+     * @throws UncheckedIOException if the archive could not be written
+     */
+    public GameStats run(long games) throws InterruptedException {
+        SplittableRandom master = new SplittableRandom(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int next;
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "self-play-" + next++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        startNanos = System.nanoTime();
+        try {
+            // Taken in the order workers finish, so a failure is seen at once.
+            CompletionService<Void> workers = new ExecutorCompletionService<>(pool);
+            for (int w = 0; w < threads; w++) {
+                int worker = w;
+                SplittableRandom random = master.split();
+                workers.submit(() -> play(worker, games, random), null);
+            }
+            for (int w = 0; w < threads; w++) {
+                workers.take().get();
+            }
+        } catch (ExecutionException e) {
+            // The first worker to fail stops the batch; the others are interrupted below.
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("self-play worker failed", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        return snapshot();
+    }
+
+    private void play(int worker, long games, SplittableRandom random) {
+        Bot botA = Bots.create(specA, geometry, random);
+        Bot botB = Bots.create(specB, geometry, random);
+        MancalaGame game = new MancalaGame(geometry);
+        GameStats stats = workerStats[worker];
+        GameStats local = new GameStats();
+        Position start = archive != null ? new Position(geometry) : null;
+        int[] moves = new int[64];
+
+        for (long i = worker; i < games && !Thread.currentThread().isInterrupted(); i += threads) {
+            game.initialize(stonesPerPit);
+            if (start != null) {
+                start.load(game);
+            }
+            int plies = 0;
+            while (!game.isGameOver()) {
+                Player mover = game.getCurrentPlayer();
+                Bot bot = mover == Player.PLAYER_A ? botA : botB;
+                int pit = bot.chooseMove(game, random);
+                int code = game.makeMoveCode(pit);
+                if (!MoveCode.isLegal(code)) {
+                    throw new IllegalStateException(bot.getName() + " chose pit " + pit
+                            + ": " + MoveCode.describe(code));
+                }
+                local.recordMove(mover, MoveCode.isFreeTurn(code), MoveCode.capturedStones(code));
+                if (plies == moves.length) {
+                    moves = Arrays.copyOf(moves, plies * 2);
+                }
+                moves[plies++] = pit;
+            }
+            local.recordGame(game.getWinner(), plies);
+            if (start != null) {
+                try {
+                    archive.addGame(start, moves, plies);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            synchronized (stats) {
+                stats.add(local);
+            }
+            local.reset();
+        }
+    }
+
+    /**
+     * @return statistics of all games finished so far.
+     */
+    public GameStats snapshot() {
+        GameStats total = new GameStats();
+        for (GameStats stats : workerStats) {
+            synchronized (stats) {
+                total.add(stats);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @param stats statistics returned by snapshot or run
+     * @return one-line progress report including throughput
+     */
+    public String report(GameStats stats) {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        return String.format(Locale.ROOT, "%,d games %.1f s %,.0f games/s | %s",
+                stats.getGames(), seconds, stats.getGames() / seconds, stats.summary());
+    }
+
+    // ---------------------- Command line ----------------------
+
+    /**
+     * Usage: java model.sim.SelfPlaySimulator [--games N] [--threads T]
+     * [--seed S] [--a SPEC] [--b SPEC] [--stones K] [--pits P] [--report MS]
+     * [--archive FILE]
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        long games = 100_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 151L;
+        String specA = "random";
+        String specB = "random";
+        int stones = 4;
+        int pits = BoardGeometry.STANDARD.getPitsPerSide();
+        long reportMillis = 1000;
+        String archiveFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            if (value == null) {
+                usage("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--games":
+                    games = Long.parseLong(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--a":
+                    specA = value;
+                    break;
+                case "--b":
+                    specB = value;
+                    break;
+                case "--stones":
+                    stones = Integer.parseInt(value);
+                    break;
+                case "--pits":
+                    pits = Integer.parseInt(value);
+                    break;
+                case "--report":
+                    reportMillis = Long.parseLong(value);
+                    break;
+                case "--archive":
+                    archiveFile = value;
+                    break;
+                default:
+                    usage("Unknown option " + args[i]);
+            }
+            i++;
+        }
+
+        if (pits < BoardGeometry.MIN_PITS_PER_SIDE || pits > maxPits()) {
+            usage("--pits must be between " + BoardGeometry.MIN_PITS_PER_SIDE + " and " + maxPits());
+        }
+        BoardGeometry geometry = BoardGeometry.of(pits);
+        SelfPlaySimulator simulator = new SelfPlaySimulator(geometry, specA, specB, stones, threads, seed);
+        System.out.printf("%s vs %s on %s, %d stones, %,d games, %d threads, seed %d%n",
+                specA, specB, geometry, stones, games, threads, seed);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "self-play-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> System.out.println(simulator.report(simulator.snapshot())),
+                reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+        ReplayArchiveWriter archive = archiveFile == null ? null
+                : new ReplayArchiveWriter(Paths.get(archiveFile), geometry,
+                        ReplayArchiveWriter.DEFAULT_CHECKPOINT_INTERVAL);
+        simulator.setArchive(archive);
+        GameStats total;
+        try {
+            total = simulator.run(games);
+        } finally {
+            reporter.shutdownNow();
+            if (archive != null) {
+                archive.close();
+            }
+        }
+
+        System.out.println(simulator.report(total));
+        System.out.println("Game length histogram (plies):");
+        System.out.print(total.lengthHistogram(HISTOGRAM_WIDTH));
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: java model.sim.SelfPlaySimulator [--games N] [--threads T] [--seed S]"
+                + " [--a SPEC] [--b SPEC] [--stones K] [--pits P] [--report MS] [--archive FILE]");
+        System.err.println("  SPEC: random | greedy | search:D | mcts:N");
+        System.err.println("  P: " + BoardGeometry.MIN_PITS_PER_SIDE + ".." + maxPits());
+        System.exit(1);
+    }
+
+    /**
+     * @return the largest pits per side whose board the bots can play on.
+     */
+    private static int maxPits() {
+        int pits = BoardGeometry.MAX_PITS_PER_SIDE;
+        while (!BoardGeometry.of(pits).isPackable()) {
+            pits--;
+        }
+        return pits;
+    }
+}
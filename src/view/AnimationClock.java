@@ -0,0 +1,115 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Umar Lin
+ * Date: 2026-10-17
+ */
+
+package view;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single frame timer shared by every animation on a board. Animations
+ * register while they run and are stepped together once per frame; the
+ * timer only runs while at least one animation is active.
+ *
+ * All methods must be called on the EDT.
+ */
+public class AnimationClock {
+    /** Frame length used when none is given (about 60 frames per second). */
+    public static final int DEFAULT_FRAME_MILLIS = 16;
+
+    /**
+     * Something driven by the clock.
+     */
+    public interface Animation {
+        /**
+         * Advances to the given time.
+         *
+         * @param nowNanos current System.nanoTime()
+         * @return true to keep running, false when finished
+         */
+        boolean step(long nowNanos);
+    }
+
+    private final Timer timer;
+    private final long frameNanos;
+    private final List<Animation> active = new ArrayList<>();
+
+    /**
+     * Creates a clock ticking at DEFAULT_FRAME_MILLIS.
+     */
+    public AnimationClock() {
+        this(DEFAULT_FRAME_MILLIS);
+    }
+
+    /**
+     * @param frameMillis time between ticks
+     */
+    public AnimationClock(int frameMillis) {
+        if (frameMillis < 1) {
+            throw new IllegalArgumentException("frameMillis must be at least 1");
+        }
+        this.frameNanos = frameMillis * 1_000_000L;
+        this.timer = new Timer(frameMillis, e -> tick());
+    }
+
+    /**
+     * Starts stepping an animation from the next frame on. Does nothing if
+     * it is already running.
+     *
+     * @param animation animation to run
+     */
+    public void start(Animation animation) {
+        if (active.contains(animation)) {
+            return;
+        }
+        active.add(animation);
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Stops stepping an animation, leaving it wherever it is.
+     *
+     * @param animation animation to stop
+     */
+    public void cancel(Animation animation) {
+        active.remove(animation);
+        if (active.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * @return time between ticks in nanoseconds.
+     */
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * @return number of animations currently running.
+     */
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        // Backwards, so finished animations can be swapped out in place.
+        for (int i = active.size() - 1; i >= 0; i--) {
+            if (i < active.size() && !active.get(i).step(now)) {
+                int last = active.size() - 1;
+                active.set(i, active.get(last));
+                active.remove(last);
+            }
+        }
+        if (active.isEmpty()) {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,661 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Umar Lin
+ * Date: 2026-10-17
+ */
+
+package view;
+
+import model.BoardGeometry;
+import model.MoveTrace;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The whole board as one component: lays out and paints every pit and
+ * store itself, in the same arrangement and pixels as BoardPanel, and
+ * hit-tests the mouse to give the same hover, pressed and click behavior
+ * as its PitComponent buttons.
+ *
+ * There are no child components, so a board costs one layout and one
+ * paint per frame however many pits change, and many boards fit in one
+ * window; boards may also share one AnimationClock. Repaints only cover
+ * the pits that changed.
+ *
+ * Must be used on the EDT.
+ */
+public class BoardCanvas extends JComponent {
+    /** Space between pits, stores and rows, as in BoardPanel. */
+    private static final int GAP = 10;
+
+    private static final int PIT_SIZE = 80;
+    private static final int STORE_WIDTH = 90;
+    private static final int STORE_HEIGHT = 220;
+
+    /** Animation time per stone of difference, as in PitComponent. */
+    private static final long NANOS_PER_STONE = 60_000_000L;
+
+    /** Longest a count animation may take, as in PitComponent. */
+    private static final long MAX_ANIMATION_NANOS = 400_000_000L;
+
+    /** Updates closer together than this many frames are not animated. */
+    private static final int BURST_FRAMES = 2;
+
+    /** How long a pit flashes after an invalid click. */
+    private static final long FLASH_NANOS = 250_000_000L;
+
+    private static final String PLAYER_A = "Player A";
+    private static final String PLAYER_B = "Player B";
+
+    private final BoardGeometry geometry;
+    private final int pockets;
+    private final AnimationClock clock;
+    private final SpriteCache sprites = new SpriteCache();
+    private final SowingAnimator sowing;
+    private final PitView[] pitViews;
+    private final String[] commands;
+    private StyleStrategy style;
+    private RenderKit kit;
+    private ActionListener boardListener;
+
+    // Layout, recomputed when the size changes.
+    private final int[] cellX;
+    private final int[] cellY;
+    private final int[] cellWidth;
+    private final int[] cellHeight;
+    private int layoutWidth = -1;
+    private int layoutHeight = -1;
+    private int labelHeight;
+    private int labelAscent;
+    private int labelAWidth;
+    private int labelBWidth;
+    private int labelAX;
+    private int labelAY;
+    private int labelBX;
+    private int labelBY;
+
+    // Stone counts and their animations.
+    private final int[] counts;
+    private final int[] nextCounts;
+    private final int[] targetStoneCount;
+    private final int[] displayedStoneCount;
+    private final int[] animationFrom;
+    private final long[] animationStart;
+    private final long[] animationDuration;
+    private final long[] lastUpdate;
+    private int animating;
+    private final AnimationClock.Animation countAnimation = this::stepCounts;
+
+    // Feedback, one bit per pocket.
+    private int hovered;
+    private int pressed;
+    private int flashing;
+    private final long[] flashEnd;
+    private final AnimationClock.Animation flashAnimation = this::stepFlash;
+    private int hoverPit = -1;
+    private int pressPit = -1;
+
+    private GraphicsConfiguration scaleConfiguration;
+    private double scaleOfConfiguration;
+    private Object desktopTextAntialiasing;
+
+    /**
+     * Creates a standard 6-pit board using the given style.
+     *
+     * @param style visual style strategy
+     */
+    public BoardCanvas(StyleStrategy style) {
+        this(style, BoardGeometry.STANDARD);
+    }
+
+    /**
+     * Creates a board for the given board shape and style.
+     *
+     * @param style    visual style strategy
+     * @param geometry board shape to lay out
+     */
+    public BoardCanvas(StyleStrategy style, BoardGeometry geometry) {
+        this(style, geometry, new AnimationClock());
+    }
+
+    /**
+     * Creates a board that animates on a given clock, so that many boards
+     * in one window tick together.
+     *
+     * @param style    visual style strategy
+     * @param geometry board shape to lay out
+     * @param clock    clock shared with other boards
+     */
+    public BoardCanvas(StyleStrategy style, BoardGeometry geometry, AnimationClock clock) {
+        this.geometry = geometry;
+        this.clock = clock;
+        this.pockets = geometry.getTotalPockets();
+        this.cellX = new int[pockets];
+        this.cellY = new int[pockets];
+        this.cellWidth = new int[pockets];
+        this.cellHeight = new int[pockets];
+        this.counts = new int[pockets];
+        this.nextCounts = new int[pockets];
+        this.targetStoneCount = new int[pockets];
+        this.displayedStoneCount = new int[pockets];
+        this.animationFrom = new int[pockets];
+        this.animationStart = new long[pockets];
+        this.animationDuration = new long[pockets];
+        this.lastUpdate = new long[pockets];
+        this.flashEnd = new long[pockets];
+        this.commands = new String[pockets];
+        this.pitViews = new PitView[pockets];
+        for (int i = 0; i < pockets; i++) {
+            commands[i] = String.valueOf(i);
+            pitViews[i] = new Pit(i);
+        }
+        sowing = new SowingAnimator(new SowingAnimator.Pits() {
+            @Override
+            public void setTargetStoneCount(int pocket, int count) {
+                setTarget(pocket, count);
+            }
+
+            @Override
+            public void showStoneCount(int pocket, int count) {
+                show(pocket, count);
+            }
+
+            @Override
+            public boolean isShowing() {
+                return BoardCanvas.this.isShowing();
+            }
+        }, pockets, clock);
+
+        setOpaque(true);
+        MouseHandler mouse = new MouseHandler();
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        setStyle(style);
+    }
+
+    /**
+     * @return the board shape this canvas lays out.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Sets the callback for pit clicks, replacing any previous one. As
+     * with BoardPanel, the action command is the pit's board index.
+     *
+     * @param listener controller callback for pit clicks
+     */
+    public void setBoardListener(ActionListener listener) {
+        if (listener != null) {
+            boardListener = listener;
+        }
+    }
+
+    /**
+     * Feedback for one pit, for controllers written against PitView.
+     *
+     * @param index pocket index
+     * @return the pit's view
+     */
+    public PitView getPitView(int index) {
+        return pitViews[index];
+    }
+
+    /**
+     * Applies a new style to every pit and label.
+     *
+     * @param style selected strategy
+     */
+    public void setStyle(StyleStrategy style) {
+        this.style = style;
+        this.kit = style.compile(geometry);
+        sprites.setRenderKit(kit);
+        setBackground(style.getBackgroundColor());
+        Object hints = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        desktopTextAntialiasing = hints instanceof Map
+                ? ((Map<?, ?>) hints).get(RenderingHints.KEY_TEXT_ANTIALIASING) : null;
+        FontMetrics metrics = getFontMetrics(style.getLabelFont());
+        labelHeight = metrics.getHeight();
+        labelAscent = metrics.getAscent();
+        labelAWidth = metrics.stringWidth(PLAYER_A);
+        labelBWidth = metrics.stringWidth(PLAYER_B);
+        layoutWidth = -1;
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        int pits = geometry.getPitsPerSide();
+        int width = 2 * (STORE_WIDTH + GAP) + pits * PIT_SIZE + (pits - 1) * GAP;
+        int height = Math.max(STORE_HEIGHT, 2 * (labelHeight + PIT_SIZE) + GAP);
+        return new Dimension(width, height);
+    }
+
+    // ---------------------- Stone counts ----------------------
+
+    /**
+     * Updates all pit stone counts.
+     *
+     * @param boardState array representing the Mancala board
+     */
+    public void updateBoard(int[] boardState) {
+        if (boardState == null || boardState.length != pockets) {
+            return;
+        }
+        sowing.finish();
+        for (int i = 0; i < pockets; i++) {
+            counts[i] = boardState[i];
+            setStoneCount(i, counts[i]);
+        }
+    }
+
+    /**
+     * Updates only the pits whose bits are set.
+     *
+     * @param changedPits bit i set if pocket i changed
+     * @param stonesAt    stone count of a pocket by board index
+     */
+    public void updatePits(int changedPits, IntUnaryOperator stonesAt) {
+        sowing.finish();
+        for (int bits = changedPits & allPockets(); bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            counts[i] = stonesAt.applyAsInt(i);
+            setStoneCount(i, counts[i]);
+        }
+    }
+
+    /**
+     * Shows a single move stone by stone, or at once when that is not
+     * possible; see BoardPanel.playMove.
+     *
+     * @param trace       the move, from BoardChangeEvent.getMoveTrace
+     * @param changedPits bit i set if pocket i changed
+     * @param stonesAt    stone count of a pocket by board index
+     */
+    public void playMove(MoveTrace trace, int changedPits, IntUnaryOperator stonesAt) {
+        System.arraycopy(counts, 0, nextCounts, 0, pockets);
+        for (int bits = changedPits & allPockets(); bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            nextCounts[i] = stonesAt.applyAsInt(i);
+        }
+        sowing.play(trace, counts, nextCounts);
+        System.arraycopy(nextCounts, 0, counts, 0, pockets);
+    }
+
+    private int allPockets() {
+        return (1 << pockets) - 1;
+    }
+
+    /**
+     * Animates one pit toward a new count, exactly as
+     * PitComponent.setStoneCount does.
+     */
+    private void setStoneCount(int i, int count) {
+        int target = Math.max(0, count);
+        if (target == targetStoneCount[i]) {
+            return;
+        }
+        long now = System.nanoTime();
+        boolean burst = now - lastUpdate[i] < BURST_FRAMES * clock.getFrameNanos();
+        lastUpdate[i] = now;
+        targetStoneCount[i] = target;
+        repaintPit(i);
+
+        if (burst || !isShowing()) {
+            animating &= ~(1 << i);
+            displayedStoneCount[i] = target;
+            return;
+        }
+        animationFrom[i] = displayedStoneCount[i];
+        animationStart[i] = now;
+        animationDuration[i] = Math.min(MAX_ANIMATION_NANOS,
+                Math.abs(target - displayedStoneCount[i]) * NANOS_PER_STONE);
+        animating |= 1 << i;
+        clock.start(countAnimation);
+    }
+
+    private void setTarget(int i, int count) {
+        targetStoneCount[i] = Math.max(0, count);
+        lastUpdate[i] = System.nanoTime();
+        animating &= ~(1 << i);
+        repaintPit(i);
+    }
+
+    private void show(int i, int count) {
+        animating &= ~(1 << i);
+        if (displayedStoneCount[i] != count) {
+            displayedStoneCount[i] = count;
+            repaintPit(i);
+        }
+    }
+
+    /**
+     * Moves every animating pit along its count animation.
+     *
+     * @return true while any pit is still animating
+     */
+    private boolean stepCounts(long now) {
+        for (int bits = animating; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            long elapsed = now - animationStart[i];
+            int target = targetStoneCount[i];
+            int value = elapsed >= animationDuration[i] ? target
+                    : animationFrom[i] + (int) ((target - animationFrom[i]) * elapsed / animationDuration[i]);
+            if (value != displayedStoneCount[i]) {
+                displayedStoneCount[i] = value;
+                repaintPit(i);
+            }
+            if (value == target) {
+                animating &= ~(1 << i);
+            }
+        }
+        return animating != 0;
+    }
+
+    // ---------------------- Feedback ----------------------
+
+    private void setFeedback(int i, boolean hover, boolean press) {
+        int bit = 1 << i;
+        int newHovered = hover ? hovered | bit : hovered & ~bit;
+        int newPressed = press ? pressed | bit : pressed & ~bit;
+        if (newHovered != hovered || newPressed != pressed) {
+            hovered = newHovered;
+            pressed = newPressed;
+            repaintPit(i);
+        }
+    }
+
+    private void flash(int i) {
+        flashing |= 1 << i;
+        flashEnd[i] = System.nanoTime() + FLASH_NANOS;
+        repaintPit(i);
+        clock.start(flashAnimation);
+    }
+
+    /**
+     * Ends the flashes that have run their time.
+     *
+     * @return true while any pit is still flashing
+     */
+    private boolean stepFlash(long now) {
+        for (int bits = flashing; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            if (now - flashEnd[i] >= 0) {
+                flashing &= ~(1 << i);
+                repaintPit(i);
+            }
+        }
+        return flashing != 0;
+    }
+
+    /**
+     * PitView for one pit of the canvas.
+     */
+    private final class Pit implements PitView {
+        private final int index;
+
+        Pit(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void showInvalidClickFeedback() {
+            flash(index);
+        }
+
+        @Override
+        public void showHoverEffect(boolean active) {
+            setFeedback(index, active, (pressed & 1 << index) != 0);
+        }
+
+        @Override
+        public void showPressedEffect(boolean active) {
+            setFeedback(index, (hovered & 1 << index) != 0, active);
+        }
+    }
+
+    // ---------------------- Mouse ----------------------
+
+    /**
+     * Finds the pit or store under a point.
+     *
+     * @param x x in this component's coordinates
+     * @param y y in this component's coordinates
+     * @return pocket index, or -1 if the point is between pits
+     */
+    public int pitAt(int x, int y) {
+        layOut();
+        for (int i = 0; i < pockets; i++) {
+            if (x >= cellX[i] && y >= cellY[i] && x < cellX[i] + cellWidth[i] && y < cellY[i] + cellHeight[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if clicks on the pocket do anything (stores never do).
+     */
+    private boolean isClickable(int i) {
+        return i >= 0 && isEnabled() && !geometry.isStore(i);
+    }
+
+    /**
+     * Gives pits the behavior of their PitComponent buttons: hover over an
+     * enabled pit, pressed while the mouse is down on it, and a click when
+     * it is released over the pit it was pressed on.
+     */
+    private final class MouseHandler extends MouseAdapter {
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            hoverTo(pitAt(e.getX(), e.getY()));
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            int pit = pitAt(e.getX(), e.getY());
+            hoverTo(pit);
+            if (pressPit >= 0) {
+                // Like a button: shown pressed only while over it.
+                pitViews[pressPit].showPressedEffect(pit == pressPit);
+            }
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e) {
+            hoverTo(-1);
+            if (pressPit >= 0) {
+                pitViews[pressPit].showPressedEffect(false);
+            }
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            int pit = pitAt(e.getX(), e.getY());
+            if (!SwingUtilities.isLeftMouseButton(e) || !isClickable(pit)) {
+                return;
+            }
+            pressPit = pit;
+            pitViews[pit].showPressedEffect(true);
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            int pit = pressPit;
+            if (pit < 0 || !SwingUtilities.isLeftMouseButton(e)) {
+                return;
+            }
+            pressPit = -1;
+            pitViews[pit].showPressedEffect(false);
+            if (pitAt(e.getX(), e.getY()) == pit && isClickable(pit) && boardListener != null) {
+                boardListener.actionPerformed(new ActionEvent(BoardCanvas.this,
+                        ActionEvent.ACTION_PERFORMED, commands[pit], e.getWhen(), e.getModifiersEx()));
+            }
+        }
+
+        private void hoverTo(int pit) {
+            int next = isClickable(pit) ? pit : -1;
+            if (next == hoverPit) {
+                return;
+            }
+            if (hoverPit >= 0) {
+                pitViews[hoverPit].showHoverEffect(false);
+            }
+            hoverPit = next;
+            if (next >= 0) {
+                pitViews[next].showHoverEffect(true);
+            }
+        }
+    }
+
+    // ---------------------- Layout and painting ----------------------
+
+    /**
+     * Places every pit the way BoardPanel's layouts would: the stores at
+     * the sides at full height, Player B's pits right to left along the
+     * top under their label, Player A's left to right along the bottom
+     * above theirs. On a canvas narrower than its preferred width the
+     * stores shrink with it instead of squeezing the pits.
+     */
+    private void layOut() {
+        int width = getWidth();
+        int height = getHeight();
+        if (width == layoutWidth && height == layoutHeight) {
+            return;
+        }
+        if (layoutWidth >= 0) {
+            // Every pit changes size with the board.
+            sprites.clear();
+        }
+        layoutWidth = width;
+        layoutHeight = height;
+
+        int pits = geometry.getPitsPerSide();
+        int preferredWidth = 2 * (STORE_WIDTH + GAP) + pits * PIT_SIZE + (pits - 1) * GAP;
+        int storeWidth = width >= preferredWidth ? STORE_WIDTH : width * STORE_WIDTH / preferredWidth;
+        place(geometry.getStoreB(), 0, 0, storeWidth, height);
+        place(geometry.getStoreA(), width - storeWidth, 0, storeWidth, height);
+
+        int centerX = storeWidth + GAP;
+        int centerWidth = Math.max(0, width - 2 * centerX);
+        int half = Math.max(0, (height - GAP) / 2);
+        int rowHeight = Math.max(0, half - labelHeight);
+        int column = Math.max(0, (centerWidth - (pits - 1) * GAP) / pits);
+        int left = centerX + (centerWidth - (pits * column + (pits - 1) * GAP)) / 2;
+        int topY = labelHeight;
+        int bottomY = half + GAP;
+        for (int c = 0; c < pits; c++) {
+            int x = left + c * (column + GAP);
+            place(geometry.getStoreB() - 1 - c, x, topY, column, rowHeight);
+            place(c, x, bottomY, column, rowHeight);
+        }
+
+        labelBX = centerX + (centerWidth - labelBWidth) / 2;
+        labelBY = labelAscent;
+        labelAX = centerX + (centerWidth - labelAWidth) / 2;
+        labelAY = bottomY + rowHeight + labelAscent;
+    }
+
+    private void place(int i, int x, int y, int width, int height) {
+        cellX[i] = x;
+        cellY[i] = y;
+        cellWidth[i] = width;
+        cellHeight[i] = height;
+    }
+
+    private void repaintPit(int i) {
+        if (layoutWidth >= 0) {
+            repaint(cellX[i], cellY[i], cellWidth[i], cellHeight[i]);
+        }
+    }
+
+    /**
+     * Paints the labels and every pit inside the clip. Nothing is
+     * allocated, and the graphics' state is restored afterwards.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        layOut();
+        Object antialiasing = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        Color color = g2.getColor();
+        Font font = g2.getFont();
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        double scale = deviceScale(g2, gc);
+
+        if (isOpaque()) {
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, layoutWidth, layoutHeight);
+        }
+        // The player labels are drawn with the desktop's text hints, as a JLabel would be.
+        Object textAntialiasing = g2.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (desktopTextAntialiasing != null) {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, desktopTextAntialiasing);
+        }
+        g2.setFont(style.getLabelFont());
+        g2.setColor(style.getAccentColor());
+        if (g2.hitClip(0, 0, layoutWidth, labelHeight)) {
+            g2.drawString(PLAYER_B, labelBX, labelBY);
+        }
+        if (g2.hitClip(0, labelAY - labelAscent, layoutWidth, labelHeight)) {
+            g2.drawString(PLAYER_A, labelAX, labelAY);
+        }
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+
+        for (int i = 0; i < pockets; i++) {
+            int x = cellX[i];
+            int y = cellY[i];
+            if (cellWidth[i] <= 0 || cellHeight[i] <= 0 || !g2.hitClip(x, y, cellWidth[i], cellHeight[i])) {
+                continue;
+            }
+            int bit = 1 << i;
+            boolean store = geometry.isStore(i);
+            int state = PitPainter.fillState((flashing & bit) != 0, (pressed & bit) != 0,
+                    (hovered & bit) != 0 && isEnabled() && !store);
+            g2.translate(x, y);
+            PitPainter.paint(g2, kit, sprites, i, store, state, displayedStoneCount[i], targetStoneCount[i],
+                    cellWidth[i], cellHeight[i], scale, gc);
+            g2.translate(-x, -y);
+        }
+
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        g2.setColor(color);
+        g2.setFont(font);
+    }
+
+    /**
+     * HiDPI scale of the screen the board is on; see PitComponent.
+     */
+    private double deviceScale(Graphics2D g2, GraphicsConfiguration gc) {
+        if (gc == null) {
+            return g2.getTransform().getScaleX();
+        }
+        if (gc != scaleConfiguration) {
+            scaleConfiguration = gc;
+            scaleOfConfiguration = gc.getDefaultTransform().getScaleX();
+        }
+        return scaleOfConfiguration;
+    }
+}
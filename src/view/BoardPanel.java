@@ -6,7 +6,8 @@
 
 package view;
 
-import model.MancalaGame;
+import model.BoardGeometry;
+import model.MoveTrace;
 
 import javax.swing.JPanel;
 import javax.swing.JLabel;
@@ -14,28 +15,77 @@ import javax.swing.SwingConstants;
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.ActionListener;
-import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Panel that lays out all pits and stores for the Mancala board.
  */
 public class BoardPanel extends JPanel {
-    private final PitComponent[] pits = new PitComponent[MancalaGame.TOTAL_POCKETS];
+    private final BoardGeometry geometry;
+    private final PitComponent[] pits;
+    private final AnimationClock clock = new AnimationClock();
+    private final SpriteCache sprites = new SpriteCache();
+    private final SowingAnimator sowing;
+    private final int[] counts;
+    private final int[] nextCounts;
     private StyleStrategy style;
     private final JLabel playerALabel = new JLabel("Player A", SwingConstants.CENTER);
     private final JLabel playerBLabel = new JLabel("Player B", SwingConstants.CENTER);
 
     /**
-     * Creates a board view using the given style.
+     * Creates a standard 6-pit board view using the given style.
      *
      * @param style visual style strategy
      */
     public BoardPanel(StyleStrategy style) {
+        this(style, BoardGeometry.STANDARD);
+    }
+
+    /**
+     * Creates a board view for the given board shape and style.
+     *
+     * @param style    visual style strategy
+     * @param geometry board shape to lay out
+     */
+    public BoardPanel(StyleStrategy style, BoardGeometry geometry) {
         this.style = style;
+        this.geometry = geometry;
+        this.pits = new PitComponent[geometry.getTotalPockets()];
+        this.counts = new int[pits.length];
+        this.nextCounts = new int[pits.length];
         setLayout(new BorderLayout(10, 10));
         setOpaque(true);
         buildBoard();
+        for (PitComponent pit : pits) {
+            pit.setAnimationClock(clock);
+            pit.setSpriteCache(sprites);
+        }
+        sowing = new SowingAnimator(new SowingAnimator.Pits() {
+            @Override
+            public void setTargetStoneCount(int pocket, int count) {
+                pits[pocket].setTargetStoneCount(count);
+            }
+
+            @Override
+            public void showStoneCount(int pocket, int count) {
+                pits[pocket].showStoneCount(count);
+            }
+
+            @Override
+            public boolean isShowing() {
+                return BoardPanel.this.isShowing();
+            }
+        }, pits.length, clock);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                // Every pit changes size with the panel.
+                sprites.clear();
+            }
+        });
         applyStyle(style);
     }
 
@@ -43,12 +93,16 @@ public class BoardPanel extends JPanel {
      * Builds and lays out the pit components.
      */
     private void buildBoard() {
-        PitComponent storeB = new PitComponent(MancalaGame.STORE_B, true, style);
-        PitComponent storeA = new PitComponent(MancalaGame.STORE_A, true, style);
-        pits[MancalaGame.STORE_B] = storeB;
-        pits[MancalaGame.STORE_A] = storeA;
+        int storeIndexA = geometry.getStoreA();
+        int storeIndexB = geometry.getStoreB();
+        int pitsPerSide = geometry.getPitsPerSide();
+
+        PitComponent storeB = new PitComponent(storeIndexB, true, style, geometry);
+        PitComponent storeA = new PitComponent(storeIndexA, true, style, geometry);
+        pits[storeIndexB] = storeB;
+        pits[storeIndexA] = storeA;
 
-        JPanel centerGrid = new JPanel(new GridLayout(2, MancalaGame.PITS_PER_SIDE, 10, 10));
+        JPanel centerGrid = new JPanel(new GridLayout(2, pitsPerSide, 10, 10));
         centerGrid.setOpaque(false);
 
         JPanel topPanel = new JPanel(new BorderLayout());
@@ -56,22 +110,22 @@ public class BoardPanel extends JPanel {
         topPanel.setOpaque(false);
         bottomPanel.setOpaque(false);
 
-        JPanel topRow = new JPanel(new GridLayout(1, MancalaGame.PITS_PER_SIDE, 10, 10));
-        JPanel bottomRow = new JPanel(new GridLayout(1, MancalaGame.PITS_PER_SIDE, 10, 10));
+        JPanel topRow = new JPanel(new GridLayout(1, pitsPerSide, 10, 10));
+        JPanel bottomRow = new JPanel(new GridLayout(1, pitsPerSide, 10, 10));
         topRow.setOpaque(false);
         bottomRow.setOpaque(false);
 
         // Player B pits (12 -> 7) 
         // Note: we need to think as the board is flipped, so 7 to 12 right to left instead
-        for (int i = MancalaGame.STORE_B - 1; i > MancalaGame.STORE_A; i--) {
-            PitComponent pit = new PitComponent(i, false, style);
+        for (int i = storeIndexB - 1; i > storeIndexA; i--) {
+            PitComponent pit = new PitComponent(i, false, style, geometry);
             pits[i] = pit;
             topRow.add(pit);
         }
 
         // Player A pits (0 -> 5) left to right
-        for (int i = 0; i < MancalaGame.PITS_PER_SIDE; i++) {
-            PitComponent pit = new PitComponent(i, false, style);
+        for (int i = 0; i < pitsPerSide; i++) {
+            PitComponent pit = new PitComponent(i, false, style, geometry);
             pits[i] = pit;
             bottomRow.add(pit);
         }
@@ -89,6 +143,13 @@ public class BoardPanel extends JPanel {
         add(storeA, BorderLayout.EAST);
     }
 
+    /**
+     * @return the board shape this panel lays out.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
     /**
      * Registers the provided action listener on all pits.
      *
@@ -124,15 +185,17 @@ public class BoardPanel extends JPanel {
      * Updates component colors and fonts according to the style.
      */
     private void applyStyle(StyleStrategy style) {
+        RenderKit kit = style.compile(geometry);
+        sprites.setRenderKit(kit);
         setBackground(style.getBackgroundColor());
         playerALabel.setFont(style.getLabelFont());
         playerBLabel.setFont(style.getLabelFont());
         playerALabel.setForeground(style.getAccentColor());
         playerBLabel.setForeground(style.getAccentColor());
 
-        Arrays.stream(pits)
-                .filter(p -> p != null)
-                .forEach(p -> p.setStyle(style));
+        for (PitComponent pit : pits) {
+            pit.setRenderKit(kit);
+        }
     }
 
     /**
@@ -141,14 +204,52 @@ public class BoardPanel extends JPanel {
      * @param boardState array representing the Mancala board
      */
     public void updateBoard(int[] boardState) {
-        if (boardState == null || boardState.length != MancalaGame.TOTAL_POCKETS) {
+        if (boardState == null || boardState.length != pits.length) {
             return;
         }
+        sowing.finish();
         for (int i = 0; i < boardState.length; i++) {
             PitComponent pit = pits[i];
             if (pit != null) {
                 pit.setStoneCount(boardState[i]);
             }
+            counts[i] = boardState[i];
+        }
+    }
+
+    /**
+     * Updates only the pits whose bits are set, so the work per move
+     * follows the number of pits that changed rather than the board size.
+     *
+     * @param changedPits bit i set if pocket i changed
+     * @param stonesAt    stone count of a pocket by board index
+     */
+    public void updatePits(int changedPits, IntUnaryOperator stonesAt) {
+        sowing.finish();
+        for (int bits = changedPits & ((1 << pits.length) - 1); bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            counts[i] = stonesAt.applyAsInt(i);
+            pits[i].setStoneCount(counts[i]);
+        }
+    }
+
+    /**
+     * Shows a single move stone by stone: the pits follow the trace from
+     * the counts they last showed to the new ones. If the trace does not
+     * lead there, the board is off screen, or the previous move is still
+     * being played, the new counts are shown at once instead.
+     *
+     * @param trace       the move, from BoardChangeEvent.getMoveTrace
+     * @param changedPits bit i set if pocket i changed
+     * @param stonesAt    stone count of a pocket by board index
+     */
+    public void playMove(MoveTrace trace, int changedPits, IntUnaryOperator stonesAt) {
+        System.arraycopy(counts, 0, nextCounts, 0, counts.length);
+        for (int bits = changedPits & ((1 << pits.length) - 1); bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            nextCounts[i] = stonesAt.applyAsInt(i);
         }
+        sowing.play(trace, counts, nextCounts);
+        System.arraycopy(nextCounts, 0, counts, 0, counts.length);
     }
 }
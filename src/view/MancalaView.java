@@ -6,7 +6,8 @@
 
 package view;
 
-import model.MancalaGame;
+import model.BoardGeometry;
+import model.MoveTrace;
 import model.Player;
 
 import javax.swing.BorderFactory;
@@ -30,6 +31,7 @@ import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Swing-based view for the Mancala game.
@@ -55,13 +57,16 @@ public class MancalaView extends JFrame {
     private final JButton modernStyleButton = new JButton("Modern Style");
 
     private BoardPanel boardPanel;
+    private BoardGeometry geometry = BoardGeometry.STANDARD;
     private StyleStrategy currentStyle = new ClassicBoardStyle();
 
+    private ActionListener pitClickListener;
     private ActionListener undoButtonListener;
     private ActionListener styleSelectionListener;
     private ActionListener initialStonesListener;
 
-    private int[] boardSnapshot = new int[MancalaGame.TOTAL_POCKETS];
+    private int[] boardSnapshot = new int[geometry.getTotalPockets()];
+    private final IntUnaryOperator snapshotStones = i -> boardSnapshot[i];
     private Player currentPlayer = Player.PLAYER_A;
     private boolean undoEnabled;
     private int initialStonesInput = 3;
@@ -166,9 +171,31 @@ public class MancalaView extends JFrame {
      * @param listener pit action listener
      */
     public void addPitClickListener(ActionListener listener) {
+        this.pitClickListener = listener;
         boardPanel.setBoardListener(listener);
     }
 
+    /**
+     * Rebuilds the board for a different board shape. The current style and
+     * pit click listener carry over to the new board.
+     *
+     * @param newGeometry board shape used by the model
+     */
+    public void setBoardGeometry(BoardGeometry newGeometry) {
+        if (newGeometry == null || newGeometry == geometry) {
+            return;
+        }
+        geometry = newGeometry;
+        boardSnapshot = new int[geometry.getTotalPockets()];
+
+        gamePanel.remove(boardPanel);
+        boardPanel = new BoardPanel(currentStyle, geometry);
+        boardPanel.updateBoard(boardSnapshot);
+        boardPanel.setBoardListener(pitClickListener);
+        gamePanel.add(boardPanel, BorderLayout.CENTER);
+        gamePanel.revalidate();
+    }
+
     /**
      * Registers the controller undo handler.
      *
@@ -216,13 +243,54 @@ public class MancalaView extends JFrame {
      */
     public void updateBoard(int[] newBoardState) {
         if (newBoardState != null) {
-            boardSnapshot = Arrays.copyOf(newBoardState, newBoardState.length);
+            if (newBoardState.length == boardSnapshot.length) {
+                System.arraycopy(newBoardState, 0, boardSnapshot, 0, newBoardState.length);
+            } else {
+                boardSnapshot = Arrays.copyOf(newBoardState, newBoardState.length);
+            }
         }
         if (boardPanel != null) {
             boardPanel.updateBoard(boardSnapshot);
         }
     }
 
+    /**
+     * Updates only the pits whose bits are set, reading their counts
+     * through stonesAt; nothing is copied or allocated.
+     *
+     * @param changedPits bit i set if pocket i changed
+     * @param stonesAt    stone count of a pocket by board index
+     */
+    public void updatePits(int changedPits, IntUnaryOperator stonesAt) {
+        int pits = changedPits & ((1 << boardSnapshot.length) - 1);
+        for (int bits = pits; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            boardSnapshot[i] = stonesAt.applyAsInt(i);
+        }
+        if (boardPanel != null) {
+            boardPanel.updatePits(pits, snapshotStones);
+        }
+    }
+
+    /**
+     * Like updatePits, but animates the move stone by stone when the
+     * board can (see BoardPanel.playMove).
+     *
+     * @param trace       the move that changed the pits
+     * @param changedPits bit i set if pocket i changed
+     * @param stonesAt    stone count of a pocket by board index
+     */
+    public void playMove(MoveTrace trace, int changedPits, IntUnaryOperator stonesAt) {
+        int pits = changedPits & ((1 << boardSnapshot.length) - 1);
+        for (int bits = pits; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            boardSnapshot[i] = stonesAt.applyAsInt(i);
+        }
+        if (boardPanel != null) {
+            boardPanel.playMove(trace, pits, snapshotStones);
+        }
+    }
+
     /**
      * Updates the current player label.
      *
@@ -311,7 +379,7 @@ public class MancalaView extends JFrame {
      */
     public void resetToStyleSelection() {
         showStyleSelection();
-        updateBoard(new int[MancalaGame.TOTAL_POCKETS]);
+        updateBoard(new int[geometry.getTotalPockets()]);
         updateUndoButton(false);
         setInitialStonesInput(3);
         statusLabel.setText("Game reset. Choose style and stones to play again.");
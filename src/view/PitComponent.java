@@ -6,36 +6,49 @@
 
 package view;
 
-import model.MancalaGame;
+import model.BoardGeometry;
 
 import javax.swing.JButton;
 import javax.swing.Timer;
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Insets;
 import java.awt.RenderingHints;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 /**
  * Custom component representing a Mancala pit or store. It renders stones as
  * circles and animates changes in the stone count.
  */
 public class PitComponent extends JButton implements PitView {
+    /** Animation time per stone of difference. */
+    private static final long NANOS_PER_STONE = 60_000_000L;
+
+    /** Longest a count animation may take, however many stones changed. */
+    private static final long MAX_ANIMATION_NANOS = 400_000_000L;
+
+    /** Updates closer together than this many frames are not animated. */
+    private static final int BURST_FRAMES = 2;
+
     private final int pitIndex;
     private final boolean store;
-    private StyleStrategy style;
-    private Color baseColor;
-    private final String slotLabel;
+    private final BoardGeometry geometry;
+    private RenderKit kit;
 
     private int targetStoneCount = 0;
     private int displayedStoneCount = 0;
-    private Timer animationTimer;
+    private AnimationClock clock;
+    private final AnimationClock.Animation countAnimation = this::stepCount;
+    private SpriteCache sprites;
+    private GraphicsConfiguration scaleConfiguration;
+    private double scaleOfConfiguration;
+    private int animationFrom;
+    private long animationStart;
+    private long animationDuration;
+    private long lastUpdate;
     private Timer flashTimer;
 
     private boolean hoverActive = false;
@@ -43,16 +56,28 @@ public class PitComponent extends JButton implements PitView {
     private boolean flashActive = false;
 
     /**
-     * Creates a visual pit/store representation.
+     * Creates a visual pit/store representation on the standard board.
      *
      * @param pitIndex index in Mancala board array
      * @param isStore  true if this represents a Mancala store
      * @param style    board styling to use
      */
     public PitComponent(int pitIndex, boolean isStore, StyleStrategy style) {
+        this(pitIndex, isStore, style, BoardGeometry.STANDARD);
+    }
+
+    /**
+     * Creates a visual pit/store representation.
+     *
+     * @param pitIndex index in Mancala board array
+     * @param isStore  true if this represents a Mancala store
+     * @param style    board styling to use
+     * @param geometry board shape, used to label the pit
+     */
+    public PitComponent(int pitIndex, boolean isStore, StyleStrategy style, BoardGeometry geometry) {
         this.pitIndex = pitIndex;
         this.store = isStore;
-        this.slotLabel = computeSlotLabel(pitIndex, isStore);
+        this.geometry = geometry;
         setPreferredSize(new Dimension(isStore ? 90 : 80, isStore ? 220 : 80));
         setFocusPainted(false);
         setBorderPainted(false);
@@ -83,40 +108,132 @@ public class PitComponent extends JButton implements PitView {
      * @param style style to use for painting
      */
     public void setStyle(StyleStrategy style) {
-        this.style = style;
-        this.baseColor = store ? style.getStoreColor() : style.getPitColor();
+        setRenderKit(style.compile(geometry));
+    }
+
+    /**
+     * Applies an already compiled style; BoardPanel compiles one kit per
+     * style change and gives it to all its pits.
+     *
+     * @param kit compiled style for this pit's board
+     */
+    void setRenderKit(RenderKit kit) {
+        this.kit = kit;
+        if (sprites != null) {
+            sprites.setRenderKit(kit);
+        }
+        repaint();
+    }
+
+    /**
+     * Sets the image cache used for painting; BoardPanel gives all its
+     * pits the same one. Without it the pit makes its own.
+     *
+     * @param sprites shared sprite cache
+     */
+    void setSpriteCache(SpriteCache sprites) {
+        this.sprites = sprites;
+        sprites.setRenderKit(kit);
         repaint();
     }
 
     /**
-     * Updates the target stone count and triggers an animation toward it.
+     * Sets the clock that drives this pit's animations; BoardPanel gives
+     * all its pits the same one. Without it the pit makes its own.
+     *
+     * @param clock shared animation clock
+     */
+    void setAnimationClock(AnimationClock clock) {
+        if (this.clock != null) {
+            this.clock.cancel(countAnimation);
+        }
+        this.clock = clock;
+        if (displayedStoneCount != targetStoneCount) {
+            clock.start(countAnimation);
+        }
+    }
+
+    /**
+     * Updates the target stone count and animates toward it. The animation
+     * takes 60 ms per stone but never more than 400 ms. Updates arriving
+     * faster than the clock can show them, e.g. while bots play, and
+     * updates to a pit that is not on screen are shown at once.
      *
      * @param count number of stones currently in this pit
      */
     public void setStoneCount(int count) {
-        targetStoneCount = Math.max(0, count);
-        if (animationTimer != null && animationTimer.isRunning()) {
-            animationTimer.stop();
-        }
-        if (displayedStoneCount == targetStoneCount) {
+        int target = Math.max(0, count);
+        if (target == targetStoneCount) {
+            // Already showing it, or animating toward it.
             return;
         }
-        animationTimer = new Timer(60, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (displayedStoneCount == targetStoneCount) {
-                    animationTimer.stop();
-                    return;
-                }
-                if (displayedStoneCount < targetStoneCount) {
-                    displayedStoneCount++;
-                } else {
-                    displayedStoneCount--;
-                }
+        if (clock == null) {
+            clock = new AnimationClock();
+        }
+        long now = System.nanoTime();
+        boolean burst = now - lastUpdate < BURST_FRAMES * clock.getFrameNanos();
+        lastUpdate = now;
+        targetStoneCount = target;
+
+        if (burst || !isShowing()) {
+            clock.cancel(countAnimation);
+            if (displayedStoneCount != target) {
+                displayedStoneCount = target;
                 repaint();
             }
-        });
-        animationTimer.start();
+            return;
+        }
+        animationFrom = displayedStoneCount;
+        animationStart = now;
+        animationDuration = Math.min(MAX_ANIMATION_NANOS,
+                Math.abs(target - displayedStoneCount) * NANOS_PER_STONE);
+        clock.start(countAnimation);
+    }
+
+    /**
+     * Sets the count shown in text without animating the stones; used by
+     * SowingAnimator, which moves the stones itself.
+     *
+     * @param count number of stones now in this pit
+     */
+    void setTargetStoneCount(int count) {
+        targetStoneCount = Math.max(0, count);
+        lastUpdate = System.nanoTime();
+        if (clock != null) {
+            clock.cancel(countAnimation);
+        }
+        repaint();
+    }
+
+    /**
+     * Draws this many stones right away, cancelling any count animation.
+     *
+     * @param count stones to draw
+     */
+    void showStoneCount(int count) {
+        if (clock != null) {
+            clock.cancel(countAnimation);
+        }
+        if (displayedStoneCount != count) {
+            displayedStoneCount = count;
+            repaint();
+        }
+    }
+
+    /**
+     * Moves the displayed count along the current animation.
+     *
+     * @return true while the animation is still running
+     */
+    private boolean stepCount(long now) {
+        long elapsed = now - animationStart;
+        int value = elapsed >= animationDuration ? targetStoneCount
+                : animationFrom + (int) ((targetStoneCount - animationFrom) * elapsed / animationDuration);
+        if (value != displayedStoneCount) {
+            displayedStoneCount = value;
+            repaint();
+        }
+        return value != targetStoneCount;
     }
 
     /**
@@ -156,136 +273,44 @@ public class PitComponent extends JButton implements PitView {
     }
 
     /**
-     * Paints the pit background, outline, stones, and labels.
+     * Paints the pit background, outline, stones, and labels with
+     * PitPainter, which allocates nothing. The graphics' state is restored
+     * afterwards instead of painting on a copy.
      */
     @Override
     protected void paintComponent(Graphics g) {
-        Graphics2D g2 = (Graphics2D) g.create();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        int width = getWidth();
-        int height = getHeight();
-        int arc = store ? 60 : 40;
-
-        Color fill = baseColor;
-        if (flashActive) {
-            fill = style.getAccentColor();
-        } else if (pressedActive) {
-            fill = baseColor.darker();
-        } else if (hoverActive && isEnabled()) {
-            fill = baseColor.brighter();
-        }
-
-        g2.setColor(fill);
-        g2.fillRoundRect(0, 0, width, height, arc, arc);
-
-        g2.setColor(style.getAccentColor().darker());
-        g2.setStroke(new BasicStroke(store ? 4f : 2f));
-        g2.drawRoundRect(1, 1, width - 2, height - 2, arc, arc);
-
-        if (store) {
-            drawStoreUnderlay(g2);
+        Graphics2D g2 = (Graphics2D) g;
+        if (sprites == null) {
+            sprites = new SpriteCache();
+            sprites.setRenderKit(kit);
         }
-
-        drawStones(g2);
-        drawLabels(g2);
-
-        g2.dispose();
+        Object antialiasing = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        Color color = g2.getColor();
+        Font font = g2.getFont();
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+
+        PitPainter.paint(g2, kit, sprites, pitIndex, store,
+                PitPainter.fillState(flashActive, pressedActive, hoverActive && isEnabled()),
+                displayedStoneCount, targetStoneCount, getWidth(), getHeight(), deviceScale(g2, gc), gc);
+
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        g2.setColor(color);
+        g2.setFont(font);
     }
 
     /**
-     * Draws the stones given the current animation state.
+     * HiDPI scale of the screen the pit is on. Reading it allocates a
+     * transform, so it is only read again when the pit changes screens;
+     * off screen it comes from the graphics itself.
      */
-    private void drawStones(Graphics2D g2) {
-        int stones = displayedStoneCount;
-        if (stones <= 0) {
-            return;
+    private double deviceScale(Graphics2D g2, GraphicsConfiguration gc) {
+        if (gc == null) {
+            return g2.getTransform().getScaleX();
         }
-
-        int padding = store ? 18 : 12;
-        int width = getWidth() - padding * 2;
-        int height = getHeight() - padding * 2;
-
-        int columns = store ? 3 : 3;
-        int rows = Math.max(1, (int) Math.ceil(stones / (double) columns));
-
-        int cellWidth = Math.max(10, width / columns);
-        int cellHeight = Math.max(10, height / rows);
-        int radius = Math.max(5, Math.min(cellWidth, cellHeight) / 2 - 4);
-        int diameter = radius * 2;
-
-        Color stoneColor = style.getTextColor();
-        Color outline = style.getAccentColor().darker();
-
-        for (int i = 0; i < stones; i++) {
-            int row = i / columns;
-            int col = i % columns;
-            int cx = padding + col * cellWidth + cellWidth / 2;
-            int cy = padding + row * cellHeight + cellHeight / 2;
-
-            g2.setColor(stoneColor);
-            g2.fillOval(cx - radius, cy - radius, diameter, diameter);
-            g2.setColor(outline);
-            g2.drawOval(cx - radius, cy - radius, diameter, diameter);
-        }
-    }
-
-    /**
-     * Draws the counter and label text.
-     */
-    private void drawLabels(Graphics2D g2) {
-        g2.setColor(style.getTextColor());
-
-        Font labelFont = store
-                ? style.getLabelFont().deriveFont((float) style.getLabelFont().getSize())
-                : style.getPitFont();
-        g2.setFont(labelFont);
-        FontMetrics labelMetrics = g2.getFontMetrics();
-
-        if (slotLabel != null && !slotLabel.isEmpty()) {
-            int labelY = labelMetrics.getAscent() + (store ? 12 : 8);
-            int labelX = (getWidth() - labelMetrics.stringWidth(slotLabel)) / 2;
-            g2.drawString(slotLabel, labelX, labelY);
-        }
-
-        g2.setFont(style.getPitFont());
-        FontMetrics fm = g2.getFontMetrics();
-        String countText = String.valueOf(targetStoneCount);
-        int y = getHeight() - (store ? 14 : 10);
-        int x = (getWidth() - fm.stringWidth(countText)) / 2;
-        g2.drawString(countText, x, y);
-    }
-
-    /**
-     * Draws the "Mancala" label beneath the stones so that marbles render on top.
-     */
-    private void drawStoreUnderlay(Graphics2D g2) {
-        g2.setFont(style.getPitFont());
-        g2.setColor(style.getTextColor().darker());
-        FontMetrics metrics = g2.getFontMetrics();
-        String label = "Mancala";
-        int y = getHeight() / 2;
-        int x = (getWidth() - metrics.stringWidth(label)) / 2;
-        g2.drawString(label, x, y);
-    }
-
-    /**
-     * Generates the textual label for pits and Mancalas per assignment spec.
-     */
-    private static String computeSlotLabel(int index, boolean isStore) {
-        if (isStore) {
-            return index == MancalaGame.STORE_A ? "A" : "B";
-        }
-
-        if (index >= 0 && index < MancalaGame.PITS_PER_SIDE) {
-            return "A" + (index + 1);
+        if (gc != scaleConfiguration) {
+            scaleConfiguration = gc;
+            scaleOfConfiguration = gc.getDefaultTransform().getScaleX();
         }
-
-        if (index > MancalaGame.STORE_A && index < MancalaGame.STORE_B) {
-            int labelNumber = index - MancalaGame.STORE_A;
-            return "B" + labelNumber;
-        }
-
-        return "";
+        return scaleOfConfiguration;
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Umar Lin
+ * Date: 2026-10-17
+ */
+
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+
+/**
+ * Paints one pit or store at the origin of a Graphics2D, so PitComponent
+ * and BoardCanvas draw exactly the same pixels. Everything but the text
+ * is copied from a SpriteCache and the text comes from the RenderKit, so
+ * nothing is allocated.
+ *
+ * The graphics' antialiasing hint, color and font are left changed;
+ * callers restore them once they are done painting.
+ */
+final class PitPainter {
+
+    private PitPainter() {
+    }
+
+    /**
+     * @param flash   flashing after an invalid click
+     * @param pressed mouse pressed on the pit
+     * @param hover   mouse over an enabled pit
+     * @return the SpriteCache state for these feedback flags
+     */
+    static int fillState(boolean flash, boolean pressed, boolean hover) {
+        if (flash) {
+            return SpriteCache.STATE_FLASH;
+        } else if (pressed) {
+            return SpriteCache.STATE_PRESSED;
+        } else if (hover) {
+            return SpriteCache.STATE_HOVER;
+        }
+        return SpriteCache.STATE_NORMAL;
+    }
+
+    /**
+     * Paints the background, outline, stones, and labels.
+     *
+     * @param g2      graphics translated to the pit's top left corner
+     * @param kit     compiled style
+     * @param sprites image cache for kit
+     * @param index   pocket index, for the slot label
+     * @param store   true for a store
+     * @param state   one of the SpriteCache.STATE_ constants
+     * @param stones  stones to draw
+     * @param count   count to print
+     * @param width   pit width
+     * @param height  pit height
+     * @param scale   device pixels per user unit
+     * @param gc      screen configuration, or null off screen
+     */
+    static void paint(Graphics2D g2, RenderKit kit, SpriteCache sprites, int index, boolean store,
+                      int state, int stones, int count, int width, int height,
+                      double scale, GraphicsConfiguration gc) {
+        g2.drawImage(sprites.background(store, state, width, height, scale, gc), 0, 0, width, height, null);
+        drawStones(g2, sprites, store, stones, width, height, scale, gc);
+
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        drawLabels(g2, kit, index, store, count, width, height);
+    }
+
+    /**
+     * Draws the stones in rows of three.
+     */
+    private static void drawStones(Graphics2D g2, SpriteCache sprites, boolean store, int stones,
+                                   int width, int height, double scale, GraphicsConfiguration gc) {
+        if (stones <= 0) {
+            return;
+        }
+
+        int padding = store ? 18 : 12;
+        int innerWidth = width - padding * 2;
+        int innerHeight = height - padding * 2;
+
+        int columns = 3;
+        int rows = Math.max(1, (int) Math.ceil(stones / (double) columns));
+
+        int cellWidth = Math.max(10, innerWidth / columns);
+        int cellHeight = Math.max(10, innerHeight / rows);
+        int radius = Math.max(5, Math.min(cellWidth, cellHeight) / 2 - 4);
+        int diameter = radius * 2;
+
+        Image stone = sprites.stone(diameter, store, scale, gc);
+        int offset = radius + SpriteCache.STONE_MARGIN;
+        int size = diameter + 2 * SpriteCache.STONE_MARGIN;
+
+        for (int i = 0; i < stones; i++) {
+            int row = i / columns;
+            int col = i % columns;
+            int cx = padding + col * cellWidth + cellWidth / 2;
+            int cy = padding + row * cellHeight + cellHeight / 2;
+
+            g2.drawImage(stone, cx - offset, cy - offset, size, size, null);
+        }
+    }
+
+    /**
+     * Draws the counter and label text.
+     */
+    private static void drawLabels(Graphics2D g2, RenderKit kit, int index, boolean store, int count,
+                                   int width, int height) {
+        g2.setColor(kit.getTextColor());
+
+        String slotLabel = kit.getSlotLabel(index);
+        if (!slotLabel.isEmpty()) {
+            g2.setFont(store ? kit.getStoreLabelFont() : kit.getPitFont());
+            int labelY = kit.getSlotLabelAscent(store) + (store ? 12 : 8);
+            int labelX = (width - kit.getSlotLabelWidth(index)) / 2;
+            g2.drawString(slotLabel, labelX, labelY);
+        }
+
+        g2.setFont(kit.getPitFont());
+        int y = height - (store ? 14 : 10);
+        int x = (width - kit.getCountWidth(count)) / 2;
+        g2.drawString(kit.getCountText(count), x, y);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Umar Lin
+ * Date: 2026-10-17
+ */
+
+package view;
+
+import model.BoardGeometry;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Everything a StyleStrategy means for painting a board, worked out once:
+ * fonts, the fill colors of every feedback state, outline strokes, and
+ * the text and width of every pit label and stone count. Pits share one
+ * kit, so painting never creates fonts, colors, strokes or strings.
+ *
+ * Kits are immutable; get a new one with StyleStrategy.compile when the
+ * style changes.
+ */
+public final class RenderKit {
+    private static final String STORE_CAPTION = "Mancala";
+
+    private final StyleStrategy style;
+    private final BoardGeometry geometry;
+
+    private final Font pitFont;
+    private final Font storeLabelFont;
+    private final Color textColor;
+    private final Color outlineColor;
+    private final Color captionColor;
+    private final Color[][] fills;
+    private final BasicStroke pitOutline;
+    private final BasicStroke storeOutline;
+
+    private final String[] slotLabels;
+    private final int[] slotLabelWidths;
+    private final int pitLabelAscent;
+    private final int storeLabelAscent;
+    private final String[] counts;
+    private final int[] countWidths;
+    private final FontMetrics pitMetrics;
+    private final int captionWidth;
+
+    /**
+     * Compiles a style for one board shape.
+     *
+     * @param style    style to compile
+     * @param geometry board shape whose pit labels to lay out
+     */
+    RenderKit(StyleStrategy style, BoardGeometry geometry) {
+        this.style = style;
+        this.geometry = geometry;
+
+        pitFont = style.getPitFont();
+        storeLabelFont = style.getLabelFont();
+        textColor = style.getTextColor();
+        outlineColor = style.getAccentColor().darker();
+        captionColor = textColor.darker();
+        fills = new Color[][] {fillColors(style.getPitColor(), style), fillColors(style.getStoreColor(), style)};
+        pitOutline = new BasicStroke(2f);
+        storeOutline = new BasicStroke(4f);
+
+        // Same hints as PitComponent.paintComponent, so widths match.
+        Graphics2D g2 = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        pitMetrics = g2.getFontMetrics(pitFont);
+        FontMetrics storeMetrics = g2.getFontMetrics(storeLabelFont);
+        g2.dispose();
+
+        int pockets = geometry.getTotalPockets();
+        slotLabels = new String[pockets];
+        slotLabelWidths = new int[pockets];
+        for (int i = 0; i < pockets; i++) {
+            boolean store = geometry.isStore(i);
+            slotLabels[i] = store ? (i == geometry.getStoreA() ? "A" : "B") : geometry.labelOf(i);
+            slotLabelWidths[i] = (store ? storeMetrics : pitMetrics).stringWidth(slotLabels[i]);
+        }
+        pitLabelAscent = pitMetrics.getAscent();
+        storeLabelAscent = storeMetrics.getAscent();
+
+        // Every count a pocket can reach: all the stones on the board.
+        int maxCount = geometry.getTotalPits() * BoardGeometry.MAX_STONES_PER_PIT;
+        counts = new String[maxCount + 1];
+        countWidths = new int[maxCount + 1];
+        for (int n = 0; n <= maxCount; n++) {
+            counts[n] = String.valueOf(n);
+            countWidths[n] = pitMetrics.stringWidth(counts[n]);
+        }
+        captionWidth = pitMetrics.stringWidth(STORE_CAPTION);
+    }
+
+    private static Color[] fillColors(Color base, StyleStrategy style) {
+        Color[] colors = new Color[4];
+        colors[SpriteCache.STATE_NORMAL] = base;
+        colors[SpriteCache.STATE_HOVER] = base.brighter();
+        colors[SpriteCache.STATE_PRESSED] = base.darker();
+        colors[SpriteCache.STATE_FLASH] = style.getAccentColor();
+        return colors;
+    }
+
+    /**
+     * @return the style this kit was compiled from.
+     */
+    public StyleStrategy getStyle() {
+        return style;
+    }
+
+    /**
+     * @return the board shape whose labels this kit lays out.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @return font for pit labels, counts and the store caption.
+     */
+    public Font getPitFont() {
+        return pitFont;
+    }
+
+    /**
+     * @return font for the store labels ("A", "B").
+     */
+    public Font getStoreLabelFont() {
+        return storeLabelFont;
+    }
+
+    /**
+     * @return color of text and stones.
+     */
+    public Color getTextColor() {
+        return textColor;
+    }
+
+    /**
+     * @return color of pit and stone outlines.
+     */
+    public Color getOutlineColor() {
+        return outlineColor;
+    }
+
+    /**
+     * @return color of the store caption.
+     */
+    public Color getCaptionColor() {
+        return captionColor;
+    }
+
+    /**
+     * @param store true for a store
+     * @param state one of the SpriteCache.STATE_ constants
+     * @return fill color for that feedback state
+     */
+    public Color getFill(boolean store, int state) {
+        return fills[store ? 1 : 0][state];
+    }
+
+    /**
+     * @param store true for a store
+     * @return stroke for the outline of the pit and its stones
+     */
+    public BasicStroke getOutline(boolean store) {
+        return store ? storeOutline : pitOutline;
+    }
+
+    /**
+     * @param index board index
+     * @return the label drawn at the top of that pit or store
+     */
+    public String getSlotLabel(int index) {
+        return slotLabels[index];
+    }
+
+    /**
+     * @param index board index
+     * @return width of the slot label in its font
+     */
+    public int getSlotLabelWidth(int index) {
+        return slotLabelWidths[index];
+    }
+
+    /**
+     * @param store true for a store
+     * @return ascent of the slot label font
+     */
+    public int getSlotLabelAscent(boolean store) {
+        return store ? storeLabelAscent : pitLabelAscent;
+    }
+
+    /**
+     * @param count stone count
+     * @return the count as text (precomputed for every reachable count)
+     */
+    public String getCountText(int count) {
+        return count >= 0 && count < counts.length ? counts[count] : String.valueOf(count);
+    }
+
+    /**
+     * @param count stone count
+     * @return width of the count text in the pit font
+     */
+    public int getCountWidth(int count) {
+        return count >= 0 && count < counts.length ? countWidths[count]
+                : pitMetrics.stringWidth(String.valueOf(count));
+    }
+
+    /**
+     * @return the caption drawn in the middle of each store.
+     */
+    public String getStoreCaption() {
+        return STORE_CAPTION;
+    }
+
+    /**
+     * @return width of the store caption in the pit font.
+     */
+    public int getStoreCaptionWidth() {
+        return captionWidth;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Umar Lin
+ * Date: 2026-10-17
+ */
+
+package view;
+
+import model.MoveTrace;
+
+/**
+ * Plays a MoveTrace back on a board's pits stone by stone: the source is
+ * emptied, each stone drops into the next pocket, a capture moves both
+ * pits into the store, and a game-ending sweep fills the stores.
+ *
+ * Each step takes 60 ms, but a whole move never takes more than 1.2 s;
+ * long moves drop several stones per frame instead. When a move arrives
+ * before the previous one has finished, the game is outrunning the
+ * display, so the previous move is finished at once and the new one is
+ * shown in a single frame.
+ */
+class SowingAnimator implements AnimationClock.Animation {
+    /**
+     * The board a move is played on.
+     */
+    interface Pits {
+        /**
+         * Sets the count a pocket prints, without moving its stones.
+         *
+         * @param pocket board index
+         * @param count  stones after the move
+         */
+        void setTargetStoneCount(int pocket, int count);
+
+        /**
+         * Draws this many stones in a pocket right away.
+         *
+         * @param pocket board index
+         * @param count  stones to draw
+         */
+        void showStoneCount(int pocket, int count);
+
+        /**
+         * @return true if the board is on screen.
+         */
+        boolean isShowing();
+    }
+
+    /** Time per step when the move is short enough. */
+    private static final long NANOS_PER_STEP = 60_000_000L;
+
+    /** Longest a move may take, however many stones it sows. */
+    private static final long MAX_DURATION_NANOS = 1_200_000_000L;
+
+    private final Pits pits;
+    private final AnimationClock clock;
+    private final int[] shown;
+    private final int[] target;
+
+    private MoveTrace trace;
+    private int steps;
+    private int done;
+    private long start;
+    private long duration;
+
+    /**
+     * @param pits    board to play moves on
+     * @param pockets number of pockets on the board
+     * @param clock   clock to run on
+     */
+    SowingAnimator(Pits pits, int pockets, AnimationClock clock) {
+        this.pits = pits;
+        this.clock = clock;
+        this.shown = new int[pockets];
+        this.target = new int[pockets];
+    }
+
+    /**
+     * @return true while a move is being played back.
+     */
+    boolean isPlaying() {
+        return trace != null;
+    }
+
+    /**
+     * Starts playing a move.
+     *
+     * @param trace  the move
+     * @param before every pocket's count before the move
+     * @param after  every pocket's count after the move
+     * @return false if the move was shown at once instead of animated
+     */
+    boolean play(MoveTrace trace, int[] before, int[] after) {
+        boolean outrun = isPlaying();
+        finish();
+        System.arraycopy(after, 0, target, 0, target.length);
+        System.arraycopy(before, 0, shown, 0, shown.length);
+        for (int i = 0; i < target.length; i++) {
+            pits.setTargetStoneCount(i, after[i]);
+        }
+        if (outrun || !pits.isShowing() || !replaysTo(trace, before, after)) {
+            showTarget();
+            return false;
+        }
+
+        this.trace = trace;
+        steps = 1 + trace.getStones() + (trace.isCapture() ? 1 : 0) + (trace.isGameEnd() ? 1 : 0);
+        done = 0;
+        start = System.nanoTime();
+        duration = Math.min(MAX_DURATION_NANOS, steps * NANOS_PER_STEP);
+        clock.start(this);
+        return true;
+    }
+
+    /**
+     * Jumps to the end of the move being played, if any.
+     */
+    void finish() {
+        if (trace != null) {
+            clock.cancel(this);
+            trace = null;
+            showTarget();
+        }
+    }
+
+    @Override
+    public boolean step(long nowNanos) {
+        long elapsed = nowNanos - start;
+        int due = elapsed >= duration ? steps : (int) ((steps * elapsed + duration - 1) / duration);
+        int changed = 0;
+        while (done < due) {
+            changed |= apply(done++, shown);
+        }
+        for (int bits = changed; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            pits.showStoneCount(i, shown[i]);
+        }
+        if (done < steps) {
+            return true;
+        }
+        trace = null;
+        showTarget();
+        return false;
+    }
+
+    /**
+     * Applies one step of the current trace to counts.
+     *
+     * @return bitmask of pockets changed
+     */
+    private int apply(int step, int[] counts) {
+        return apply(trace, step, counts, target);
+    }
+
+    private static int apply(MoveTrace trace, int step, int[] counts, int[] after) {
+        int stones = trace.getStones();
+        if (step == 0) {
+            counts[trace.getSource()] = 0;
+            return 1 << trace.getSource();
+        }
+        if (step <= stones) {
+            int pocket = trace.getSownPocket(step - 1);
+            counts[pocket]++;
+            return 1 << pocket;
+        }
+        if (step == stones + 1 && trace.isCapture()) {
+            int store = trace.getStore();
+            int from = trace.getCapturedFrom();
+            int landing = trace.getLanding();
+            counts[store] += counts[from] + counts[landing];
+            counts[from] = 0;
+            counts[landing] = 0;
+            return 1 << store | 1 << from | 1 << landing;
+        }
+        // The game-ending sweep: everything lands where the model put it.
+        System.arraycopy(after, 0, counts, 0, counts.length);
+        return (1 << counts.length) - 1;
+    }
+
+    /**
+     * Checks that playing the trace from before really gives after, so a
+     * view that missed an update snaps instead of animating nonsense.
+     */
+    private boolean replaysTo(MoveTrace trace, int[] before, int[] after) {
+        if (before[trace.getSource()] != trace.getStones()) {
+            return false;
+        }
+        int[] counts = before.clone();
+        int total = 1 + trace.getStones() + (trace.isCapture() ? 1 : 0) + (trace.isGameEnd() ? 1 : 0);
+        for (int step = 0; step < total; step++) {
+            apply(trace, step, counts, after);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != after[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void showTarget() {
+        for (int i = 0; i < target.length; i++) {
+            pits.showStoneCount(i, target[i]);
+        }
+    }
+}
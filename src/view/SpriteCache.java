@@ -0,0 +1,238 @@
+/*
+ * Assignment: CS151 Finals Project - Mancala Game
+ * Author: Umar Lin
+ * Date: 2026-10-17
+ */
+
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pre-rendered stone and pit background images for one RenderKit, so painting
+ * a pit is a few image copies instead of antialiased shape drawing.
+ *
+ * Images are keyed by kind, fill state, size and HiDPI scale, and are
+ * drawn at the device resolution, so they are copied 1:1. Changing the
+ * kit empties the cache; sizes that are no longer used (after a resize)
+ * are evicted least recently used first once MAX_ENTRIES are held.
+ *
+ * Run with -Dmancala.debugSprites=true to print the hit rate every
+ * DEBUG_INTERVAL lookups. Must be used on the EDT.
+ */
+class SpriteCache {
+    /** Pit or store in its normal colors. */
+    static final int STATE_NORMAL = 0;
+
+    /** Mouse over the pit. */
+    static final int STATE_HOVER = 1;
+
+    /** Mouse pressed on the pit. */
+    static final int STATE_PRESSED = 2;
+
+    /** Flashing after an invalid click. */
+    static final int STATE_FLASH = 3;
+
+    static final int MAX_ENTRIES = 64;
+    static final int DEBUG_INTERVAL = 1000;
+
+    private static final boolean DEBUG = Boolean.getBoolean("mancala.debugSprites");
+
+    /** Space around a stone for its outline, in user units. */
+    static final int STONE_MARGIN = 2;
+
+    private static final long KIND_PIT = 0;
+    private static final long KIND_STORE = 1;
+    private static final long KIND_PIT_STONE = 2;
+    private static final long KIND_STORE_STONE = 3;
+
+    private final long[] keys = new long[MAX_ENTRIES];
+    private final BufferedImage[] images = new BufferedImage[MAX_ENTRIES];
+    private final long[] lastUsed = new long[MAX_ENTRIES];
+    private int size;
+    private long clock;
+
+    private RenderKit kit;
+    private long hits;
+    private long misses;
+
+    /**
+     * Switches to a compiled style, dropping every image if it is a
+     * different one.
+     *
+     * @param kit compiled style to render with
+     */
+    void setRenderKit(RenderKit kit) {
+        if (kit != this.kit) {
+            this.kit = kit;
+            clear();
+        }
+    }
+
+    /**
+     * Drops every image.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            images[i].flush();
+            images[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * A stone with its outline, which is as wide as the outline of the pit
+     * it sits in, on a transparent square of diameter + 2 * STONE_MARGIN
+     * units centered on the stone.
+     *
+     * @param diameter stone diameter in user units
+     * @param store    true for a stone in a store
+     * @param scale    device pixels per user unit
+     * @param gc       configuration to create a compatible image for, or null
+     * @return the image
+     */
+    BufferedImage stone(int diameter, boolean store, double scale, GraphicsConfiguration gc) {
+        long key = key(store ? KIND_STORE_STONE : KIND_PIT_STONE, STATE_NORMAL, diameter, diameter, scale);
+        BufferedImage image = lookup(key);
+        if (image == null) {
+            int size = diameter + 2 * STONE_MARGIN;
+            image = create(size, size, scale, gc);
+            Graphics2D g2 = begin(image, scale);
+            g2.setColor(kit.getTextColor());
+            g2.fillOval(STONE_MARGIN, STONE_MARGIN, diameter, diameter);
+            g2.setColor(kit.getOutlineColor());
+            g2.setStroke(kit.getOutline(store));
+            g2.drawOval(STONE_MARGIN, STONE_MARGIN, diameter, diameter);
+            g2.dispose();
+            insert(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * A pit or store background: rounded fill, outline and, for a store,
+     * the "Mancala" caption that stones are drawn over.
+     *
+     * @param store  true for a store
+     * @param state  one of the STATE_ constants
+     * @param width  width in user units
+     * @param height height in user units
+     * @param scale  device pixels per user unit
+     * @param gc     configuration to create a compatible image for, or null
+     * @return the image
+     */
+    BufferedImage background(boolean store, int state, int width, int height, double scale,
+                             GraphicsConfiguration gc) {
+        long key = key(store ? KIND_STORE : KIND_PIT, state, width, height, scale);
+        BufferedImage image = lookup(key);
+        if (image == null) {
+            image = create(width, height, scale, gc);
+            Graphics2D g2 = begin(image, scale);
+            int arc = store ? 60 : 40;
+            g2.setColor(kit.getFill(store, state));
+            g2.fillRoundRect(0, 0, width, height, arc, arc);
+            g2.setColor(kit.getOutlineColor());
+            g2.setStroke(kit.getOutline(store));
+            g2.drawRoundRect(1, 1, width - 2, height - 2, arc, arc);
+            if (store) {
+                g2.setFont(kit.getPitFont());
+                g2.setColor(kit.getCaptionColor());
+                g2.drawString(kit.getStoreCaption(), (width - kit.getStoreCaptionWidth()) / 2, height / 2);
+            }
+            g2.dispose();
+            insert(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Packs everything that changes the pixels into one key: kind (2 bits),
+     * state (2), width (16), height (16), scale in 1/64ths (16).
+     */
+    private static long key(long kind, int state, int width, int height, double scale) {
+        long scaled = Math.round(scale * 64) & 0xFFFF;
+        return kind | (long) state << 2 | (long) (width & 0xFFFF) << 4 | (long) (height & 0xFFFF) << 20
+                | scaled << 36;
+    }
+
+    private BufferedImage lookup(long key) {
+        clock++;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                lastUsed[i] = clock;
+                hits++;
+                report();
+                return images[i];
+            }
+        }
+        misses++;
+        report();
+        return null;
+    }
+
+    private void insert(long key, BufferedImage image) {
+        int slot = size;
+        if (size == MAX_ENTRIES) {
+            slot = 0;
+            for (int i = 1; i < size; i++) {
+                if (lastUsed[i] < lastUsed[slot]) {
+                    slot = i;
+                }
+            }
+            images[slot].flush();
+        } else {
+            size++;
+        }
+        keys[slot] = key;
+        images[slot] = image;
+        lastUsed[slot] = clock;
+    }
+
+    private static BufferedImage create(int width, int height, double scale, GraphicsConfiguration gc) {
+        int w = Math.max(1, (int) Math.ceil(width * scale));
+        int h = Math.max(1, (int) Math.ceil(height * scale));
+        return gc != null ? gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static Graphics2D begin(BufferedImage image, double scale) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.scale(scale, scale);
+        return g2;
+    }
+
+    private void report() {
+        if (DEBUG && (hits + misses) % DEBUG_INTERVAL == 0) {
+            System.out.println("SPRITE CACHE: " + statistics());
+        }
+    }
+
+    /**
+     * @return hits, misses, hit rate and entries, for debugging.
+     */
+    String statistics() {
+        long lookups = hits + misses;
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d images",
+                hits, misses, lookups == 0 ? 0.0 : 100.0 * hits / lookups, size);
+    }
+
+    /**
+     * @return number of lookups that found an image.
+     */
+    long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of lookups that had to render an image.
+     */
+    long getMisses() {
+        return misses;
+    }
+}
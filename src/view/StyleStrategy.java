@@ -6,6 +6,8 @@
 
 package view;
 
+import model.BoardGeometry;
+
 import java.awt.Color;
 import java.awt.Font;
 
@@ -14,6 +16,12 @@ import java.awt.Font;
  * used by the Mancala board widgets.
  */
 public interface StyleStrategy {
+    /** Default pit font; fonts are immutable, so one instance is shared. */
+    Font DEFAULT_PIT_FONT = new Font("SansSerif", Font.BOLD, 16);
+
+    /** Default heading font. */
+    Font DEFAULT_LABEL_FONT = new Font("SansSerif", Font.BOLD, 18);
+
     /**
      * @return background color used behind the board.
      */
@@ -43,14 +51,14 @@ public interface StyleStrategy {
      * @return font used when rendering pit labels.
      */
     default Font getPitFont() {
-        return new Font("SansSerif", Font.BOLD, 16);
+        return DEFAULT_PIT_FONT;
     }
 
     /**
      * @return font used for headings like "Player A".
      */
     default Font getLabelFont() {
-        return new Font("SansSerif", Font.BOLD, 18);
+        return DEFAULT_LABEL_FONT;
     }
 
     /**
@@ -59,4 +67,15 @@ public interface StyleStrategy {
     default String getName() {
         return getClass().getSimpleName();
     }
+
+    /**
+     * Works out everything painting needs from this style. Call once per
+     * style change, not per paint.
+     *
+     * @param geometry board shape whose labels to lay out
+     * @return a new render kit
+     */
+    default RenderKit compile(BoardGeometry geometry) {
+        return new RenderKit(this, geometry);
+    }
 }